@@ -1,8 +1,13 @@
 plugins {
     alias(libs.plugins.android.application)
     alias(libs.plugins.google.gms.google.services)
+    alias(libs.plugins.androidx.baselineprofile)
 }
 
+val benchmarkCatalogDir = layout.buildDirectory.dir("generated/benchmarkCatalog")
+val syntheticTool by configurations.creating
+val benchmarkBuildTypes = listOf("benchmarkRelease", "nonMinifiedRelease")
+
 android {
     namespace = "com.cartify.app"
     compileSdk = 36
@@ -19,19 +24,41 @@ android {
 
     buildTypes {
         release {
-            isMinifyEnabled = false
+            isMinifyEnabled = true
+            isShrinkResources = true
             proguardFiles(
                 getDefaultProguardFile("proguard-android-optimize.txt"),
                 "proguard-rules.pro"
             )
         }
     }
+    sourceSets {
+        getByName("debug") {
+            // Seed data for the in-memory data source used in offline test runs
+            assets.srcDir("../database")
+        }
+        // Release-like builds the macrobenchmarks and profile generator run against
+        // (added by the baseline profile plugin) get a synthetic catalog large enough
+        // to make scrolling and search meaningful
+        matching { it.name in benchmarkBuildTypes }.configureEach {
+            assets.srcDir(benchmarkCatalogDir)
+        }
+    }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
 }
 
+baselineProfile {
+    // Generated profiles are checked in under src/release/generated and regenerated with
+    // ./gradlew :app:generateBaselineProfile on a connected device
+    saveInSrc = true
+    automaticGenerationDuringBuild = false
+    // Lays out startup classes first in the primary dex
+    dexLayoutOptimization = true
+}
+
 dependencies {
 
     implementation(libs.appcompat)
@@ -54,8 +81,32 @@ dependencies {
     
     // Gson for JSON serialization
     implementation("com.google.code.gson:gson:2.10.1")
+
+    // Installs the baseline profile on devices where Play doesn't
+    implementation(libs.profileinstaller)
+    baselineProfile(project(":macrobenchmark"))
     
     testImplementation(libs.junit)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
+
+    syntheticTool(project(":synthetic"))
+}
+
+// Generates the benchmark builds' database.json; size with -PbenchmarkCatalogSize=N
+val generateBenchmarkCatalog by tasks.registering(JavaExec::class) {
+    val productCount = (project.findProperty("benchmarkCatalogSize") as String?) ?: "2000"
+    val output = benchmarkCatalogDir.map { it.file("database.json") }
+    inputs.property("productCount", productCount)
+    outputs.dir(benchmarkCatalogDir)
+    classpath = syntheticTool
+    mainClass.set("com.cartify.synthetic.SyntheticDataMain")
+    args("catalog", "--products", productCount, "--seed", "1", "--out", output.get().asFile.path)
+    doFirst { benchmarkCatalogDir.get().asFile.mkdirs() }
+}
+
+tasks.matching { task ->
+    benchmarkBuildTypes.any { task.name == "merge${it.replaceFirstChar(Char::uppercase)}Assets" }
+}.configureEach {
+    dependsOn(generateBenchmarkCatalog)
 }
\ No newline at end of file
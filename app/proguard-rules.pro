@@ -18,4 +18,14 @@
 
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+#-renamesourcefileattribute SourceFile
+# Models are mapped by reflection (Firebase getValue/toObject and Gson), so keep
+# their fields, constructors and accessors as declared
+-keep class com.cartify.app.models.** { *; }
+
+# Queued cart/order writes are persisted with Gson
+-keep class com.cartify.app.utils.MutationOutbox$Entry { *; }
+
+# Gson reads generic types from TypeToken subclasses
+-keepattributes Signature, *Annotation*, EnclosingMethod, InnerClasses
+-keep class * extends com.google.gson.reflect.TypeToken
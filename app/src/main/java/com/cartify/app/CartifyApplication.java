@@ -0,0 +1,18 @@
+package com.cartify.app;
+
+import android.app.Application;
+
+import com.cartify.app.utils.FrameMonitor;
+
+/**
+ * Process-wide setup that has to run before the first activity
+ */
+public class CartifyApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // Frame times for every screen, to attribute jank reports to the screen they came from
+        FrameMonitor.getInstance().install(this);
+    }
+}
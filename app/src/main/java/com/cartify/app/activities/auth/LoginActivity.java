@@ -260,4 +260,12 @@ public class LoginActivity extends AppCompatActivity {
                 });
         }
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (formValidator != null) {
+            formValidator.cancelPendingValidation();
+        }
+    }
 }
\ No newline at end of file
@@ -62,7 +62,8 @@ public class RegisterActivity extends AppCompatActivity {
                    .addRequiredField(etPassword, InputValidator::validatePassword)
                    .addRequiredField(etConfirmPassword, input -> 
                        InputValidator.validatePasswordConfirmation(
-                           etPassword.getText().toString(), input));
+                           etPassword.getText().toString(), input))
+                   .addDependency(etConfirmPassword, etPassword);
 
         // Set validation listener to enable/disable register button
         formValidator.setValidationListener(new FormValidationHelper.ValidationListener() {
@@ -205,4 +206,12 @@ public class RegisterActivity extends AppCompatActivity {
                 // Registration was successful, profile creation failure is not critical
             });
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (formValidator != null) {
+            formValidator.cancelPendingValidation();
+        }
+    }
 }
\ No newline at end of file
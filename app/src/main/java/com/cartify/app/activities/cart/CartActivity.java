@@ -20,9 +20,16 @@ import com.cartify.app.activities.order.OrderConfirmationActivity;
 import com.cartify.app.activities.order.OrdersActivity;
 import com.cartify.app.activities.user.ProfileActivity;
 import com.cartify.app.adapters.CartAdapter;
+import com.cartify.app.data.DataCallback;
+import com.cartify.app.data.DataSources;
+import com.cartify.app.data.Registration;
 import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Money;
 import com.cartify.app.utils.FirebaseHelper;
 import com.cartify.app.utils.InputValidator;
+import com.cartify.app.utils.MutationOutbox;
+import com.cartify.app.utils.OptimisticCartManager;
+import com.cartify.app.utils.PriceUtils;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 
 import java.util.ArrayList;
@@ -31,7 +38,8 @@ import java.util.List;
 /**
  * Cart Activity for displaying and managing cart items
  */
-public class CartActivity extends AppCompatActivity implements CartAdapter.OnCartItemListener {
+public class CartActivity extends AppCompatActivity
+        implements CartAdapter.OnCartItemListener, OptimisticCartManager.Listener {
 
     private RecyclerView recyclerView;
     private CartAdapter cartAdapter;
@@ -40,6 +48,8 @@ public class CartActivity extends AppCompatActivity implements CartAdapter.OnCar
     private Button btnCheckout;
     private ProgressBar progressBar;
     private BottomNavigationView bottomNavigation;
+    private OptimisticCartManager cartManager;
+    private Registration cartRegistration;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -62,6 +72,7 @@ public class CartActivity extends AppCompatActivity implements CartAdapter.OnCar
         bottomNavigation = findViewById(R.id.bottomNavigation);
         
         cartItems = new ArrayList<>();
+        cartManager = new OptimisticCartManager(cartItems, this, MutationOutbox.getInstance(this));
         
         btnCheckout.setOnClickListener(v -> proceedToCheckout());
     }
@@ -111,16 +122,24 @@ public class CartActivity extends AppCompatActivity implements CartAdapter.OnCar
         String userId = FirebaseHelper.getCurrentUserId();
         if (userId == null) return;
 
-        FirebaseHelper.getUserCartCollection(userId)
-            .get()
-            .addOnSuccessListener(querySnapshot -> {
-                for (com.google.firebase.firestore.QueryDocumentSnapshot document : querySnapshot) {
-                    document.getReference().delete();
-                }
-                Toast.makeText(this, "Cart cleared successfully", Toast.LENGTH_SHORT).show();
-            })
-            .addOnFailureListener(e -> 
-                Toast.makeText(this, "Failed to clear cart", Toast.LENGTH_SHORT).show());
+        // Queued in the outbox so the clear survives going offline
+        MutationOutbox.getInstance(this).enqueueClearCart(userId, new MutationOutbox.Callback() {
+            @Override
+            public void onApplied() {
+                Toast.makeText(getApplicationContext(), "Cart cleared successfully", Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onDeferred() {
+                Toast.makeText(getApplicationContext(),
+                    "You're offline. Your cart will be cleared when you reconnect.", Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onFailed(String errorMessage) {
+                Toast.makeText(getApplicationContext(), "Failed to clear cart", Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
     private void setupRecyclerView() {
@@ -158,39 +177,46 @@ public class CartActivity extends AppCompatActivity implements CartAdapter.OnCar
 
         progressBar.setVisibility(View.VISIBLE);
         
-        FirebaseHelper.getUserCartCollection(userId)
-            .addSnapshotListener((querySnapshot, error) -> {
-                if (error != null) {
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(CartActivity.this, 
-                        "Failed to load cart items: " + error.getMessage(), 
-                        Toast.LENGTH_SHORT).show();
-                    return;
-                }
-
+        cartRegistration = DataSources.cart().observeCart(userId, new DataCallback<List<CartItem>>() {
+            @Override
+            public void onSuccess(List<CartItem> items) {
                 cartItems.clear();
-                if (querySnapshot != null) {
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot document : querySnapshot) {
-                        CartItem item = document.toObject(CartItem.class);
-                        if (item != null) {
-                            cartItems.add(item);
-                        }
-                    }
-                }
+                cartItems.addAll(items);
+
+                // Keep in-flight local changes visible until the server acknowledges them
+                cartManager.applyPendingOverlay(cartItems);
                 
                 cartAdapter.updateCartItems(cartItems);
                 updateTotalAmount();
                 updateEmptyState();
                 progressBar.setVisibility(View.GONE);
-            });
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                progressBar.setVisibility(View.GONE);
+                Toast.makeText(CartActivity.this, 
+                    "Failed to load cart items: " + e.getMessage(), 
+                    Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        cartManager.detach();
+        if (cartRegistration != null) {
+            cartRegistration.remove();
+        }
     }
 
     private void updateTotalAmount() {
-        double total = 0;
-        for (CartItem item : cartItems) {
-            total += item.getTotalPrice();
+        long totalCents = 0;
+        for (int i = 0, size = cartItems.size(); i < size; i++) {
+            totalCents = Money.add(totalCents, cartItems.get(i).getTotalPriceCents());
         }
-        tvTotalAmount.setText("Total: $" + String.format("%.2f", total));
+        tvTotalAmount.setText("Total: " + PriceUtils.formatCents(totalCents));
     }
 
     private void updateEmptyState() {
@@ -212,56 +238,26 @@ public class CartActivity extends AppCompatActivity implements CartAdapter.OnCar
 
         // Validate quantity input
         InputValidator.ValidationResult quantityValidation = 
-            InputValidator.validateQuantity(String.valueOf(newQuantity));
+            InputValidator.validateQuantity(newQuantity);
         
         if (!quantityValidation.isValid()) {
             Toast.makeText(this, quantityValidation.getErrorMessage(), Toast.LENGTH_SHORT).show();
-            // Reload cart to reset to previous valid quantity
-            loadCartItems();
             return;
         }
 
         // Additional business logic validation
         if (newQuantity < 1) {
             Toast.makeText(this, "Quantity must be at least 1", Toast.LENGTH_SHORT).show();
-            loadCartItems();
             return;
         }
 
         if (newQuantity > 99) {
             Toast.makeText(this, "Maximum quantity is 99 per item", Toast.LENGTH_SHORT).show();
-            loadCartItems();
             return;
         }
 
-        // Show loading state
-        progressBar.setVisibility(View.VISIBLE);
-
-        // Find and update the item in Firestore
-        FirebaseHelper.getUserCartCollection(userId)
-            .whereEqualTo("productId", item.getProductId())
-            .get()
-            .addOnSuccessListener(querySnapshot -> {
-                progressBar.setVisibility(View.GONE);
-                for (com.google.firebase.firestore.QueryDocumentSnapshot document : querySnapshot) {
-                    document.getReference().update("quantity", newQuantity)
-                        .addOnSuccessListener(aVoid -> {
-                            // Update local item
-                            item.setQuantity(newQuantity);
-                            updateTotalAmount();
-                        })
-                        .addOnFailureListener(e -> {
-                            Toast.makeText(CartActivity.this, "Failed to update quantity", Toast.LENGTH_SHORT).show();
-                            loadCartItems(); // Reload to reset
-                        });
-                    break;
-                }
-            })
-            .addOnFailureListener(e -> {
-                progressBar.setVisibility(View.GONE);
-                Toast.makeText(CartActivity.this, "Failed to update quantity", Toast.LENGTH_SHORT).show();
-                loadCartItems(); // Reload to reset
-            });
+        // Apply locally right away; the manager writes to Firestore and rolls back on failure
+        cartManager.changeQuantity(userId, item, newQuantity);
     }
 
     @Override
@@ -269,76 +265,48 @@ public class CartActivity extends AppCompatActivity implements CartAdapter.OnCar
         String userId = FirebaseHelper.getCurrentUserId();
         if (userId == null) return;
 
-        // Remove item from Firestore
-        FirebaseHelper.getUserCartCollection(userId)
-            .whereEqualTo("productId", item.getProductId())
-            .get()
-            .addOnSuccessListener(querySnapshot -> {
-                for (com.google.firebase.firestore.QueryDocumentSnapshot document : querySnapshot) {
-                    document.getReference().delete()
-                        .addOnSuccessListener(aVoid -> 
-                            Toast.makeText(CartActivity.this, "Item removed from cart", Toast.LENGTH_SHORT).show())
-                        .addOnFailureListener(e -> 
-                            Toast.makeText(CartActivity.this, "Failed to remove item", Toast.LENGTH_SHORT).show());
-                    break;
-                }
-            })
-            .addOnFailureListener(e -> 
-                Toast.makeText(CartActivity.this, "Failed to remove item", Toast.LENGTH_SHORT).show());
+        cartManager.removeItem(userId, item);
     }
 
-    private void proceedToCheckout() {
-        // Validate cart state before checkout
-        if (cartItems.isEmpty()) {
-            Toast.makeText(this, "Your cart is empty. Add some items to continue.", Toast.LENGTH_LONG).show();
-            return;
+    // OptimisticCartManager.Listener callbacks
+    @Override
+    public void onItemChanged(int position) {
+        if (position >= 0) {
+            cartAdapter.notifyItemChanged(position);
         }
+        updateTotalAmount();
+    }
 
-        // Validate all cart items
-        boolean hasValidItems = false;
-        for (CartItem item : cartItems) {
-            if (item.getQuantity() > 0) {
-                // Validate quantity
-                InputValidator.ValidationResult quantityValidation = 
-                    InputValidator.validateQuantity(String.valueOf(item.getQuantity()));
-                
-                if (!quantityValidation.isValid()) {
-                    Toast.makeText(this, "Invalid quantity for " + item.getTitle() + 
-                        ": " + quantityValidation.getErrorMessage(), Toast.LENGTH_LONG).show();
-                    return;
-                }
-
-                // Validate price
-                InputValidator.ValidationResult priceValidation = 
-                    InputValidator.validatePrice(String.valueOf(item.getPrice()));
-                
-                if (!priceValidation.isValid()) {
-                    Toast.makeText(this, "Invalid price for " + item.getTitle(), Toast.LENGTH_LONG).show();
-                    return;
-                }
-
-                hasValidItems = true;
-            }
-        }
+    @Override
+    public void onItemInserted(int position) {
+        cartAdapter.notifyItemInserted(position);
+        updateTotalAmount();
+        updateEmptyState();
+    }
 
-        if (!hasValidItems) {
-            Toast.makeText(this, "No valid items in cart. Please check quantities.", Toast.LENGTH_LONG).show();
-            return;
-        }
+    @Override
+    public void onItemRemoved(int position) {
+        cartAdapter.notifyItemRemoved(position);
+        updateTotalAmount();
+        updateEmptyState();
+    }
 
-        // Calculate total and validate
-        double total = 0;
-        for (CartItem item : cartItems) {
-            total += item.getPrice() * item.getQuantity();
-        }
+    @Override
+    public void onMutationFailed(CartItem item, String errorMessage) {
+        Toast.makeText(this, errorMessage, Toast.LENGTH_SHORT).show();
+    }
 
-        if (total <= 0) {
-            Toast.makeText(this, "Invalid cart total. Please refresh and try again.", Toast.LENGTH_LONG).show();
+    private void proceedToCheckout() {
+        // Validate cart state before checkout
+        if (cartItems.isEmpty()) {
+            Toast.makeText(this, "Your cart is empty. Add some items to continue.", Toast.LENGTH_LONG).show();
             return;
         }
 
-        if (total > 999999.99) {
-            Toast.makeText(this, "Cart total exceeds maximum limit ($999,999.99)", Toast.LENGTH_LONG).show();
+        // Validate every line and the total in a single pass
+        InputValidator.ValidationResult cartValidation = InputValidator.validateCart(cartItems);
+        if (!cartValidation.isValid()) {
+            Toast.makeText(this, cartValidation.getErrorMessage(), Toast.LENGTH_LONG).show();
             return;
         }
 
@@ -0,0 +1,152 @@
+package com.cartify.app.activities.debug;
+
+import android.os.Bundle;
+import android.view.Menu;
+import android.view.MenuItem;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.Toolbar;
+
+import com.cartify.app.R;
+import com.cartify.app.data.ReadPolicy;
+import com.cartify.app.utils.FirebaseHelper;
+import com.cartify.app.utils.FrameMonitor;
+import com.cartify.app.utils.LatencyHistogram;
+import com.cartify.app.utils.MutationOutbox;
+import com.cartify.app.utils.PerfTracer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Debug screen listing data-access latency and payload histograms per operation,
+ * slowest total first, plus cache hit rates per read policy, frame times per screen and the
+ * state of the mutation outbox
+ */
+public class PerformanceStatsActivity extends AppCompatActivity {
+
+    private TextView tvStats;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_performance_stats);
+
+        Toolbar toolbar = findViewById(R.id.toolbar);
+        setSupportActionBar(toolbar);
+        if (getSupportActionBar() != null) {
+            getSupportActionBar().setDisplayHomeAsUpEnabled(true);
+            getSupportActionBar().setTitle("Performance Stats");
+        }
+
+        tvStats = findViewById(R.id.tvStats);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showStats();
+    }
+
+    private void showStats() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.US, "%-32s %6s %5s %9s %9s %9s %9s %9s%n",
+            "operation", "count", "fail", "p50 ms", "p90 ms", "p99 ms", "max ms", "p50 KB"));
+
+        for (PerfTracer.OperationStats stats : PerfTracer.getInstance().snapshot()) {
+            LatencyHistogram latency = stats.getLatencyMicros();
+            text.append(String.format(Locale.US, "%-32s %6d %5d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                stats.getName(),
+                latency.getCount(),
+                stats.getFailures(),
+                latency.valueAtPercentile(50) / 1000.0,
+                latency.valueAtPercentile(90) / 1000.0,
+                latency.valueAtPercentile(99) / 1000.0,
+                latency.getMax() / 1000.0,
+                stats.getPayloadBytes().valueAtPercentile(50) / 1024.0));
+        }
+
+        text.append('\n').append("Firestore cache hit rate\n");
+        for (ReadPolicy policy : ReadPolicy.values()) {
+            FirebaseHelper.ReadStats readStats = FirebaseHelper.getReadStats(policy);
+            text.append(String.format(Locale.US, "%-32s %5.1f%% (%d hits, %d misses)%n",
+                policy.name(), readStats.getHitRate() * 100, readStats.getHits(), readStats.getMisses()));
+        }
+
+        text.append('\n').append(String.format(Locale.US, "%-32s %6s %5s %6s %9s %9s%n",
+            "frames", "count", "slow", "frozen", "p50 ms", "p99 ms"));
+        for (FrameMonitor.ScreenStats screen : FrameMonitor.getInstance().snapshot()) {
+            appendFrameStats(text, screen.getName(), screen.getTotal());
+            for (Map.Entry<String, FrameMonitor.FrameStats> entry : screen.getByOperation().entrySet()) {
+                appendFrameStats(text, "  " + entry.getKey(), entry.getValue());
+            }
+        }
+
+        MutationOutbox.Metrics outbox = MutationOutbox.getInstance(this).getMetrics();
+        text.append('\n').append("Mutation outbox\n");
+        text.append(String.format(Locale.US,
+            "%-32s %6d%n%-32s %9.1f s%n%-32s %6d%n%-32s %6d%n%-32s %6d%n%-32s %6d%n",
+            "depth", outbox.getDepth(),
+            "oldest entry age", outbox.getOldestEntryAgeMs() / 1000.0,
+            "applied", outbox.getAppliedCount(),
+            "retries", outbox.getRetryCount(),
+            "collapsed", outbox.getCollapsedCount(),
+            "dropped", outbox.getDroppedCount()));
+
+        tvStats.setText(text);
+    }
+
+    private static void appendFrameStats(StringBuilder text, String label, FrameMonitor.FrameStats stats) {
+        LatencyHistogram durations = stats.getDurationMicros();
+        text.append(String.format(Locale.US, "%-32s %6d %5d %6d %9.1f %9.1f%n",
+            label,
+            stats.getFrames(),
+            stats.getSlowFrames(),
+            stats.getFrozenFrames(),
+            durations.valueAtPercentile(50) / 1000.0,
+            durations.valueAtPercentile(99) / 1000.0));
+    }
+
+    private void exportReport() {
+        File directory = new File(getExternalFilesDir(null), "perf");
+        try {
+            PerfTracer.getInstance().exportReport(directory);
+            FrameMonitor.getInstance().exportReport(directory);
+            Toast.makeText(this, "Reports saved to " + directory.getAbsolutePath(), Toast.LENGTH_LONG).show();
+        } catch (IOException e) {
+            Toast.makeText(this, "Failed to export report: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.performance_stats_menu, menu);
+        return true;
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(@NonNull MenuItem item) {
+        int itemId = item.getItemId();
+        if (itemId == android.R.id.home) {
+            finish();
+            return true;
+        } else if (itemId == R.id.action_refresh_stats) {
+            showStats();
+            return true;
+        } else if (itemId == R.id.action_export_stats) {
+            exportReport();
+            return true;
+        } else if (itemId == R.id.action_reset_stats) {
+            PerfTracer.getInstance().reset();
+            FrameMonitor.getInstance().reset();
+            showStats();
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+}
@@ -1,6 +1,7 @@
 package com.cartify.app.activities.main;
 
 import android.content.Intent;
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
 import android.view.Menu;
 import android.view.MenuItem;
@@ -19,6 +20,7 @@ import androidx.viewpager2.widget.ViewPager2;
 import com.cartify.app.R;
 import com.cartify.app.activities.auth.LoginActivity;
 import com.cartify.app.activities.cart.CartActivity;
+import com.cartify.app.activities.debug.PerformanceStatsActivity;
 import com.cartify.app.activities.order.OrdersActivity;
 import com.cartify.app.activities.product.ProductDetailActivity;
 import com.cartify.app.activities.product.SearchActivity;
@@ -29,12 +31,11 @@ import com.cartify.app.adapters.ProductAdapter;
 import com.cartify.app.models.Banner;
 import com.cartify.app.models.Category;
 import com.cartify.app.models.Product;
+import com.cartify.app.utils.CatalogSyncEngine;
 import com.cartify.app.utils.FirebaseHelper;
+import com.cartify.app.utils.MutationOutbox;
 import com.cartify.app.utils.UserDataHelper;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -56,6 +57,7 @@ public class MainActivity extends AppCompatActivity {
     private BottomNavigationView bottomNavigation;
     private UserDataHelper userDataHelper;
     private int selectedCategoryId = 0;
+    private boolean fullyDrawnReported;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -65,6 +67,10 @@ public class MainActivity extends AppCompatActivity {
         // Initialize UserDataHelper
         userDataHelper = new UserDataHelper(this);
 
+        // Replay cart/order writes queued while offline, including ones parked while this
+        // user was signed out
+        MutationOutbox.getInstance(this).drainNow();
+
         // Handle system window insets for proper padding
         getWindow().setStatusBarColor(getResources().getColor(R.color.primary_color));
         
@@ -146,83 +152,78 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void loadCategories() {
-        FirebaseHelper.getCategoriesRef().addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                categoryList.clear();
-                
-                for (DataSnapshot categorySnapshot : snapshot.getChildren()) {
-                    Category category = categorySnapshot.getValue(Category.class);
-                    if (category != null) {
-                        categoryList.add(category);
-                    }
-                }
-                
-                categoryAdapter.updateCategories(categoryList);
-            }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                Toast.makeText(MainActivity.this, 
-                    "Failed to load categories: " + error.getMessage(), 
-                    Toast.LENGTH_SHORT).show();
-            }
-        });
+        CatalogSyncEngine.getInstance().categories().subscribe(categoriesListener);
     }
 
     private void loadBanners() {
-        FirebaseHelper.getBannersRef().addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                bannerList.clear();
-                
-                for (DataSnapshot bannerSnapshot : snapshot.getChildren()) {
-                    Banner banner = bannerSnapshot.getValue(Banner.class);
-                    if (banner != null) {
-                        bannerList.add(banner);
-                    }
-                }
-                
-                bannerAdapter.updateBanners(bannerList);
-            }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                Toast.makeText(MainActivity.this, 
-                    "Failed to load banners: " + error.getMessage(), 
-                    Toast.LENGTH_SHORT).show();
-            }
-        });
+        CatalogSyncEngine.getInstance().banners().subscribe(bannersListener);
     }
 
     private void loadProducts() {
-        FirebaseHelper.getProductsRef().addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                allProductsList.clear();
-                int index = 0;
-                
-                for (DataSnapshot productSnapshot : snapshot.getChildren()) {
-                    Product product = productSnapshot.getValue(Product.class);
-                    if (product != null) {
-                        product.setId(String.valueOf(index++));
-                        allProductsList.add(product);
-                    }
-                }
-                
+        CatalogSyncEngine.getInstance().products().subscribe(productsListener);
+    }
+
+    // Catalog sync listeners: each change set only touches the affected rows
+
+    private final CatalogSyncEngine.Listener<Category> categoriesListener = new CatalogSyncEngine.Listener<Category>() {
+        @Override
+        public void onCatalogChanged(List<Category> items, CatalogSyncEngine.ChangeSet<Category> changes) {
+            changes.applyTo(categoryList, items);
+            changes.dispatchTo(categoryAdapter);
+        }
+
+        @Override
+        public void onSyncError(String errorMessage) {
+            Toast.makeText(MainActivity.this, 
+                "Failed to load categories: " + errorMessage, 
+                Toast.LENGTH_SHORT).show();
+        }
+    };
+
+    private final CatalogSyncEngine.Listener<Banner> bannersListener = new CatalogSyncEngine.Listener<Banner>() {
+        @Override
+        public void onCatalogChanged(List<Banner> items, CatalogSyncEngine.ChangeSet<Banner> changes) {
+            changes.applyTo(bannerList, items);
+            changes.dispatchTo(bannerAdapter);
+        }
+
+        @Override
+        public void onSyncError(String errorMessage) {
+            Toast.makeText(MainActivity.this, 
+                "Failed to load banners: " + errorMessage, 
+                Toast.LENGTH_SHORT).show();
+        }
+    };
+
+    private final CatalogSyncEngine.Listener<Product> productsListener = new CatalogSyncEngine.Listener<Product>() {
+        @Override
+        public void onCatalogChanged(List<Product> items, CatalogSyncEngine.ChangeSet<Product> changes) {
+            changes.applyTo(allProductsList, items);
+            
+            if (changes.isFullReload() || selectedCategoryId != 0) {
                 filterProductsByCategory();
-                progressBar.setVisibility(View.GONE);
+            } else {
+                // The "All" category shows the catalog as-is, so patch the visible rows directly
+                changes.applyTo(productList, items);
+                changes.dispatchTo(productAdapter);
             }
+            progressBar.setVisibility(View.GONE);
 
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                progressBar.setVisibility(View.GONE);
-                Toast.makeText(MainActivity.this, 
-                    "Failed to load products: " + error.getMessage(), 
-                    Toast.LENGTH_SHORT).show();
+            if (!fullyDrawnReported) {
+                // The product grid is the last thing to fill in; marks time to full display
+                fullyDrawnReported = true;
+                reportFullyDrawn();
             }
-        });
-    }
+        }
+
+        @Override
+        public void onSyncError(String errorMessage) {
+            progressBar.setVisibility(View.GONE);
+            Toast.makeText(MainActivity.this, 
+                "Failed to load products: " + errorMessage, 
+                Toast.LENGTH_SHORT).show();
+        }
+    };
 
     private void filterProductsByCategory() {
         productList.clear();
@@ -238,9 +239,27 @@ public class MainActivity extends AppCompatActivity {
         productAdapter.updateProducts(productList);
     }
 
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // Taps still being coalesced would otherwise be missing from the cart screen
+        productAdapter.flushPendingCartWrites();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        CatalogSyncEngine catalog = CatalogSyncEngine.getInstance();
+        catalog.categories().unsubscribe(categoriesListener);
+        catalog.banners().unsubscribe(bannersListener);
+        catalog.products().unsubscribe(productsListener);
+    }
+
     @Override
     public boolean onCreateOptionsMenu(Menu menu) {
         getMenuInflater().inflate(R.menu.main_menu, menu);
+        boolean debuggable = (getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+        menu.findItem(R.id.action_performance_stats).setVisible(debuggable);
         return true;
     }
 
@@ -261,6 +280,9 @@ public class MainActivity extends AppCompatActivity {
             // TODO: Implement settings functionality
             Toast.makeText(this, "Settings feature coming soon!", Toast.LENGTH_SHORT).show();
             return true;
+        } else if (itemId == R.id.action_performance_stats) {
+            startActivity(new Intent(this, PerformanceStatsActivity.class));
+            return true;
         } else if (itemId == R.id.action_help) {
             // TODO: Implement help functionality
             Toast.makeText(this, "Help & Support feature coming soon!", Toast.LENGTH_SHORT).show();
@@ -9,6 +9,7 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.cartify.app.R;
 import com.cartify.app.activities.auth.LoginActivity;
+import com.cartify.app.data.DataSources;
 import com.cartify.app.utils.FirebaseHelper;
 import com.cartify.app.utils.UserDataHelper;
 
@@ -28,13 +29,18 @@ public class SplashActivity extends AppCompatActivity {
         // Initialize UserDataHelper
         userDataHelper = new UserDataHelper(this);
 
+        // Debug and benchmark builds can be launched against bundled seed data instead of Firebase
+        DataSources.configureFromIntent(this, getIntent());
+
         // Delay and check login status
         new Handler(Looper.getMainLooper()).postDelayed(this::checkLoginStatus, SPLASH_DELAY);
     }
 
     private void checkLoginStatus() {
-        // Check if user is logged in (both Firebase and local storage)
-        if (FirebaseHelper.isUserLoggedIn() && userDataHelper.isUserLoggedIn()) {
+        // Check if user is logged in (both Firebase and local storage).
+        // Offline runs have no Firebase account, so they browse the seeded catalog directly.
+        if (DataSources.isInMemory()
+                || (FirebaseHelper.isUserLoggedIn() && userDataHelper.isUserLoggedIn())) {
             // User is logged in, go to MainActivity
             startActivity(new Intent(this, MainActivity.class));
         } else {
@@ -15,9 +15,15 @@ import androidx.appcompat.widget.Toolbar;
 
 import com.cartify.app.R;
 import com.cartify.app.activities.main.MainActivity;
+import com.cartify.app.data.DataCallback;
+import com.cartify.app.data.DataSources;
+import com.cartify.app.data.ReadPolicy;
 import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Money;
 import com.cartify.app.models.Order;
 import com.cartify.app.utils.FirebaseHelper;
+import com.cartify.app.utils.MutationOutbox;
+import com.cartify.app.utils.PriceUtils;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -36,7 +42,8 @@ public class OrderConfirmationActivity extends AppCompatActivity {
     private ProgressBar progressBar;
     
     private List<CartItem> cartItems;
-    private double totalAmount;
+    private long totalAmount; // cents
+    private boolean orderHandedOff = false;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -94,30 +101,31 @@ public class OrderConfirmationActivity extends AppCompatActivity {
 
         progressBar.setVisibility(View.VISIBLE);
         
-        FirebaseHelper.getUserCartCollection(userId)
-            .get()
-            .addOnSuccessListener(querySnapshot -> {
+        // Checkout needs the current cart, not a possibly stale cached copy
+        DataSources.cart().getCart(userId, ReadPolicy.SERVER_FIRST, new DataCallback<List<CartItem>>() {
+            @Override
+            public void onSuccess(List<CartItem> items) {
                 cartItems.clear();
                 totalAmount = 0;
                 
-                for (com.google.firebase.firestore.QueryDocumentSnapshot document : querySnapshot) {
-                    CartItem item = document.toObject(CartItem.class);
-                    if (item != null) {
-                        cartItems.add(item);
-                        totalAmount += item.getTotalPrice();
-                    }
+                for (CartItem item : items) {
+                    cartItems.add(item);
+                    totalAmount = Money.add(totalAmount, item.getTotalPriceCents());
                 }
                 
                 displayOrderSummary();
                 progressBar.setVisibility(View.GONE);
-            })
-            .addOnFailureListener(e -> {
+            }
+
+            @Override
+            public void onFailure(Exception e) {
                 progressBar.setVisibility(View.GONE);
                 Toast.makeText(OrderConfirmationActivity.this, 
                     "Failed to load cart items: " + e.getMessage(), 
                     Toast.LENGTH_SHORT).show();
                 finish();
-            });
+            }
+        });
     }
 
     private void displayOrderSummary() {
@@ -127,12 +135,12 @@ public class OrderConfirmationActivity extends AppCompatActivity {
         for (CartItem item : cartItems) {
             summary.append(item.getTitle())
                    .append("\nQuantity: ").append(item.getQuantity())
-                   .append("\nPrice: $").append(String.format("%.2f", item.getTotalPrice()))
+                   .append("\nPrice: ").append(PriceUtils.formatCents(item.getTotalPriceCents()))
                    .append("\n\n");
         }
         
         tvOrderSummary.setText(summary.toString());
-        tvTotalAmount.setText("Total Amount: $" + String.format("%.2f", totalAmount));
+        tvTotalAmount.setText("Total Amount: " + PriceUtils.formatCents(totalAmount));
     }
 
     private void placeOrder() {
@@ -158,7 +166,7 @@ public class OrderConfirmationActivity extends AppCompatActivity {
         String orderDate = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date());
         
         Order order = new Order(
-            null, // Firestore will generate the ID
+            null, // The outbox assigns the idempotency key as the order ID
             userId,
             new ArrayList<>(cartItems),
             totalAmount,
@@ -167,66 +175,52 @@ public class OrderConfirmationActivity extends AppCompatActivity {
             deliveryAddress
         );
 
-        // Save order to Firestore
-        FirebaseHelper.getOrdersCollection()
-            .add(order)
-            .addOnSuccessListener(documentReference -> {
-                String orderId = documentReference.getId();
-                order.setOrderId(orderId);
-                
-                // Update the order with the generated ID
-                documentReference.update("orderId", orderId)
-                    .addOnSuccessListener(aVoid -> {
-                        // Also save to user's orders collection
-                        FirebaseHelper.getUserOrdersCollection(userId)
-                            .document(orderId)
-                            .set(order)
-                            .addOnSuccessListener(aVoid1 -> {
-                                // Clear cart after successful order
-                                clearCart(userId);
-                            })
-                            .addOnFailureListener(e -> {
-                                progressBar.setVisibility(View.GONE);
-                                btnPlaceOrder.setEnabled(true);
-                                Toast.makeText(OrderConfirmationActivity.this, 
-                                    "Failed to save order to user profile", Toast.LENGTH_SHORT).show();
-                            });
-                    });
-            })
-            .addOnFailureListener(e -> {
+        // Queue the order; the outbox writes both order copies and clears the ordered cart lines in one batch
+        MutationOutbox.getInstance(this).enqueuePlaceOrder(order, new MutationOutbox.Callback() {
+            @Override
+            public void onApplied() {
+                if (orderHandedOff) {
+                    Toast.makeText(getApplicationContext(), 
+                        "Your order has been placed!", Toast.LENGTH_LONG).show();
+                    return;
+                }
                 progressBar.setVisibility(View.GONE);
-                btnPlaceOrder.setEnabled(true);
                 Toast.makeText(OrderConfirmationActivity.this, 
-                    "Failed to place order: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-            });
-    }
+                    "Order placed successfully!", Toast.LENGTH_LONG).show();
+                navigateToMain();
+            }
 
-    private void clearCart(String userId) {
-        // Clear all items from user's cart collection
-        FirebaseHelper.getUserCartCollection(userId)
-            .get()
-            .addOnSuccessListener(querySnapshot -> {
-                // Delete all cart items
-                for (com.google.firebase.firestore.QueryDocumentSnapshot document : querySnapshot) {
-                    document.getReference().delete();
-                }
-                
+            @Override
+            public void onDeferred() {
+                // The order is safely on disk; let the user move on while it syncs
+                orderHandedOff = true;
                 progressBar.setVisibility(View.GONE);
                 Toast.makeText(OrderConfirmationActivity.this, 
-                    "Order placed successfully!", Toast.LENGTH_LONG).show();
-                
-                // Navigate back to main activity
-                Intent intent = new Intent(OrderConfirmationActivity.this, MainActivity.class);
-                intent.setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_NEW_TASK);
-                startActivity(intent);
-                finish();
-            })
-            .addOnFailureListener(e -> {
+                    "You're offline. Your order will be placed when you reconnect.", 
+                    Toast.LENGTH_LONG).show();
+                navigateToMain();
+            }
+
+            @Override
+            public void onFailed(String errorMessage) {
+                if (orderHandedOff) {
+                    Toast.makeText(getApplicationContext(), 
+                        "Failed to place order: " + errorMessage, Toast.LENGTH_LONG).show();
+                    return;
+                }
                 progressBar.setVisibility(View.GONE);
                 btnPlaceOrder.setEnabled(true);
                 Toast.makeText(OrderConfirmationActivity.this, 
-                    "Order placed but failed to clear cart: " + e.getMessage(), 
-                    Toast.LENGTH_SHORT).show();
-            });
+                    "Failed to place order: " + errorMessage, Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    private void navigateToMain() {
+        // Navigate back to main activity
+        Intent intent = new Intent(OrderConfirmationActivity.this, MainActivity.class);
+        intent.setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_NEW_TASK);
+        startActivity(intent);
+        finish();
     }
 }
\ No newline at end of file
@@ -13,9 +13,13 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.cartify.app.R;
 import com.cartify.app.adapters.OrderItemAdapter;
+import com.cartify.app.data.DataCallback;
+import com.cartify.app.data.DataSources;
+import com.cartify.app.data.ReadPolicy;
 import com.cartify.app.models.CartItem;
 import com.cartify.app.models.Order;
 import com.cartify.app.utils.FirebaseHelper;
+import com.cartify.app.utils.PriceUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -106,27 +110,28 @@ public class OrderDetailActivity extends AppCompatActivity {
 
         progressBar.setVisibility(View.VISIBLE);
         
-        FirebaseHelper.getUserOrdersCollection(userId)
-            .document(orderId)
-            .get()
-            .addOnSuccessListener(documentSnapshot -> {
-                if (documentSnapshot.exists()) {
-                    currentOrder = documentSnapshot.toObject(Order.class);
-                    if (currentOrder != null) {
-                        displayOrderDetails();
-                    }
+        // The orders list keeps its snapshot listener's results in the cache
+        DataSources.orders().getOrder(userId, orderId, ReadPolicy.CACHE_FIRST, new DataCallback<Order>() {
+            @Override
+            public void onSuccess(Order order) {
+                if (order != null) {
+                    currentOrder = order;
+                    displayOrderDetails();
                 } else {
-                    Toast.makeText(this, "Order not found", Toast.LENGTH_SHORT).show();
+                    Toast.makeText(OrderDetailActivity.this, "Order not found", Toast.LENGTH_SHORT).show();
                     finish();
                 }
                 progressBar.setVisibility(View.GONE);
-            })
-            .addOnFailureListener(e -> {
+            }
+
+            @Override
+            public void onFailure(Exception e) {
                 progressBar.setVisibility(View.GONE);
-                Toast.makeText(this, "Failed to load order details: " + e.getMessage(), 
+                Toast.makeText(OrderDetailActivity.this, "Failed to load order details: " + e.getMessage(), 
                     Toast.LENGTH_SHORT).show();
                 finish();
-            });
+            }
+        });
     }
 
     private void displayOrderDetails() {
@@ -136,7 +141,7 @@ public class OrderDetailActivity extends AppCompatActivity {
         tvOrderDate.setText(currentOrder.getOrderDate());
         tvOrderStatus.setText(currentOrder.getStatus());
         tvDeliveryAddress.setText(currentOrder.getDeliveryAddress());
-        tvTotalAmount.setText("$" + String.format("%.2f", currentOrder.getTotalAmount()));
+        tvTotalAmount.setText(PriceUtils.formatCents(currentOrder.getTotalAmountCents()));
 
         // Set status color
         int statusColor;
@@ -16,6 +16,9 @@ import com.cartify.app.activities.cart.CartActivity;
 import com.cartify.app.activities.main.MainActivity;
 import com.cartify.app.activities.user.ProfileActivity;
 import com.cartify.app.adapters.OrderAdapter;
+import com.cartify.app.data.DataCallback;
+import com.cartify.app.data.DataSources;
+import com.cartify.app.data.Registration;
 import com.cartify.app.models.Order;
 import com.cartify.app.utils.FirebaseHelper;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
@@ -35,6 +38,7 @@ public class OrdersActivity extends AppCompatActivity {
     private TextView tvEmptyOrders;
     private ProgressBar progressBar;
     private BottomNavigationView bottomNavigation;
+    private Registration ordersRegistration;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -139,31 +143,33 @@ public class OrdersActivity extends AppCompatActivity {
 
         progressBar.setVisibility(View.VISIBLE);
         
-        FirebaseHelper.getUserOrdersCollection(userId)
-            .orderBy("orderDate", com.google.firebase.firestore.Query.Direction.DESCENDING)
-            .addSnapshotListener((querySnapshot, error) -> {
-                if (error != null) {
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(OrdersActivity.this, 
-                        "Failed to load orders: " + error.getMessage(), 
-                        Toast.LENGTH_SHORT).show();
-                    return;
-                }
-
+        ordersRegistration = DataSources.orders().observeOrders(userId, new DataCallback<List<Order>>() {
+            @Override
+            public void onSuccess(List<Order> orders) {
                 orderList.clear();
-                if (querySnapshot != null) {
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot document : querySnapshot) {
-                        Order order = document.toObject(Order.class);
-                        if (order != null) {
-                            orderList.add(order);
-                        }
-                    }
-                }
+                orderList.addAll(orders);
                 
                 orderAdapter.updateOrders(orderList);
                 updateEmptyState();
                 progressBar.setVisibility(View.GONE);
-            });
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                progressBar.setVisibility(View.GONE);
+                Toast.makeText(OrdersActivity.this, 
+                    "Failed to load orders: " + e.getMessage(), 
+                    Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (ordersRegistration != null) {
+            ordersRegistration.remove();
+        }
     }
 
     private void updateEmptyState() {
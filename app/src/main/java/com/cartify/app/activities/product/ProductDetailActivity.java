@@ -15,14 +15,15 @@ import androidx.appcompat.widget.Toolbar;
 
 import com.bumptech.glide.Glide;
 import com.cartify.app.R;
+import com.cartify.app.data.DataCallback;
+import com.cartify.app.data.DataSources;
 import com.cartify.app.models.CartItem;
 import com.cartify.app.models.Product;
+import com.cartify.app.utils.CatalogSyncEngine;
 import com.cartify.app.utils.FirebaseHelper;
 import com.cartify.app.utils.InputValidator;
+import com.cartify.app.utils.MutationOutbox;
 import com.cartify.app.utils.PriceUtils;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.ValueEventListener;
 
 /**
  * Product Detail Activity for displaying individual product information
@@ -124,35 +125,35 @@ public class ProductDetailActivity extends AppCompatActivity {
             shareIntent.setType("text/plain");
             shareIntent.putExtra(android.content.Intent.EXTRA_SUBJECT, "Check out this product!");
             shareIntent.putExtra(android.content.Intent.EXTRA_TEXT, 
-                "Check out " + currentProduct.getTitle() + " for only $" + 
-                String.format("%.2f", currentProduct.getPrice()) + " on Cartify!");
+                "Check out " + currentProduct.getTitle() + " for only " + 
+                PriceUtils.formatPrice(currentProduct.getPrice()) + " on Cartify!");
             startActivity(android.content.Intent.createChooser(shareIntent, "Share Product"));
         }
     }
 
     private void loadProductDetails() {
+        // Show the synced summary right away; the description, images, sizes and colors
+        // come with the product's detail payload
+        Product summary = CatalogSyncEngine.getInstance().getProduct(productId);
+        if (summary != null) {
+            currentProduct = summary;
+            displayProductDetails();
+        }
+
         progressBar.setVisibility(View.VISIBLE);
         
-        FirebaseHelper.getProductsRef().addListenerForSingleValueEvent(new ValueEventListener() {
+        DataSources.catalog().getProduct(productId, new DataCallback<Product>() {
             @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                int index = 0;
-                for (DataSnapshot productSnapshot : snapshot.getChildren()) {
-                    if (String.valueOf(index).equals(productId)) {
-                        currentProduct = productSnapshot.getValue(Product.class);
-                        if (currentProduct != null) {
-                            currentProduct.setId(productId);
-                            displayProductDetails();
-                        }
-                        break;
-                    }
-                    index++;
+            public void onSuccess(Product product) {
+                if (product != null) {
+                    currentProduct = product;
+                    displayProductDetails();
                 }
                 progressBar.setVisibility(View.GONE);
             }
 
             @Override
-            public void onCancelled(@NonNull DatabaseError error) {
+            public void onFailure(Exception e) {
                 progressBar.setVisibility(View.GONE);
                 Toast.makeText(ProductDetailActivity.this, 
                     "Failed to load product details", Toast.LENGTH_SHORT).show();
@@ -190,7 +191,7 @@ public class ProductDetailActivity extends AppCompatActivity {
     private void increaseQuantity() {
         // Validate current quantity before increasing
         InputValidator.ValidationResult validation = 
-            InputValidator.validateQuantity(String.valueOf(quantity + 1));
+            InputValidator.validateQuantity(quantity + 1);
         
         if (!validation.isValid()) {
             Toast.makeText(this, validation.getErrorMessage(), Toast.LENGTH_SHORT).show();
@@ -232,7 +233,7 @@ public class ProductDetailActivity extends AppCompatActivity {
 
         // Validate quantity before adding to cart
         InputValidator.ValidationResult quantityValidation = 
-            InputValidator.validateQuantity(String.valueOf(quantity));
+            InputValidator.validateQuantity(quantity);
         
         if (!quantityValidation.isValid()) {
             Toast.makeText(this, quantityValidation.getErrorMessage(), Toast.LENGTH_SHORT).show();
@@ -246,98 +247,56 @@ public class ProductDetailActivity extends AppCompatActivity {
         }
 
         InputValidator.ValidationResult priceValidation = 
-            InputValidator.validatePrice(String.valueOf(currentProduct.getPrice()));
+            InputValidator.validatePrice(currentProduct.getPrice());
         
         if (!priceValidation.isValid()) {
             Toast.makeText(this, "Invalid product price", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        progressBar.setVisibility(View.VISIBLE);
-        btnAddToCart.setEnabled(false);
+        // Create cart item with sanitized data; the outbox merges it into an existing line
+        String sanitizedTitle = InputValidator.sanitizeInput(currentProduct.getTitle());
+        String sanitizedImageUrl = currentProduct.getPicUrl() != null && !currentProduct.getPicUrl().isEmpty() 
+            ? InputValidator.sanitizeInput(currentProduct.getPicUrl().get(0)) : "";
+        
+        CartItem cartItem = new CartItem(
+            currentProduct.getId(),
+            sanitizedTitle,
+            currentProduct.getPrice(),
+            sanitizedImageUrl,
+            quantity,
+            currentProduct.getSize() != null && !currentProduct.getSize().isEmpty() 
+                ? InputValidator.sanitizeInput(currentProduct.getSize().get(0)) : null,
+            currentProduct.getColor() != null && !currentProduct.getColor().isEmpty() 
+                ? InputValidator.sanitizeInput(currentProduct.getColor().get(0)) : null
+        );
+
+        int addedQuantity = quantity;
+
+        // Reset quantity to 1 after adding to cart
+        quantity = 1;
+        updateQuantityDisplay();
 
-        // Check if item already exists in cart
-        FirebaseHelper.getUserCartCollection(userId)
-            .whereEqualTo("productId", currentProduct.getId())
-            .get()
-            .addOnSuccessListener(querySnapshot -> {
-                progressBar.setVisibility(View.GONE);
-                btnAddToCart.setEnabled(true);
-                
-                if (!querySnapshot.isEmpty()) {
-                    // Item exists, update quantity
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot document : querySnapshot) {
-                        CartItem existingItem = document.toObject(CartItem.class);
-                        int newQuantity = existingItem.getQuantity() + quantity;
-                        
-                        // Validate new total quantity
-                        InputValidator.ValidationResult newQuantityValidation = 
-                            InputValidator.validateQuantity(String.valueOf(newQuantity));
-                        
-                        if (!newQuantityValidation.isValid()) {
-                            Toast.makeText(ProductDetailActivity.this, 
-                                "Cannot add more items: " + newQuantityValidation.getErrorMessage(), 
-                                Toast.LENGTH_LONG).show();
-                            return;
-                        }
-
-                        if (newQuantity > 99) {
-                            Toast.makeText(ProductDetailActivity.this, 
-                                "Cannot add more items. Maximum 99 per product in cart.", 
-                                Toast.LENGTH_LONG).show();
-                            return;
-                        }
-
-                        document.getReference().update("quantity", newQuantity)
-                            .addOnSuccessListener(aVoid -> {
-                                Toast.makeText(ProductDetailActivity.this, 
-                                    "Added " + quantity + " item(s) to cart", Toast.LENGTH_SHORT).show();
-                                // Reset quantity to 1 after adding to cart
-                                quantity = 1;
-                                updateQuantityDisplay();
-                            })
-                            .addOnFailureListener(e -> 
-                                Toast.makeText(ProductDetailActivity.this, 
-                                    "Failed to update cart", Toast.LENGTH_SHORT).show());
-                        break;
-                    }
-                } else {
-                    // Item doesn't exist, create new cart item with sanitized data
-                    String sanitizedTitle = InputValidator.sanitizeInput(currentProduct.getTitle());
-                    String sanitizedImageUrl = currentProduct.getPicUrl() != null && !currentProduct.getPicUrl().isEmpty() 
-                        ? InputValidator.sanitizeInput(currentProduct.getPicUrl().get(0)) : "";
-                    
-                    CartItem cartItem = new CartItem(
-                        currentProduct.getId(),
-                        sanitizedTitle,
-                        currentProduct.getPrice(),
-                        sanitizedImageUrl,
-                        quantity,
-                        currentProduct.getSize() != null && !currentProduct.getSize().isEmpty() 
-                            ? InputValidator.sanitizeInput(currentProduct.getSize().get(0)) : null,
-                        currentProduct.getColor() != null && !currentProduct.getColor().isEmpty() 
-                            ? InputValidator.sanitizeInput(currentProduct.getColor().get(0)) : null
-                    );
-
-                    FirebaseHelper.getUserCartCollection(userId)
-                        .add(cartItem)
-                        .addOnSuccessListener(documentReference -> {
-                            Toast.makeText(ProductDetailActivity.this, 
-                                "Added " + quantity + " item(s) to cart", Toast.LENGTH_SHORT).show();
-                            // Reset quantity to 1 after adding to cart
-                            quantity = 1;
-                            updateQuantityDisplay();
-                        })
-                        .addOnFailureListener(e -> 
-                            Toast.makeText(ProductDetailActivity.this, 
-                                "Failed to add to cart", Toast.LENGTH_SHORT).show());
-                }
-            })
-            .addOnFailureListener(e -> {
-                progressBar.setVisibility(View.GONE);
-                btnAddToCart.setEnabled(true);
-                Toast.makeText(ProductDetailActivity.this, 
-                    "Failed to check cart", Toast.LENGTH_SHORT).show();
-            });
+        // Queued in the outbox so the add is replayed if the network is down
+        MutationOutbox.getInstance(this).enqueueAddToCart(userId, cartItem, new MutationOutbox.Callback() {
+            @Override
+            public void onApplied() {
+                Toast.makeText(getApplicationContext(), 
+                    "Added " + addedQuantity + " item(s) to cart", Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onDeferred() {
+                Toast.makeText(getApplicationContext(), 
+                    "You're offline. " + addedQuantity + " item(s) will be added when you reconnect.", 
+                    Toast.LENGTH_LONG).show();
+            }
+
+            @Override
+            public void onFailed(String errorMessage) {
+                Toast.makeText(getApplicationContext(), 
+                    "Failed to add to cart: " + errorMessage, Toast.LENGTH_LONG).show();
+            }
+        });
     }
 }
\ No newline at end of file
@@ -2,13 +2,19 @@ package com.cartify.app.activities.product;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Trace;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
+import android.view.inputmethod.EditorInfo;
+import android.widget.ArrayAdapter;
 import android.widget.EditText;
 import android.widget.LinearLayout;
+import android.widget.ListPopupWindow;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -22,16 +28,20 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.cartify.app.R;
 import com.cartify.app.activities.cart.CartActivity;
 import com.cartify.app.adapters.ProductAdapter;
+import com.cartify.app.data.DataCallback;
+import com.cartify.app.data.DataSources;
 import com.cartify.app.models.Product;
-import com.cartify.app.utils.FirebaseHelper;
+import com.cartify.app.utils.CatalogSyncEngine;
+import com.cartify.app.utils.FrameMonitor;
+import com.cartify.app.utils.ProductSearchFilter;
 import com.cartify.app.utils.SearchSuggestionsHelper;
 import com.cartify.app.utils.InputValidator;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * Search Activity for searching products
@@ -51,15 +61,28 @@ public class SearchActivity extends AppCompatActivity {
     private List<Product> allProducts;
     private List<Product> filteredProducts;
     private SearchSuggestionsHelper suggestionsHelper;
+    private ListPopupWindow suggestionsPopup;
+    private ArrayAdapter<String> suggestionsAdapter;
+    private final List<String> suggestions = new ArrayList<>();
+    private boolean applyingSuggestion;
+    private boolean descriptionsRequested;
     
-    private String currentQuery = "";
+    // Search indexes take a while to build over a large catalog, so it happens off the main thread
+    private static final Executor searchIndexExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "SearchIndex");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ProductSearchFilter searchFilter =
+        new ProductSearchFilter(searchIndexExecutor, mainHandler::post, this::onSearchIndexesBuilt);
     
-    // Filter parameters
-    private double maxPrice = Double.MAX_VALUE;
-    private float minRating = 0.0f;
-    private List<Integer> selectedCategoryIds = new ArrayList<>();
+    private String currentQuery = "";
     
     private static final int FILTER_REQUEST_CODE = 1001;
+    private static final int MAX_SUGGESTIONS = 6;
+    private static final String TRACE_PERFORM_SEARCH = "SearchActivity.performSearch";
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -68,6 +91,7 @@ public class SearchActivity extends AppCompatActivity {
 
         initViews();
         setupRecyclerView();
+        setupSuggestions();
         setupSearch();
         loadProducts();
     }
@@ -104,6 +128,17 @@ public class SearchActivity extends AppCompatActivity {
         searchResultsRecyclerView.setAdapter(searchAdapter);
     }
 
+    private void setupSuggestions() {
+        suggestionsAdapter = new ArrayAdapter<>(this, android.R.layout.simple_list_item_1, suggestions);
+        suggestionsPopup = new ListPopupWindow(this);
+        suggestionsPopup.setAnchorView(searchEditText);
+        suggestionsPopup.setAdapter(suggestionsAdapter);
+        // Keep the keyboard up while the list is showing
+        suggestionsPopup.setInputMethodMode(ListPopupWindow.INPUT_METHOD_NEEDED);
+        suggestionsPopup.setOnItemClickListener((parent, view, position, id) ->
+            applySuggestion(suggestions.get(position)));
+    }
+
     private void setupSearch() {
         searchEditText.addTextChangedListener(new TextWatcher() {
             @Override
@@ -128,145 +163,139 @@ public class SearchActivity extends AppCompatActivity {
                 // Perform search
                 performSearch(currentQuery);
                 
-                // Save to search history when user stops typing (with validation)
-                if (!currentQuery.isEmpty() && currentQuery.length() > 2) {
-                    InputValidator.ValidationResult validation = InputValidator.validateSearchQuery(currentQuery);
-                    if (validation.isValid()) {
-                        suggestionsHelper.addToHistory(currentQuery);
-                    }
+                if (!applyingSuggestion) {
+                    updateSuggestions(currentQuery);
                 }
             }
 
             @Override
             public void afterTextChanged(Editable s) {}
         });
-    }
-
-    private void loadProducts() {
-        progressBar.setVisibility(View.VISIBLE);
-        
-        FirebaseHelper.getProductsRef().addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                allProducts.clear();
-                int index = 0;
-                
-                for (DataSnapshot productSnapshot : snapshot.getChildren()) {
-                    Product product = productSnapshot.getValue(Product.class);
-                    if (product != null) {
-                        product.setId(String.valueOf(index++));
-                        allProducts.add(product);
-                    }
-                }
-                
-                progressBar.setVisibility(View.GONE);
-                
-                // Perform search with current query if any
-                if (!currentQuery.isEmpty()) {
-                    performSearch(currentQuery);
-                }
-            }
 
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                progressBar.setVisibility(View.GONE);
-                Toast.makeText(SearchActivity.this, 
-                    "Failed to load products: " + error.getMessage(), 
-                    Toast.LENGTH_SHORT).show();
+        // Only submitted queries go into the history, not every prefix typed on the way
+        searchEditText.setOnEditorActionListener((v, actionId, event) -> {
+            if (actionId == EditorInfo.IME_ACTION_SEARCH) {
+                suggestionsPopup.dismiss();
+                saveToHistory(currentQuery);
+                return true;
             }
+            return false;
         });
     }
 
-    private void performSearch(String query) {
-        filteredProducts.clear();
-        
-        if (query.isEmpty()) {
-            // Show all products when search is empty
-            filteredProducts.addAll(allProducts);
-        } else {
-            // Validate search query before processing
-            InputValidator.ValidationResult validation = InputValidator.validateSearchQuery(query);
-            if (!validation.isValid()) {
-                // Show error but don't crash - just show no results
-                updateUI();
-                return;
-            }
-            
-            // Filter products based on search query
-            String lowerCaseQuery = query.toLowerCase();
-            
-            for (Product product : allProducts) {
-                if (matchesSearchQuery(product, lowerCaseQuery)) {
-                    filteredProducts.add(product);
-                }
+    private void updateSuggestions(String query) {
+        suggestions.clear();
+        if (!query.isEmpty()) {
+            suggestions.addAll(suggestionsHelper.getSuggestions(query, MAX_SUGGESTIONS));
+            // Nothing to offer if the only suggestion is what's already typed
+            if (suggestions.size() == 1 && suggestions.get(0).equalsIgnoreCase(query)) {
+                suggestions.clear();
             }
         }
-        
-        updateUI();
+        suggestionsAdapter.notifyDataSetChanged();
+
+        if (suggestions.isEmpty()) {
+            suggestionsPopup.dismiss();
+        } else if (!suggestionsPopup.isShowing()) {
+            suggestionsPopup.show();
+        }
     }
 
-    private boolean matchesSearchQuery(Product product, String query) {
-        // Apply filters first
-        if (!matchesFilters(product)) {
-            return false;
+    private void applySuggestion(String suggestion) {
+        suggestionsPopup.dismiss();
+        applyingSuggestion = true;
+        try {
+            searchEditText.setText(suggestion);
+            searchEditText.setSelection(searchEditText.getText().length());
+        } finally {
+            applyingSuggestion = false;
         }
-        
-        // If no search query, show all products that match filters
-        if (query.isEmpty()) {
-            return true;
+        saveToHistory(currentQuery);
+    }
+
+    private void saveToHistory(String query) {
+        if (query.length() > 2 && InputValidator.validateSearchQuery(query).isValid()) {
+            suggestionsHelper.addToHistory(query);
         }
-        
-        // Search in product title
-        if (product.getTitle() != null && 
-            product.getTitle().toLowerCase().contains(query)) {
-            return true;
+    }
+
+    private void loadProducts() {
+        progressBar.setVisibility(View.VISIBLE);
+        CatalogSyncEngine.getInstance().products().subscribe(productsListener);
+    }
+
+    private final CatalogSyncEngine.Listener<Product> productsListener = new CatalogSyncEngine.Listener<Product>() {
+        @Override
+        public void onCatalogChanged(List<Product> items, CatalogSyncEngine.ChangeSet<Product> changes) {
+            // Patch the local copy by key instead of re-reading the whole catalog
+            changes.applyTo(allProducts, items);
+            searchFilter.invalidateIndexes();
+            suggestionsHelper.onCatalogChanged(items, changes);
+            
+            progressBar.setVisibility(View.GONE);
+            
+            // Perform search with current query if any
+            if (!currentQuery.isEmpty()) {
+                performSearch(currentQuery);
+            }
         }
-        
-        // Search in product description
-        if (product.getDescription() != null && 
-            product.getDescription().toLowerCase().contains(query)) {
-            return true;
+
+        @Override
+        public void onSyncError(String errorMessage) {
+            progressBar.setVisibility(View.GONE);
+            Toast.makeText(SearchActivity.this, 
+                "Failed to load products: " + errorMessage, 
+                Toast.LENGTH_SHORT).show();
         }
-        
-        // Search by price range (if query is numeric)
+    };
+
+    private void performSearch(String query) {
+        // Traced so typing latency can be measured per keystroke
+        Trace.beginSection(TRACE_PERFORM_SEARCH);
+        FrameMonitor.getInstance().mark(FrameMonitor.OP_SEARCH);
         try {
-            double searchPrice = Double.parseDouble(query);
-            
-            // Validate price input
-            InputValidator.ValidationResult priceValidation = InputValidator.validatePrice(query);
-            if (priceValidation.isValid() && Math.abs(product.getPrice() - searchPrice) < 10) {
-                return true; // Within $10 range
+            if (!query.isEmpty()) {
+                loadDescriptions();
             }
-        } catch (NumberFormatException e) {
-            // Not a number, continue with other searches
+            searchFilter.filter(allProducts, query, filteredProducts);
+            updateUI();
+        } finally {
+            Trace.endSection();
         }
-        
-        return false;
     }
 
-    private boolean matchesFilters(Product product) {
-        // Price filter
-        if (product.getPrice() > maxPrice) {
-            return false;
-        }
-        
-        // Rating filter
-        if (product.getRating() < minRating) {
-            return false;
-        }
-        
-        // Category filter (if any categories are selected)
-        if (!selectedCategoryIds.isEmpty()) {
-            // For now, we don't have category IDs in products
-            // This would need to be implemented based on your product-category relationship
-            // return selectedCategoryIds.contains(product.getCategoryId());
+    private void onSearchIndexesBuilt() {
+        if (!isDestroyed() && !currentQuery.isEmpty()) {
+            performSearch(currentQuery);
         }
-        
-        return true;
+    }
+
+    /**
+     * The synced catalog only holds list summaries, so descriptions are fetched once, the first
+     * time something is searched. Until they arrive only titles and prices match.
+     */
+    private void loadDescriptions() {
+        if (descriptionsRequested) return;
+        descriptionsRequested = true;
+        DataSources.catalog().getProductDescriptions(new DataCallback<Map<String, String>>() {
+            @Override
+            public void onSuccess(Map<String, String> descriptions) {
+                searchFilter.setDescriptions(descriptions);
+                if (!currentQuery.isEmpty()) {
+                    performSearch(currentQuery);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                // Title search still works; try again with the next query
+                descriptionsRequested = false;
+            }
+        });
     }
 
     private void updateUI() {
-        searchAdapter.updateProducts(filteredProducts);
+        searchAdapter.updateProducts(filteredProducts, searchFilter.getHighlights());
         
         if (filteredProducts.isEmpty()) {
             if (!currentQuery.isEmpty()) {
@@ -290,7 +319,9 @@ public class SearchActivity extends AppCompatActivity {
             // Update results count
             int count = filteredProducts.size();
             String countText = count == 1 ? "Found 1 product" : "Found " + count + " products";
-            if (!currentQuery.isEmpty()) {
+            if (searchFilter.isApproximate()) {
+                countText += " similar to \"" + currentQuery + "\"";
+            } else if (!currentQuery.isEmpty()) {
                 countText += " for \"" + currentQuery + "\"";
             }
             resultsCountText.setText(countText);
@@ -322,12 +353,9 @@ public class SearchActivity extends AppCompatActivity {
         
         if (requestCode == FILTER_REQUEST_CODE && resultCode == RESULT_OK && data != null) {
             // Get filter parameters
-            maxPrice = data.getDoubleExtra("maxPrice", Double.MAX_VALUE);
-            minRating = data.getFloatExtra("minRating", 0.0f);
-            selectedCategoryIds = data.getIntegerArrayListExtra("selectedCategories");
-            if (selectedCategoryIds == null) {
-                selectedCategoryIds = new ArrayList<>();
-            }
+            searchFilter.setMaxPrice(data.getDoubleExtra("maxPrice", Double.MAX_VALUE));
+            searchFilter.setMinRating(data.getFloatExtra("minRating", 0.0f));
+            searchFilter.setSelectedCategoryIds(data.getIntegerArrayListExtra("selectedCategories"));
             
             // Reapply search with new filters
             performSearch(currentQuery);
@@ -336,6 +364,20 @@ public class SearchActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onPause() {
+        super.onPause();
+        suggestionsPopup.dismiss();
+        suggestionsHelper.flush();
+        searchAdapter.flushPendingCartWrites();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        CatalogSyncEngine.getInstance().products().unsubscribe(productsListener);
+    }
+
     @Override
     public void onBackPressed() {
         super.onBackPressed();
@@ -17,6 +17,7 @@ import com.cartify.app.activities.auth.LoginActivity;
 import com.cartify.app.activities.cart.CartActivity;
 import com.cartify.app.activities.main.MainActivity;
 import com.cartify.app.activities.order.OrdersActivity;
+import com.cartify.app.data.ReadPolicy;
 import com.cartify.app.models.UserProfile;
 import com.cartify.app.utils.FirebaseHelper;
 import com.cartify.app.utils.InputValidator;
@@ -207,15 +208,23 @@ public class ProfileActivity extends AppCompatActivity {
 
         progressBar.setVisibility(View.VISIBLE);
         
-        FirebaseHelper.getUserProfileRef(userId)
-            .get()
+        // Show the cached copy right away, then refresh it from the server, since the profile
+        // can also change on another device or through the backend
+        FirebaseHelper.getDocument(FirebaseHelper.getUserProfileRef(userId), ReadPolicy.CACHE_ONLY)
+            .addOnCompleteListener(cached -> {
+                if (cached.isSuccessful() && cached.getResult().exists()) {
+                    showProfile(cached.getResult().toObject(UserProfile.class));
+                }
+                loadUserProfileFromServer(userId);
+            });
+    }
+
+    private void loadUserProfileFromServer(String userId) {
+        FirebaseHelper.getDocument(FirebaseHelper.getUserProfileRef(userId), ReadPolicy.SERVER_FIRST)
             .addOnSuccessListener(documentSnapshot -> {
                 if (documentSnapshot.exists()) {
-                    currentProfile = documentSnapshot.toObject(UserProfile.class);
-                    if (currentProfile != null) {
-                        displayProfile();
-                    }
-                } else {
+                    showProfile(documentSnapshot.toObject(UserProfile.class));
+                } else if (currentProfile == null) {
                     // Create new profile if doesn't exist
                     createNewProfile(userId);
                 }
@@ -223,11 +232,22 @@ public class ProfileActivity extends AppCompatActivity {
             })
             .addOnFailureListener(e -> {
                 progressBar.setVisibility(View.GONE);
-                Toast.makeText(this, "Failed to load profile: " + e.getMessage(), 
-                    Toast.LENGTH_SHORT).show();
+                // Offline with nothing cached; a cached copy on screen is good enough otherwise
+                if (currentProfile == null) {
+                    Toast.makeText(this, "Failed to load profile: " + e.getMessage(), 
+                        Toast.LENGTH_SHORT).show();
+                }
             });
     }
 
+    private void showProfile(UserProfile profile) {
+        if (profile != null && !isDestroyed()) {
+            currentProfile = profile;
+            displayProfile();
+            progressBar.setVisibility(View.GONE);
+        }
+    }
+
     private void displayProfile() {
         if (currentProfile != null) {
             // Display user information
@@ -397,4 +417,12 @@ public class ProfileActivity extends AppCompatActivity {
     private boolean isLoading() {
         return progressBar.getVisibility() == View.VISIBLE;
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (formValidator != null) {
+            formValidator.cancelPendingValidation();
+        }
+    }
 }
\ No newline at end of file
@@ -14,6 +14,8 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.cartify.app.R;
 import com.cartify.app.models.CartItem;
+import com.cartify.app.utils.FrameMonitor;
+import com.cartify.app.utils.PriceUtils;
 
 import java.util.List;
 
@@ -49,9 +51,9 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
         CartItem item = cartItems.get(position);
         
         holder.tvTitle.setText(item.getTitle());
-        holder.tvPrice.setText("$" + String.format("%.2f", item.getPrice()));
+        holder.tvPrice.setText(PriceUtils.formatCents(item.getPriceCents()));
         holder.tvQuantity.setText(String.valueOf(item.getQuantity()));
-        holder.tvTotalPrice.setText("$" + String.format("%.2f", item.getTotalPrice()));
+        holder.tvTotalPrice.setText(PriceUtils.formatCents(item.getTotalPriceCents()));
         
         if (item.getSelectedSize() != null) {
             holder.tvSize.setText("Size: " + item.getSelectedSize());
@@ -61,6 +63,7 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
         }
 
         // Load product image
+        FrameMonitor.getInstance().mark(FrameMonitor.OP_IMAGE_BIND);
         Glide.with(context)
             .load(item.getImageUrl())
             .placeholder(R.drawable.placeholder_image)
@@ -91,6 +94,7 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
     }
 
     public void updateCartItems(List<CartItem> newItems) {
+        FrameMonitor.getInstance().mark(FrameMonitor.OP_ADAPTER_UPDATE);
         this.cartItems = newItems;
         notifyDataSetChanged();
     }
@@ -14,6 +14,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.cartify.app.activities.order.OrderDetailActivity;
 import com.cartify.app.R;
 import com.cartify.app.models.Order;
+import com.cartify.app.utils.PriceUtils;
 
 import java.util.List;
 
@@ -44,7 +45,7 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
         holder.tvOrderId.setText("Order #" + (order.getOrderId() != null ? 
             order.getOrderId().substring(0, Math.min(8, order.getOrderId().length())) : "N/A"));
         holder.tvOrderDate.setText(order.getOrderDate());
-        holder.tvTotalAmount.setText("$" + String.format("%.2f", order.getTotalAmount()));
+        holder.tvTotalAmount.setText(PriceUtils.formatCents(order.getTotalAmountCents()));
         holder.tvStatus.setText(order.getStatus());
         holder.tvItemCount.setText(order.getItems().size() + " items");
         
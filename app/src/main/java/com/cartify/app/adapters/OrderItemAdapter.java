@@ -13,6 +13,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.cartify.app.R;
 import com.cartify.app.models.CartItem;
+import com.cartify.app.utils.PriceUtils;
 
 import java.util.List;
 
@@ -41,9 +42,9 @@ public class OrderItemAdapter extends RecyclerView.Adapter<OrderItemAdapter.Orde
         CartItem item = items.get(position);
         
         holder.tvTitle.setText(item.getTitle());
-        holder.tvPrice.setText("$" + String.format("%.2f", item.getPrice()));
+        holder.tvPrice.setText(PriceUtils.formatCents(item.getPriceCents()));
         holder.tvQuantity.setText("Qty: " + item.getQuantity());
-        holder.tvTotalPrice.setText("$" + String.format("%.2f", item.getTotalPrice()));
+        holder.tvTotalPrice.setText(PriceUtils.formatCents(item.getTotalPriceCents()));
         
         if (item.getSelectedSize() != null && !item.getSelectedSize().isEmpty()) {
             holder.tvSize.setText("Size: " + item.getSelectedSize());
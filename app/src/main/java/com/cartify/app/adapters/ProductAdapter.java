@@ -2,6 +2,11 @@ package com.cartify.app.adapters;
 
 import android.content.Context;
 import android.content.Intent;
+import android.graphics.Typeface;
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.style.BackgroundColorSpan;
+import android.text.style.StyleSpan;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -18,8 +23,13 @@ import com.cartify.app.activities.product.ProductDetailActivity;
 import com.cartify.app.R;
 import com.cartify.app.models.CartItem;
 import com.cartify.app.models.Product;
+import com.cartify.app.utils.CartWriteCoalescer;
 import com.cartify.app.utils.FirebaseHelper;
+import com.cartify.app.utils.FrameMonitor;
+import com.cartify.app.utils.LongLruCache;
+import com.cartify.app.utils.MutationOutbox;
 import com.cartify.app.utils.PriceUtils;
+import com.cartify.app.utils.SearchHighlights;
 import com.google.android.material.button.MaterialButton;
 
 import java.util.List;
@@ -27,14 +37,27 @@ import java.util.List;
 /**
  * Adapter for displaying products in RecyclerView
  */
-public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductViewHolder> {
+public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductViewHolder>
+        implements CartWriteCoalescer.Listener {
+
+    private static final Object PAYLOAD_CART_QUANTITY = new Object();
+    // Highlighted titles kept across queries, so backspacing reuses them too
+    private static final int HIGHLIGHT_CACHE_SIZE = 256;
 
     private Context context;
     private List<Product> productList;
+    private final CartWriteCoalescer cartWriteCoalescer;
+
+    // Search matches to highlight in the titles, lined up with productList
+    private SearchHighlights highlights = SearchHighlights.NONE;
+    private final LongLruCache<HighlightedTitle> highlightedTitles = new LongLruCache<>(HIGHLIGHT_CACHE_SIZE);
+    private final int highlightColor;
 
     public ProductAdapter(Context context, List<Product> productList) {
         this.context = context;
         this.productList = productList;
+        this.cartWriteCoalescer = new CartWriteCoalescer(MutationOutbox.getInstance(context), this);
+        this.highlightColor = context.getColor(R.color.accent_light);
     }
 
     @NonNull
@@ -44,11 +67,29 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
         return new ProductViewHolder(view);
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull ProductViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.isEmpty() && onlyCartQuantityChanged(payloads)) {
+            // Only the pending quantity changed, skip rebinding the image and text
+            bindAddToCartButton(holder, productList.get(position));
+            return;
+        }
+        onBindViewHolder(holder, position);
+    }
+
+    // Several quick taps queue several payloads before the next bind
+    private static boolean onlyCartQuantityChanged(List<Object> payloads) {
+        for (Object payload : payloads) {
+            if (payload != PAYLOAD_CART_QUANTITY) return false;
+        }
+        return true;
+    }
+
     @Override
     public void onBindViewHolder(@NonNull ProductViewHolder holder, int position) {
         Product product = productList.get(position);
         
-        holder.tvTitle.setText(product.getTitle());
+        holder.tvTitle.setText(titleText(product, position));
         holder.tvPrice.setText(PriceUtils.formatPrice(product.getPrice()));
         holder.tvOldPrice.setText(PriceUtils.formatPrice(product.getOldPrice()));
         holder.tvRating.setText(String.valueOf(product.getRating()));
@@ -65,6 +106,7 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
         
         // Load product image using Glide
         if (product.getPicUrl() != null && !product.getPicUrl().isEmpty()) {
+            FrameMonitor.getInstance().mark(FrameMonitor.OP_IMAGE_BIND);
             Glide.with(context)
                 .load(product.getPicUrl().get(0))
                 .placeholder(R.drawable.placeholder_image)
@@ -80,11 +122,40 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
         });
 
         // Add to cart button click listener
+        bindAddToCartButton(holder, product);
         holder.btnAddToCart.setOnClickListener(v -> {
             addToCart(product);
         });
     }
 
+    /**
+     * The product's title with the search match highlighted, from the offsets the search
+     * recorded. Built once per query and product; binds after that are a cache lookup.
+     */
+    private CharSequence titleText(Product product, int position) {
+        String title = product.getTitle();
+        int start = highlights.getTitleStart(position);
+        int end = start + highlights.getLength();
+        if (title == null || start < 0 || end > title.length()) {
+            return title;
+        }
+
+        String query = highlights.getQuery();
+        String productId = product.getId();
+        long key = ((long) query.hashCode() << 32) | ((productId != null ? productId.hashCode() : 0) & 0xFFFFFFFFL);
+        HighlightedTitle cached = highlightedTitles.get(key);
+        // Same title instance: the product hasn't been replaced by a sync since
+        if (cached != null && cached.title == title && cached.query.equals(query)) {
+            return cached.text;
+        }
+
+        SpannableString text = new SpannableString(title);
+        text.setSpan(new BackgroundColorSpan(highlightColor), start, end, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        text.setSpan(new StyleSpan(Typeface.BOLD), start, end, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        highlightedTitles.put(key, new HighlightedTitle(query, title, text));
+        return text;
+    }
+
     private void addToCart(Product product) {
         String userId = FirebaseHelper.getCurrentUserId();
         if (userId == null) {
@@ -92,48 +163,57 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
             return;
         }
 
-        // Check if item already exists in cart
-        FirebaseHelper.getUserCartCollection(userId)
-            .whereEqualTo("productId", product.getId())
-            .get()
-            .addOnSuccessListener(querySnapshot -> {
-                if (!querySnapshot.isEmpty()) {
-                    // Item exists, update quantity
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot document : querySnapshot) {
-                        CartItem existingItem = document.toObject(CartItem.class);
-                        int newQuantity = existingItem.getQuantity() + 1;
-                        document.getReference().update("quantity", newQuantity)
-                            .addOnSuccessListener(aVoid -> 
-                                Toast.makeText(context, "Updated cart quantity", Toast.LENGTH_SHORT).show())
-                            .addOnFailureListener(e -> 
-                                Toast.makeText(context, "Failed to update cart", Toast.LENGTH_SHORT).show());
-                        break;
-                    }
-                } else {
-                    // Item doesn't exist, create new cart item
-                    CartItem cartItem = new CartItem(
-                        product.getId(),
-                        product.getTitle(),
-                        product.getPrice(),
-                        product.getPicUrl() != null && !product.getPicUrl().isEmpty() 
-                            ? product.getPicUrl().get(0) : "",
-                        1,
-                        product.getSize() != null && !product.getSize().isEmpty() 
-                            ? product.getSize().get(0) : null,
-                        product.getColor() != null && !product.getColor().isEmpty() 
-                            ? product.getColor().get(0) : null
-                    );
-
-                    FirebaseHelper.getUserCartCollection(userId)
-                        .add(cartItem)
-                        .addOnSuccessListener(documentReference -> 
-                            Toast.makeText(context, "Added to cart", Toast.LENGTH_SHORT).show())
-                        .addOnFailureListener(e -> 
-                            Toast.makeText(context, "Failed to add to cart", Toast.LENGTH_SHORT).show());
-                }
-            })
-            .addOnFailureListener(e -> 
-                Toast.makeText(context, "Failed to check cart", Toast.LENGTH_SHORT).show());
+        // Template for the cart line in case it doesn't exist yet
+        CartItem cartItem = new CartItem(
+            product.getId(),
+            product.getTitle(),
+            product.getPrice(),
+            product.getPicUrl() != null && !product.getPicUrl().isEmpty() 
+                ? product.getPicUrl().get(0) : "",
+            1,
+            product.getSize() != null && !product.getSize().isEmpty() 
+                ? product.getSize().get(0) : null,
+            product.getColor() != null && !product.getColor().isEmpty() 
+                ? product.getColor().get(0) : null
+        );
+
+        // Rapid taps are merged into one increment per line
+        cartWriteCoalescer.add(userId, cartItem, 1);
+    }
+
+    private void bindAddToCartButton(ProductViewHolder holder, Product product) {
+        int pendingQuantity = cartWriteCoalescer.getPendingQuantity(product.getId());
+        holder.btnAddToCart.setText(pendingQuantity > 0 ? "Added +" + pendingQuantity : "Add to Cart");
+    }
+
+    private int findProductPosition(String productId) {
+        for (int i = 0; i < productList.size(); i++) {
+            if (productId.equals(productList.get(i).getId())) {
+                return i;
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    // Cart write callbacks
+
+    @Override
+    public void onPendingQuantityChanged(String productId, int pendingQuantity) {
+        int position = findProductPosition(productId);
+        if (position != RecyclerView.NO_POSITION) {
+            notifyItemChanged(position, PAYLOAD_CART_QUANTITY);
+        }
+    }
+
+    @Override
+    public void onFlushed(String productId, int quantity) {
+        Toast.makeText(context, quantity > 1 ? "Added " + quantity + " to cart" : "Added to cart",
+            Toast.LENGTH_SHORT).show();
+    }
+
+    @Override
+    public void onFlushFailed(String productId, String errorMessage) {
+        Toast.makeText(context, errorMessage, Toast.LENGTH_SHORT).show();
     }
 
     @Override
@@ -142,10 +222,38 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
     }
 
     public void updateProducts(List<Product> newProducts) {
+        updateProducts(newProducts, SearchHighlights.NONE);
+    }
+
+    /**
+     * Shows search results with the matches in their titles highlighted
+     */
+    public void updateProducts(List<Product> newProducts, SearchHighlights highlights) {
+        FrameMonitor.getInstance().mark(FrameMonitor.OP_ADAPTER_UPDATE);
         this.productList = newProducts;
+        this.highlights = highlights;
         notifyDataSetChanged();
     }
 
+    /**
+     * Sends add-to-cart taps still inside their coalescing window; call when the screen pauses
+     */
+    public void flushPendingCartWrites() {
+        cartWriteCoalescer.flushAll();
+    }
+
+    private static final class HighlightedTitle {
+        final String query;
+        final String title;
+        final CharSequence text;
+
+        HighlightedTitle(String query, String title, CharSequence text) {
+            this.query = query;
+            this.title = title;
+            this.text = text;
+        }
+    }
+
     static class ProductViewHolder extends RecyclerView.ViewHolder {
         CardView cardView;
         ImageView ivProduct;
@@ -0,0 +1,32 @@
+package com.cartify.app.data;
+
+import com.cartify.app.models.CartItem;
+
+import java.util.List;
+
+/**
+ * Access to a user's shopping cart
+ */
+public interface CartDataSource {
+
+    int MAX_QUANTITY_PER_LINE = 99;
+
+    Registration observeCart(String userId, DataCallback<List<CartItem>> observer);
+
+    void getCart(String userId, ReadPolicy policy, DataCallback<List<CartItem>> callback);
+
+    /**
+     * Atomically adds quantity to a line, creating it from the item if missing.
+     * Repeating a request with the same mutation ID has no further effect.
+     */
+    void addToCart(String userId, CartItem item, int quantity, String mutationId, DataCallback<Void> callback);
+
+    void setQuantity(String userId, String productId, int quantity, DataCallback<Void> callback);
+
+    /**
+     * Removes a line; a line that is already gone counts as removed
+     */
+    void removeItem(String userId, String productId, DataCallback<Void> callback);
+
+    void clearCart(String userId, DataCallback<Void> callback);
+}
@@ -0,0 +1,40 @@
+package com.cartify.app.data;
+
+import com.cartify.app.models.Product;
+
+import java.util.Map;
+
+/**
+ * Read access to the product catalog (Items, ItemSummaries, Category and Banner nodes).
+ * List screens observe PRODUCT_SUMMARIES, the slim projection of each product; the full
+ * PRODUCTS payload is only read per product or for description search.
+ */
+public interface CatalogDataSource {
+
+    enum Node { PRODUCTS, PRODUCT_SUMMARIES, CATEGORIES, BANNERS }
+
+    /**
+     * Child-level updates for one catalog node, in the node's key order
+     */
+    interface ChildObserver<T> {
+        void onChildAdded(String key, T item, String previousKey);
+        void onChildChanged(String key, T item);
+        void onChildRemoved(String key);
+        void onChildMoved(String key, String previousKey);
+        // Every child present at subscription time has been delivered
+        void onInitialLoadComplete();
+        void onError(String errorMessage);
+    }
+
+    <T> Registration observeChildren(Node node, Class<T> type, ChildObserver<T> observer);
+
+    /**
+     * Loads a single product; the result is null if it doesn't exist
+     */
+    void getProduct(String productId, DataCallback<Product> callback);
+
+    /**
+     * Loads every product's description, keyed by product id (ItemDescriptions node)
+     */
+    void getProductDescriptions(DataCallback<Map<String, String>> callback);
+}
@@ -0,0 +1,9 @@
+package com.cartify.app.data;
+
+/**
+ * Result callback for data source operations (delivered on the source's callback thread)
+ */
+public interface DataCallback<T> {
+    void onSuccess(T result);
+    void onFailure(Exception e);
+}
@@ -0,0 +1,18 @@
+package com.cartify.app.data;
+
+/**
+ * Error raised by a data source that says whether retrying the request can succeed
+ */
+public class DataSourceException extends Exception {
+
+    private final boolean retryable;
+
+    public DataSourceException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
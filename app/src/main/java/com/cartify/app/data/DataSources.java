@@ -0,0 +1,126 @@
+package com.cartify.app.data;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.cartify.app.utils.PerfTracer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Process-wide registry of the active data sources.
+ * Defaults to Firebase; tests and offline benchmark runs install the in-memory backend
+ * before the first screen loads data.
+ */
+public class DataSources {
+
+    private static final String TAG = "DataSources";
+
+    // Seed export bundled into debug builds' assets (a synthetic catalog in benchmark builds)
+    public static final String SEED_ASSET = "database.json";
+
+    // Launch extras that switch a debug or benchmark build to the in-memory backend
+    public static final String EXTRA_IN_MEMORY = "in_memory_data";
+    public static final String EXTRA_SEED = "in_memory_seed";
+    public static final String EXTRA_MIN_LATENCY_MS = "in_memory_min_latency_ms";
+    public static final String EXTRA_MAX_LATENCY_MS = "in_memory_max_latency_ms";
+    public static final String EXTRA_FAILURE_RATE = "in_memory_failure_rate";
+
+    // Account used for carts and orders while the in-memory backend is installed
+    public static final String OFFLINE_USER_ID = "offline-user";
+
+    private static CatalogDataSource catalog;
+    private static CartDataSource cart;
+    private static OrderDataSource orders;
+    private static boolean inMemory;
+
+    public static synchronized CatalogDataSource catalog() {
+        if (catalog == null) {
+            installFirebase();
+        }
+        return catalog;
+    }
+
+    public static synchronized CartDataSource cart() {
+        if (cart == null) {
+            installFirebase();
+        }
+        return cart;
+    }
+
+    public static synchronized OrderDataSource orders() {
+        if (orders == null) {
+            installFirebase();
+        }
+        return orders;
+    }
+
+    /**
+     * Makes the given sources active. Calls are routed through a TracedDataSource so
+     * their latency shows up in PerfTracer whichever backend is installed.
+     */
+    public static synchronized void install(CatalogDataSource catalogSource, CartDataSource cartSource,
+                                            OrderDataSource orderSource) {
+        TracedDataSource traced = new TracedDataSource(catalogSource, cartSource, orderSource,
+            PerfTracer.getInstance());
+        catalog = traced;
+        cart = traced;
+        orders = traced;
+        inMemory = catalogSource instanceof InMemoryDataSource;
+    }
+
+    public static void install(InMemoryDataSource dataSource) {
+        install(dataSource, dataSource, dataSource);
+    }
+
+    /**
+     * Switches to the in-memory backend seeded from the bundled database.json.
+     * Results are delivered on the main thread, as Firebase does.
+     */
+    public static InMemoryDataSource installInMemory(Context context, long seed) throws IOException {
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        try (Reader reader = new InputStreamReader(context.getAssets().open(SEED_ASSET), StandardCharsets.UTF_8)) {
+            InMemoryDataSource dataSource = new InMemoryDataSource(reader, seed, mainHandler::post);
+            install(dataSource);
+            return dataSource;
+        }
+    }
+
+    /**
+     * Returns true when the in-memory backend is installed instead of Firebase
+     */
+    public static synchronized boolean isInMemory() {
+        return inMemory;
+    }
+
+    /**
+     * Installs the in-memory backend when the app is launched with EXTRA_IN_MEMORY,
+     * e.g. by a macrobenchmark or stress run. Only debug and benchmark builds bundle
+     * the seed asset, so release builds always stay on Firebase.
+     */
+    public static void configureFromIntent(Context context, Intent intent) {
+        if (intent == null || !intent.getBooleanExtra(EXTRA_IN_MEMORY, false)) {
+            return;
+        }
+
+        try {
+            InMemoryDataSource dataSource = installInMemory(context, intent.getLongExtra(EXTRA_SEED, 0));
+            dataSource.setLatency(intent.getLongExtra(EXTRA_MIN_LATENCY_MS, 0),
+                intent.getLongExtra(EXTRA_MAX_LATENCY_MS, 0));
+            dataSource.setFailureRate(intent.getFloatExtra(EXTRA_FAILURE_RATE, 0f));
+        } catch (IOException e) {
+            Log.w(TAG, "Seed data not bundled, staying on Firebase", e);
+        }
+    }
+
+    private static void installFirebase() {
+        FirebaseCartDataSource firebaseCart = new FirebaseCartDataSource();
+        install(new FirebaseCatalogDataSource(), firebaseCart, new FirebaseOrderDataSource(firebaseCart));
+    }
+}
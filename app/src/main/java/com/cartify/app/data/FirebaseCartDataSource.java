@@ -0,0 +1,231 @@
+package com.cartify.app.data;
+
+import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Order;
+import com.cartify.app.utils.FirebaseHelper;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cart backed by Firestore (users/{uid}/cart)
+ */
+public class FirebaseCartDataSource implements CartDataSource {
+
+    private static final String FIELD_APPLIED_MUTATIONS = "appliedMutationIds";
+    private static final int MAX_APPLIED_MUTATION_IDS = 20;
+
+    // Cart document references by product ID, so writes can skip the lookup query
+    private final Map<String, DocumentReference> cartDocuments = new HashMap<>();
+
+    @Override
+    public Registration observeCart(String userId, DataCallback<List<CartItem>> observer) {
+        ListenerRegistration registration = FirebaseHelper.getUserCartCollection(userId)
+            .addSnapshotListener((querySnapshot, error) -> {
+                if (error != null) {
+                    observer.onFailure(error);
+                    return;
+                }
+                observer.onSuccess(readCart(querySnapshot));
+            });
+        return registration::remove;
+    }
+
+    @Override
+    public void getCart(String userId, ReadPolicy policy, DataCallback<List<CartItem>> callback) {
+        FirebaseTasks.deliver(FirebaseHelper.getQuery(FirebaseHelper.getUserCartCollection(userId), policy)
+            .continueWith(task -> readCart(task.getResult())), callback);
+    }
+
+    @Override
+    public void addToCart(String userId, CartItem item, int quantity, String mutationId, DataCallback<Void> callback) {
+        FirebaseTasks.deliver(resolveCartDocument(userId, item.getProductId(), true)
+            .continueWithTask(task -> applyAddToCart(task.getResult(), item, quantity, mutationId)), callback);
+    }
+
+    @Override
+    public void setQuantity(String userId, String productId, int quantity, DataCallback<Void> callback) {
+        FirebaseTasks.deliver(resolveCartDocument(userId, productId, false)
+            .continueWithTask(task -> {
+                DocumentReference document = task.getResult();
+                if (document == null) {
+                    throw new FirebaseFirestoreException("Item is no longer in the cart",
+                        FirebaseFirestoreException.Code.NOT_FOUND);
+                }
+                return document.update("quantity", quantity);
+            }), callback);
+    }
+
+    @Override
+    public void removeItem(String userId, String productId, DataCallback<Void> callback) {
+        FirebaseTasks.deliver(resolveCartDocument(userId, productId, false)
+            .continueWithTask(task -> {
+                DocumentReference document = task.getResult();
+                cartDocuments.remove(productId);
+                // Already gone counts as removed
+                return document != null ? document.delete() : Tasks.<Void>forResult(null);
+            }), callback);
+    }
+
+    @Override
+    public void clearCart(String userId, DataCallback<Void> callback) {
+        FirebaseTasks.deliver(FirebaseHelper.getQuery(FirebaseHelper.getUserCartCollection(userId), ReadPolicy.SERVER_FIRST)
+            .continueWithTask(task -> {
+                WriteBatch batch = FirebaseHelper.getFirestore().batch();
+                for (QueryDocumentSnapshot document : task.getResult()) {
+                    batch.delete(document.getReference());
+                }
+                cartDocuments.clear();
+                return batch.commit();
+            }), callback);
+    }
+
+    /**
+     * Places an order and takes the ordered quantities out of the cart in one transaction.
+     * Replays are no-ops once the order document exists (its ID is the outbox entry ID), and
+     * a line the user added to again since ordering keeps what was added after the order.
+     */
+    Task<Void> commitOrder(String userId, Order order) {
+        Map<String, Integer> orderedQuantities = new HashMap<>();
+        List<Task<?>> lookups = new ArrayList<>();
+        if (order.getItems() != null) {
+            for (CartItem item : order.getItems()) {
+                Integer ordered = orderedQuantities.get(item.getProductId());
+                orderedQuantities.put(item.getProductId(), (ordered != null ? ordered : 0) + item.getQuantity());
+            }
+            for (String productId : orderedQuantities.keySet()) {
+                lookups.add(resolveCartDocument(userId, productId, false));
+            }
+        }
+
+        DocumentReference userOrder = FirebaseHelper.getUserOrdersCollection(userId).document(order.getOrderId());
+        DocumentReference globalOrder = FirebaseHelper.getOrdersCollection().document(order.getOrderId());
+        return Tasks.<DocumentReference>whenAllSuccess(lookups).continueWithTask(task -> {
+            List<DocumentReference> lines = task.getResult();
+            return FirebaseHelper.getFirestore().runTransaction(transaction -> {
+                if (transaction.get(userOrder).exists()) {
+                    return null;
+                }
+
+                // Every read has to come before the first write
+                List<DocumentSnapshot> snapshots = new ArrayList<>();
+                for (DocumentReference line : lines) {
+                    if (line != null) snapshots.add(transaction.get(line));
+                }
+                for (DocumentSnapshot snapshot : snapshots) {
+                    if (!snapshot.exists()) continue;
+                    Integer ordered = orderedQuantities.get(snapshot.getString("productId"));
+                    Long current = snapshot.getLong("quantity");
+                    long remaining = (current != null ? current : 0) - (ordered != null ? ordered : 0);
+                    if (remaining > 0) {
+                        transaction.update(snapshot.getReference(), "quantity", remaining);
+                    } else {
+                        transaction.delete(snapshot.getReference());
+                    }
+                }
+                transaction.set(globalOrder, order);
+                transaction.set(userOrder, order);
+                return null;
+            });
+        });
+    }
+
+    private List<CartItem> readCart(QuerySnapshot querySnapshot) {
+        List<CartItem> items = new ArrayList<>();
+        if (querySnapshot == null) return items;
+        for (QueryDocumentSnapshot document : querySnapshot) {
+            CartItem item = LegacyAmounts.cartItem(document.toObject(CartItem.class), document.getData());
+            if (item != null) {
+                items.add(item);
+                cartDocuments.put(item.getProductId(), document.getReference());
+            }
+        }
+        return items;
+    }
+
+    private Task<Void> applyAddToCart(DocumentReference document, CartItem item, int quantity, String mutationId) {
+        return FirebaseHelper.getFirestore().runTransaction(transaction -> {
+            DocumentSnapshot snapshot = transaction.get(document);
+            List<String> applied = new ArrayList<>();
+
+            if (snapshot.exists()) {
+                Object stored = snapshot.get(FIELD_APPLIED_MUTATIONS);
+                if (stored instanceof List) {
+                    for (Object id : (List<?>) stored) {
+                        applied.add(String.valueOf(id));
+                    }
+                }
+                // Idempotency: this mutation already landed before an earlier attempt lost its response
+                if (applied.contains(mutationId)) {
+                    return null;
+                }
+
+                Long current = snapshot.getLong("quantity");
+                long newQuantity = (current != null ? current : 0) + quantity;
+                if (newQuantity > MAX_QUANTITY_PER_LINE) {
+                    throw new FirebaseFirestoreException("Cannot add more items. Maximum "
+                        + MAX_QUANTITY_PER_LINE + " per product in cart.", FirebaseFirestoreException.Code.OUT_OF_RANGE);
+                }
+
+                applied.add(mutationId);
+                trimAppliedIds(applied);
+                transaction.update(document, "quantity", newQuantity, FIELD_APPLIED_MUTATIONS, applied);
+            } else {
+                applied.add(mutationId);
+                Map<String, Object> data = new HashMap<>();
+                data.put("productId", item.getProductId());
+                data.put("title", item.getTitle());
+                data.put("priceCents", item.getPriceCents());
+                data.put("imageUrl", item.getImageUrl());
+                data.put("quantity", quantity);
+                data.put("selectedSize", item.getSelectedSize());
+                data.put("selectedColor", item.getSelectedColor());
+                data.put(FIELD_APPLIED_MUTATIONS, applied);
+                transaction.set(document, data);
+            }
+            return null;
+        });
+    }
+
+    private void trimAppliedIds(List<String> applied) {
+        while (applied.size() > MAX_APPLIED_MUTATION_IDS) {
+            applied.remove(0);
+        }
+    }
+
+    /**
+     * Finds the cart document for a product: cached reference, then lookup query.
+     * New lines get the product ID as document ID so concurrent adds cannot create duplicates.
+     */
+    private Task<DocumentReference> resolveCartDocument(String userId, String productId, boolean createIfMissing) {
+        DocumentReference cached = cartDocuments.get(productId);
+        if (cached != null) {
+            return Tasks.forResult(cached);
+        }
+
+        // Document references don't change, so a cached match is as good as a server one
+        return FirebaseHelper.getQuery(FirebaseHelper.getUserCartCollection(userId)
+                .whereEqualTo("productId", productId)
+                .limit(1), ReadPolicy.CACHE_FIRST)
+            .continueWith(task -> {
+                QuerySnapshot querySnapshot = task.getResult();
+                if (!querySnapshot.isEmpty()) {
+                    DocumentReference document = querySnapshot.getDocuments().get(0).getReference();
+                    cartDocuments.put(productId, document);
+                    return document;
+                }
+                return createIfMissing ? FirebaseHelper.getUserCartItemDocument(userId, productId) : null;
+            });
+    }
+}
@@ -0,0 +1,195 @@
+package com.cartify.app.data;
+
+import androidx.annotation.NonNull;
+
+import com.cartify.app.models.Product;
+import com.cartify.app.utils.FirebaseHelper;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Catalog backed by the Realtime Database.
+ * The ItemSummaries and ItemDescriptions projections are written by the synthetic module's
+ * projections command; on databases that don't have them yet, both are derived from Items.
+ */
+public class FirebaseCatalogDataSource implements CatalogDataSource {
+
+    @Override
+    public <T> Registration observeChildren(Node node, Class<T> type, ChildObserver<T> observer) {
+        if (node != Node.PRODUCT_SUMMARIES) {
+            return observe(reference(node), type, false, observer);
+        }
+
+        // Look for the projection first; fall back to summarizing the full products
+        Registration[] registration = new Registration[1];
+        boolean[] removed = new boolean[1];
+        FirebaseHelper.getProductSummariesRef().limitToFirst(1).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                if (removed[0]) return;
+                registration[0] = snapshot.exists()
+                    ? observe(FirebaseHelper.getProductSummariesRef(), type, false, observer)
+                    : observe(FirebaseHelper.getProductsRef(), type, true, observer);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                observer.onError(error.getMessage());
+            }
+        });
+        return () -> {
+            removed[0] = true;
+            if (registration[0] != null) registration[0].remove();
+        };
+    }
+
+    private <T> Registration observe(DatabaseReference ref, Class<T> type, boolean summarize,
+                                     ChildObserver<T> observer) {
+        ChildEventListener childListener = new ChildEventListener() {
+            @Override
+            public void onChildAdded(@NonNull DataSnapshot snapshot, String previousChildName) {
+                T item = read(snapshot, type, summarize);
+                if (item != null) {
+                    observer.onChildAdded(snapshot.getKey(), item, previousChildName);
+                }
+            }
+
+            @Override
+            public void onChildChanged(@NonNull DataSnapshot snapshot, String previousChildName) {
+                T item = read(snapshot, type, summarize);
+                if (item != null) {
+                    observer.onChildChanged(snapshot.getKey(), item);
+                } else {
+                    observer.onChildRemoved(snapshot.getKey());
+                }
+            }
+
+            @Override
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                observer.onChildRemoved(snapshot.getKey());
+            }
+
+            @Override
+            public void onChildMoved(@NonNull DataSnapshot snapshot, String previousChildName) {
+                observer.onChildMoved(snapshot.getKey(), previousChildName);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                observer.onError(error.getMessage());
+            }
+        };
+
+        // Value events fire after the child events for the same data, marking the initial load complete
+        ValueEventListener initialLoadListener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                observer.onInitialLoadComplete();
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                observer.onError(error.getMessage());
+            }
+        };
+
+        ref.addChildEventListener(childListener);
+        ref.addListenerForSingleValueEvent(initialLoadListener);
+
+        return () -> {
+            ref.removeEventListener(childListener);
+            ref.removeEventListener(initialLoadListener);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T read(DataSnapshot snapshot, Class<T> type, boolean summarize) {
+        T item = snapshot.getValue(type);
+        return summarize && item instanceof Product ? (T) ((Product) item).toSummary() : item;
+    }
+
+    @Override
+    public void getProduct(String productId, DataCallback<Product> callback) {
+        // Read only this product's child instead of the whole Items node
+        FirebaseHelper.getProductsRef().child(productId).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                Product product = snapshot.getValue(Product.class);
+                if (product != null) {
+                    product.setId(productId);
+                }
+                callback.onSuccess(product);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                callback.onFailure(error.toException());
+            }
+        });
+    }
+
+    @Override
+    public void getProductDescriptions(DataCallback<Map<String, String>> callback) {
+        FirebaseHelper.getProductDescriptionsRef().addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                if (!snapshot.exists()) {
+                    readDescriptionsFromProducts(callback);
+                    return;
+                }
+                Map<String, String> descriptions = new HashMap<>();
+                for (DataSnapshot child : snapshot.getChildren()) {
+                    String description = child.getValue(String.class);
+                    if (description != null) {
+                        descriptions.put(child.getKey(), description);
+                    }
+                }
+                callback.onSuccess(descriptions);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                callback.onFailure(error.toException());
+            }
+        });
+    }
+
+    private void readDescriptionsFromProducts(DataCallback<Map<String, String>> callback) {
+        // Without the projection the whole Items node has to be read, images and all
+        FirebaseHelper.getProductsRef().addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                Map<String, String> descriptions = new HashMap<>();
+                for (DataSnapshot child : snapshot.getChildren()) {
+                    String description = child.child("description").getValue(String.class);
+                    if (description != null) {
+                        descriptions.put(child.getKey(), description);
+                    }
+                }
+                callback.onSuccess(descriptions);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                callback.onFailure(error.toException());
+            }
+        });
+    }
+
+    private DatabaseReference reference(Node node) {
+        switch (node) {
+            case CATEGORIES:
+                return FirebaseHelper.getCategoriesRef();
+            case BANNERS:
+                return FirebaseHelper.getBannersRef();
+            default:
+                return FirebaseHelper.getProductsRef();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.cartify.app.data;
+
+import com.cartify.app.models.Order;
+import com.cartify.app.utils.FirebaseHelper;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Orders backed by Firestore (orders and users/{uid}/orders)
+ */
+public class FirebaseOrderDataSource implements OrderDataSource {
+
+    private final FirebaseCartDataSource cartDataSource;
+
+    public FirebaseOrderDataSource(FirebaseCartDataSource cartDataSource) {
+        this.cartDataSource = cartDataSource;
+    }
+
+    @Override
+    public void placeOrder(String userId, Order order, DataCallback<Void> callback) {
+        FirebaseTasks.deliver(cartDataSource.commitOrder(userId, order), callback);
+    }
+
+    @Override
+    public Registration observeOrders(String userId, DataCallback<List<Order>> observer) {
+        ListenerRegistration registration = FirebaseHelper.getUserOrdersCollection(userId)
+            .orderBy("orderDate", Query.Direction.DESCENDING)
+            .addSnapshotListener((querySnapshot, error) -> {
+                if (error != null) {
+                    observer.onFailure(error);
+                    return;
+                }
+
+                List<Order> orders = new ArrayList<>();
+                if (querySnapshot != null) {
+                    for (QueryDocumentSnapshot document : querySnapshot) {
+                        Order order = LegacyAmounts.order(document.toObject(Order.class), document.getData());
+                        if (order != null) {
+                            orders.add(order);
+                        }
+                    }
+                }
+                observer.onSuccess(orders);
+            });
+        return registration::remove;
+    }
+
+    @Override
+    public void getOrder(String userId, String orderId, ReadPolicy policy, DataCallback<Order> callback) {
+        FirebaseTasks.deliver(FirebaseHelper.getDocument(
+                FirebaseHelper.getUserOrdersCollection(userId).document(orderId), policy)
+            .continueWith(task -> task.getResult().exists()
+                ? LegacyAmounts.order(task.getResult().toObject(Order.class), task.getResult().getData())
+                : null), callback);
+    }
+}
@@ -0,0 +1,16 @@
+package com.cartify.app.data;
+
+import com.google.android.gms.tasks.Task;
+
+/**
+ * Bridges Firebase tasks to data source callbacks
+ */
+final class FirebaseTasks {
+
+    private FirebaseTasks() {}
+
+    static <T> void deliver(Task<T> task, DataCallback<T> callback) {
+        task.addOnSuccessListener(callback::onSuccess)
+            .addOnFailureListener(callback::onFailure);
+    }
+}
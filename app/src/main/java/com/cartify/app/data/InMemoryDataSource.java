@@ -0,0 +1,531 @@
+package com.cartify.app.data;
+
+import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Order;
+import com.cartify.app.models.Product;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deterministic in-memory backend for catalog, cart and order flows.
+ * The catalog is seeded from a database.json export. Requests are applied in call order
+ * on a single worker thread; responses are delayed by a configurable latency and can fail
+ * at a configurable rate. Latency and failures come from a seeded Random, so the same seed
+ * and call sequence always produce the same run.
+ */
+public class InMemoryDataSource implements CatalogDataSource, CartDataSource, OrderDataSource {
+
+    private final Gson gson = new Gson();
+    private final Executor callbackExecutor;
+    private final ScheduledExecutorService worker;
+    // Requests draw from one stream in call order, server-pushed events from another in worker order
+    private final Random requestRandom;
+    private final Random eventRandom;
+
+    // Fault injection
+    private volatile long minLatencyMs;
+    private volatile long maxLatencyMs;
+    private volatile double failureRate;
+
+    // State below is only touched on the worker thread
+    private final Map<Node, LinkedHashMap<String, JsonElement>> catalog = new EnumMap<>(Node.class);
+    private final Map<Node, List<CatalogObserver<?>>> catalogObservers = new EnumMap<>(Node.class);
+    private final Map<String, LinkedHashMap<String, CartItem>> carts = new HashMap<>();
+    private final Map<String, Set<String>> appliedMutations = new HashMap<>();
+    private final Map<String, List<Observer<List<CartItem>>>> cartObservers = new HashMap<>();
+    private final Map<String, LinkedHashMap<String, Order>> orders = new HashMap<>();
+    private final Map<String, List<Observer<List<Order>>>> orderObservers = new HashMap<>();
+
+    /**
+     * @param databaseJson     database.json export with Items, Category and Banner nodes and
+     *                         optionally ItemSummaries
+     * @param seed             seed for latency and failure injection
+     * @param callbackExecutor where results are delivered (main thread in the app, direct in tests)
+     */
+    public InMemoryDataSource(Reader databaseJson, long seed, Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        this.requestRandom = new Random(seed);
+        this.eventRandom = new Random(seed ^ 0x5DEECE66DL);
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "InMemoryDataSource");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        JsonObject root = JsonParser.parseReader(databaseJson).getAsJsonObject();
+        catalog.put(Node.PRODUCTS, readNode(root.get("Items")));
+        // Exports without the projection (the bundled seed, synthetic catalogs) get it derived from Items
+        catalog.put(Node.PRODUCT_SUMMARIES, root.has("ItemSummaries")
+            ? readNode(root.get("ItemSummaries")) : summarize(catalog.get(Node.PRODUCTS)));
+        catalog.put(Node.CATEGORIES, readNode(root.get("Category")));
+        catalog.put(Node.BANNERS, readNode(root.get("Banner")));
+        for (Node node : Node.values()) {
+            catalogObservers.put(node, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Each response is delayed by a uniformly distributed latency in [minMs, maxMs]
+     */
+    public void setLatency(long minMs, long maxMs) {
+        this.minLatencyMs = minMs;
+        this.maxLatencyMs = Math.max(minMs, maxMs);
+    }
+
+    /**
+     * Fraction of requests (0..1) that fail with a retryable error without being applied
+     */
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    // Catalog
+
+    @Override
+    public <T> Registration observeChildren(Node node, Class<T> type, ChildObserver<T> observer) {
+        CatalogObserver<T> catalogObserver = new CatalogObserver<>(type, observer);
+        long latency = nextLatency(requestRandom);
+        worker.execute(() -> {
+            catalogObservers.get(node).add(catalogObserver);
+
+            List<Runnable> initialLoad = new ArrayList<>();
+            String previousKey = null;
+            for (Map.Entry<String, JsonElement> child : catalog.get(node).entrySet()) {
+                T item = gson.fromJson(child.getValue(), type);
+                String key = child.getKey();
+                String previous = previousKey;
+                initialLoad.add(() -> observer.onChildAdded(key, item, previous));
+                previousKey = key;
+            }
+            initialLoad.add(observer::onInitialLoadComplete);
+            deliver(catalogObserver, latency, () -> {
+                for (Runnable event : initialLoad) {
+                    event.run();
+                }
+            });
+        });
+        return () -> {
+            catalogObserver.active = false;
+            worker.execute(() -> catalogObservers.get(node).remove(catalogObserver));
+        };
+    }
+
+    @Override
+    public void getProduct(String productId, DataCallback<Product> callback) {
+        request(callback, () -> {
+            JsonElement element = catalog.get(Node.PRODUCTS).get(productId);
+            if (element == null) return null;
+            Product product = gson.fromJson(element, Product.class);
+            product.setId(productId);
+            return product;
+        });
+    }
+
+    @Override
+    public void getProductDescriptions(DataCallback<Map<String, String>> callback) {
+        request(callback, () -> {
+            Map<String, String> descriptions = new HashMap<>();
+            for (Map.Entry<String, JsonElement> child : catalog.get(Node.PRODUCTS).entrySet()) {
+                JsonElement description = child.getValue().isJsonObject()
+                    ? child.getValue().getAsJsonObject().get("description") : null;
+                if (description != null && !description.isJsonNull()) {
+                    descriptions.put(child.getKey(), description.getAsString());
+                }
+            }
+            return descriptions;
+        });
+    }
+
+    /**
+     * Adds or replaces a catalog child and notifies observers, like a backend edit would.
+     * Product edits are mirrored into the summaries, as the backend does.
+     */
+    public void putCatalogChild(Node node, String key, Object value) {
+        JsonElement element = gson.toJsonTree(value);
+        if (node == Node.PRODUCTS) {
+            putCatalogChild(Node.PRODUCT_SUMMARIES, key, gson.fromJson(element, Product.class).toSummary());
+        }
+        worker.execute(() -> {
+            LinkedHashMap<String, JsonElement> children = catalog.get(node);
+            String previousKey = lastKey(children);
+            boolean exists = children.containsKey(key);
+            children.put(key, element);
+
+            for (CatalogObserver<?> observer : catalogObservers.get(node)) {
+                if (exists) {
+                    observer.deliverChanged(key, element);
+                } else {
+                    observer.deliverAdded(key, element, previousKey);
+                }
+            }
+        });
+    }
+
+    public void removeCatalogChild(Node node, String key) {
+        if (node == Node.PRODUCTS) {
+            removeCatalogChild(Node.PRODUCT_SUMMARIES, key);
+        }
+        worker.execute(() -> {
+            if (catalog.get(node).remove(key) == null) return;
+            for (CatalogObserver<?> observer : catalogObservers.get(node)) {
+                observer.deliverRemoved(key);
+            }
+        });
+    }
+
+    // Cart
+
+    @Override
+    public Registration observeCart(String userId, DataCallback<List<CartItem>> observer) {
+        Observer<List<CartItem>> cartObserver = new Observer<>(observer);
+        worker.execute(() -> {
+            observersFor(cartObservers, userId).add(cartObserver);
+            List<CartItem> snapshot = copyCart(userId);
+            deliver(cartObserver, nextLatency(eventRandom), () -> observer.onSuccess(snapshot));
+        });
+        return () -> {
+            cartObserver.active = false;
+            worker.execute(() -> observersFor(cartObservers, userId).remove(cartObserver));
+        };
+    }
+
+    @Override
+    public void getCart(String userId, ReadPolicy policy, DataCallback<List<CartItem>> callback) {
+        request(callback, () -> copyCart(userId));
+    }
+
+    @Override
+    public void addToCart(String userId, CartItem item, int quantity, String mutationId, DataCallback<Void> callback) {
+        CartItem line = copyItem(item);
+        request(callback, () -> {
+            Set<String> applied = appliedMutations.get(userId);
+            if (applied == null) {
+                applied = new HashSet<>();
+                appliedMutations.put(userId, applied);
+            }
+            // Idempotency: a replayed mutation is acknowledged without applying it again
+            if (applied.contains(mutationId)) return null;
+
+            LinkedHashMap<String, CartItem> cart = cartFor(userId);
+            CartItem existing = cart.get(line.getProductId());
+            int newQuantity = (existing != null ? existing.getQuantity() : 0) + quantity;
+            if (newQuantity > MAX_QUANTITY_PER_LINE) {
+                throw new DataSourceException("Cannot add more items. Maximum "
+                    + MAX_QUANTITY_PER_LINE + " per product in cart.", false);
+            }
+
+            if (existing != null) {
+                existing.setQuantity(newQuantity);
+            } else {
+                line.setQuantity(newQuantity);
+                cart.put(line.getProductId(), line);
+            }
+            applied.add(mutationId);
+            notifyCartObservers(userId);
+            return null;
+        });
+    }
+
+    @Override
+    public void setQuantity(String userId, String productId, int quantity, DataCallback<Void> callback) {
+        request(callback, () -> {
+            CartItem existing = cartFor(userId).get(productId);
+            if (existing == null) {
+                throw new DataSourceException("Item is no longer in the cart", false);
+            }
+            existing.setQuantity(quantity);
+            notifyCartObservers(userId);
+            return null;
+        });
+    }
+
+    @Override
+    public void removeItem(String userId, String productId, DataCallback<Void> callback) {
+        request(callback, () -> {
+            if (cartFor(userId).remove(productId) != null) {
+                notifyCartObservers(userId);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void clearCart(String userId, DataCallback<Void> callback) {
+        request(callback, () -> {
+            cartFor(userId).clear();
+            notifyCartObservers(userId);
+            return null;
+        });
+    }
+
+    // Orders
+
+    @Override
+    public void placeOrder(String userId, Order order, DataCallback<Void> callback) {
+        String json = gson.toJson(order);
+        request(callback, () -> {
+            Order stored = gson.fromJson(json, Order.class);
+            // A replay of an order that already landed changes nothing, like the Firestore transaction
+            if (ordersFor(userId).containsKey(stored.getOrderId())) {
+                return null;
+            }
+            ordersFor(userId).put(stored.getOrderId(), stored);
+
+            // Only the ordered quantities leave the cart; anything added since stays
+            LinkedHashMap<String, CartItem> cart = cartFor(userId);
+            if (stored.getItems() != null) {
+                for (CartItem item : stored.getItems()) {
+                    CartItem line = cart.get(item.getProductId());
+                    if (line == null) continue;
+                    int remaining = line.getQuantity() - item.getQuantity();
+                    if (remaining > 0) {
+                        line.setQuantity(remaining);
+                    } else {
+                        cart.remove(item.getProductId());
+                    }
+                }
+            }
+            notifyCartObservers(userId);
+            notifyOrderObservers(userId);
+            return null;
+        });
+    }
+
+    @Override
+    public Registration observeOrders(String userId, DataCallback<List<Order>> observer) {
+        Observer<List<Order>> orderObserver = new Observer<>(observer);
+        worker.execute(() -> {
+            observersFor(orderObservers, userId).add(orderObserver);
+            List<Order> snapshot = copyOrders(userId);
+            deliver(orderObserver, nextLatency(eventRandom), () -> observer.onSuccess(snapshot));
+        });
+        return () -> {
+            orderObserver.active = false;
+            worker.execute(() -> observersFor(orderObservers, userId).remove(orderObserver));
+        };
+    }
+
+    @Override
+    public void getOrder(String userId, String orderId, ReadPolicy policy, DataCallback<Order> callback) {
+        request(callback, () -> {
+            Order order = ordersFor(userId).get(orderId);
+            return order != null ? gson.fromJson(gson.toJson(order), Order.class) : null;
+        });
+    }
+
+    // Request plumbing
+
+    private interface Operation<T> {
+        T apply() throws Exception;
+    }
+
+    /**
+     * Holder for an observer that can be detached while deliveries are still queued
+     */
+    private static class Observer<T> {
+        final DataCallback<T> callback;
+        volatile boolean active = true;
+        // Worker thread only
+        long lastDeliveryAt;
+
+        Observer(DataCallback<T> callback) {
+            this.callback = callback;
+        }
+    }
+
+    private class CatalogObserver<T> extends Observer<Void> {
+        final Class<T> type;
+        final ChildObserver<T> observer;
+
+        CatalogObserver(Class<T> type, ChildObserver<T> observer) {
+            super(null);
+            this.type = type;
+            this.observer = observer;
+        }
+
+        void deliverAdded(String key, JsonElement element, String previousKey) {
+            T item = gson.fromJson(element, type);
+            deliver(this, nextLatency(eventRandom), () -> observer.onChildAdded(key, item, previousKey));
+        }
+
+        void deliverChanged(String key, JsonElement element) {
+            T item = gson.fromJson(element, type);
+            deliver(this, nextLatency(eventRandom), () -> observer.onChildChanged(key, item));
+        }
+
+        void deliverRemoved(String key) {
+            deliver(this, nextLatency(eventRandom), () -> observer.onChildRemoved(key));
+        }
+    }
+
+    private <T> void request(DataCallback<T> callback, Operation<T> operation) {
+        // Decide latency and failure up front so outcomes depend only on the seed and call order
+        long latency = nextLatency(requestRandom);
+        boolean fail = nextFailure();
+        worker.execute(() -> {
+            if (fail) {
+                respond(latency, () -> callback.onFailure(
+                    new DataSourceException("Injected failure", true)));
+                return;
+            }
+            try {
+                T result = operation.apply();
+                respond(latency, () -> callback.onSuccess(result));
+            } catch (Exception e) {
+                respond(latency, () -> callback.onFailure(e));
+            }
+        });
+    }
+
+    private void respond(long latency, Runnable response) {
+        worker.schedule(() -> callbackExecutor.execute(response), latency, TimeUnit.MILLISECONDS);
+    }
+
+    private void deliver(Observer<?> observer, long latency, Runnable event) {
+        // Events to one observer never overtake each other, whatever latency they drew
+        long now = System.nanoTime();
+        long deliverAt = Math.max(now + TimeUnit.MILLISECONDS.toNanos(latency), observer.lastDeliveryAt);
+        observer.lastDeliveryAt = deliverAt;
+        worker.schedule(() -> callbackExecutor.execute(() -> {
+            if (observer.active) event.run();
+        }), deliverAt - now, TimeUnit.NANOSECONDS);
+    }
+
+    private long nextLatency(Random random) {
+        synchronized (random) {
+            long range = maxLatencyMs - minLatencyMs;
+            return minLatencyMs + (range > 0 ? (long) (random.nextDouble() * (range + 1)) : 0);
+        }
+    }
+
+    private boolean nextFailure() {
+        synchronized (requestRandom) {
+            return failureRate > 0 && requestRandom.nextDouble() < failureRate;
+        }
+    }
+
+    // State helpers (worker thread)
+
+    private LinkedHashMap<String, JsonElement> readNode(JsonElement node) {
+        LinkedHashMap<String, JsonElement> children = new LinkedHashMap<>();
+        if (node == null || node.isJsonNull()) return children;
+
+        if (node.isJsonArray()) {
+            // Arrays are stored by index, matching how the Realtime Database keys them
+            JsonArray array = node.getAsJsonArray();
+            for (int i = 0; i < array.size(); i++) {
+                if (!array.get(i).isJsonNull()) {
+                    children.put(String.valueOf(i), array.get(i));
+                }
+            }
+        } else if (node.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> child : node.getAsJsonObject().entrySet()) {
+                children.put(child.getKey(), child.getValue());
+            }
+        }
+        return children;
+    }
+
+    private LinkedHashMap<String, JsonElement> summarize(LinkedHashMap<String, JsonElement> products) {
+        LinkedHashMap<String, JsonElement> summaries = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> child : products.entrySet()) {
+            Product summary = gson.fromJson(child.getValue(), Product.class).toSummary();
+            summaries.put(child.getKey(), gson.toJsonTree(summary));
+        }
+        return summaries;
+    }
+
+    private String lastKey(LinkedHashMap<String, JsonElement> children) {
+        String last = null;
+        for (String key : children.keySet()) {
+            last = key;
+        }
+        return last;
+    }
+
+    private LinkedHashMap<String, CartItem> cartFor(String userId) {
+        LinkedHashMap<String, CartItem> cart = carts.get(userId);
+        if (cart == null) {
+            cart = new LinkedHashMap<>();
+            carts.put(userId, cart);
+        }
+        return cart;
+    }
+
+    private LinkedHashMap<String, Order> ordersFor(String userId) {
+        LinkedHashMap<String, Order> userOrders = orders.get(userId);
+        if (userOrders == null) {
+            userOrders = new LinkedHashMap<>();
+            orders.put(userId, userOrders);
+        }
+        return userOrders;
+    }
+
+    private <T> List<Observer<T>> observersFor(Map<String, List<Observer<T>>> observers, String userId) {
+        List<Observer<T>> list = observers.get(userId);
+        if (list == null) {
+            list = new ArrayList<>();
+            observers.put(userId, list);
+        }
+        return list;
+    }
+
+    private List<CartItem> copyCart(String userId) {
+        List<CartItem> items = new ArrayList<>();
+        for (CartItem item : cartFor(userId).values()) {
+            items.add(copyItem(item));
+        }
+        return items;
+    }
+
+    private List<Order> copyOrders(String userId) {
+        List<Order> copies = new ArrayList<>();
+        for (Order order : ordersFor(userId).values()) {
+            copies.add(gson.fromJson(gson.toJson(order), Order.class));
+        }
+        // Newest first, like the orderDate query on Firestore
+        copies.sort((a, b) -> String.valueOf(b.getOrderDate()).compareTo(String.valueOf(a.getOrderDate())));
+        return copies;
+    }
+
+    private CartItem copyItem(CartItem item) {
+        return new CartItem(item.getProductId(), item.getTitle(), item.getPrice(), item.getImageUrl(),
+            item.getQuantity(), item.getSelectedSize(), item.getSelectedColor());
+    }
+
+    private void notifyCartObservers(String userId) {
+        for (Observer<List<CartItem>> observer : observersFor(cartObservers, userId)) {
+            List<CartItem> snapshot = copyCart(userId);
+            deliver(observer, nextLatency(eventRandom), () -> observer.callback.onSuccess(snapshot));
+        }
+    }
+
+    private void notifyOrderObservers(String userId) {
+        for (Observer<List<Order>> observer : observersFor(orderObservers, userId)) {
+            List<Order> snapshot = copyOrders(userId);
+            deliver(observer, nextLatency(eventRandom), () -> observer.callback.onSuccess(snapshot));
+        }
+    }
+}
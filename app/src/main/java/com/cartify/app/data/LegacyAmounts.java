@@ -0,0 +1,66 @@
+package com.cartify.app.data;
+
+import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Money;
+import com.cartify.app.models.Order;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills in amounts for Firestore documents written before cart and order amounts moved to
+ * cents. The object mapper only sets properties the models expose through a getter, and the
+ * old decimal "price" and "totalAmount" no longer are, so they are read from the raw document
+ * data here. Documents that already carry the cents fields are left alone.
+ */
+public final class LegacyAmounts {
+
+    static final String FIELD_PRICE = "price";
+    static final String FIELD_PRICE_CENTS = "priceCents";
+    static final String FIELD_TOTAL_AMOUNT = "totalAmount";
+    static final String FIELD_TOTAL_AMOUNT_CENTS = "totalAmountCents";
+    static final String FIELD_ITEMS = "items";
+
+    private LegacyAmounts() {}
+
+    /**
+     * Sets the price from a legacy decimal field if the document has no cents field
+     * @param item the document mapped with toObject, may be null
+     * @param data the document's raw fields
+     */
+    public static CartItem cartItem(CartItem item, Map<String, Object> data) {
+        if (item == null || data == null || data.containsKey(FIELD_PRICE_CENTS)) return item;
+        Object price = data.get(FIELD_PRICE);
+        if (price instanceof Number) {
+            item.setPriceCents(Money.toMinorUnits(((Number) price).doubleValue()));
+        }
+        return item;
+    }
+
+    /**
+     * Same for an order's total and the items nested in it
+     */
+    public static Order order(Order order, Map<String, Object> data) {
+        if (order == null || data == null) return order;
+        if (!data.containsKey(FIELD_TOTAL_AMOUNT_CENTS)) {
+            Object total = data.get(FIELD_TOTAL_AMOUNT);
+            if (total instanceof Number) {
+                order.setTotalAmountCents(Money.toMinorUnits(((Number) total).doubleValue()));
+            }
+        }
+
+        Object rawItems = data.get(FIELD_ITEMS);
+        List<CartItem> items = order.getItems();
+        if (rawItems instanceof List && items != null) {
+            List<?> itemData = (List<?>) rawItems;
+            for (int i = 0; i < Math.min(items.size(), itemData.size()); i++) {
+                if (itemData.get(i) instanceof Map) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> fields = (Map<String, Object>) itemData.get(i);
+                    cartItem(items.get(i), fields);
+                }
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,27 @@
+package com.cartify.app.data;
+
+import com.cartify.app.models.Order;
+
+import java.util.List;
+
+/**
+ * Access to a user's orders
+ */
+public interface OrderDataSource {
+
+    /**
+     * Writes the order and takes the ordered quantities out of the cart in one atomic step.
+     * The order ID doubles as the idempotency key: once the order exists, a replay does nothing.
+     */
+    void placeOrder(String userId, Order order, DataCallback<Void> callback);
+
+    /**
+     * Observes the user's orders, newest first
+     */
+    Registration observeOrders(String userId, DataCallback<List<Order>> observer);
+
+    /**
+     * Loads a single order; the result is null if it doesn't exist
+     */
+    void getOrder(String userId, String orderId, ReadPolicy policy, DataCallback<Order> callback);
+}
@@ -0,0 +1,72 @@
+package com.cartify.app.data;
+
+import com.cartify.app.models.Banner;
+import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Category;
+import com.cartify.app.models.Order;
+import com.cartify.app.models.Product;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Cheap estimate of how many bytes a result carries over the wire, from its string
+ * lengths plus a fixed size per number. Close enough to compare operations without
+ * serializing anything on the hot path.
+ */
+final class PayloadSizes {
+
+    private static final int NUMBER_BYTES = 8;
+
+    private PayloadSizes() {}
+
+    static long of(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Collection) {
+            long size = 0;
+            for (Object element : (Collection<?>) value) {
+                size += of(element);
+            }
+            return size;
+        }
+        if (value instanceof Map) {
+            long size = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += of(entry.getKey()) + of(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof CartItem) {
+            CartItem item = (CartItem) value;
+            return length(item.getProductId()) + length(item.getTitle()) + length(item.getImageUrl())
+                + length(item.getSelectedSize()) + length(item.getSelectedColor()) + 2 * NUMBER_BYTES;
+        }
+        if (value instanceof Product) {
+            Product product = (Product) value;
+            return length(product.getId()) + length(product.getTitle()) + length(product.getDescription())
+                + of(product.getPicUrl()) + of(product.getSize()) + of(product.getColor()) + 4 * NUMBER_BYTES;
+        }
+        if (value instanceof Order) {
+            Order order = (Order) value;
+            return length(order.getOrderId()) + length(order.getUserId()) + length(order.getOrderDate())
+                + length(order.getStatus()) + length(order.getDeliveryAddress()) + of(order.getItems())
+                + NUMBER_BYTES;
+        }
+        if (value instanceof Category) {
+            return length(((Category) value).getTitle()) + NUMBER_BYTES;
+        }
+        if (value instanceof Banner) {
+            return length(((Banner) value).getUrl());
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+        return NUMBER_BYTES;
+    }
+
+    private static long length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.cartify.app.data;
+
+/**
+ * Where a read may be answered from
+ */
+public enum ReadPolicy {
+    // Local cache if it has the data, server otherwise
+    CACHE_FIRST,
+    // Server, falling back to the cache when offline
+    SERVER_FIRST,
+    // Local cache only, never touches the network
+    CACHE_ONLY
+}
@@ -0,0 +1,8 @@
+package com.cartify.app.data;
+
+/**
+ * Handle for an active observer; remove() stops further updates
+ */
+public interface Registration {
+    void remove();
+}
@@ -0,0 +1,204 @@
+package com.cartify.app.data;
+
+import android.os.SystemClock;
+
+import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Order;
+import com.cartify.app.models.Product;
+import com.cartify.app.utils.PerfTracer;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Wraps the active data sources and times every call through PerfTracer.
+ * One-shot calls are timed from request to result. Observers are timed to their
+ * initial load, and every later update records how long the listener took to run.
+ */
+public class TracedDataSource implements CatalogDataSource, CartDataSource, OrderDataSource {
+
+    private final CatalogDataSource catalog;
+    private final CartDataSource cart;
+    private final OrderDataSource orders;
+    private final PerfTracer tracer;
+
+    public TracedDataSource(CatalogDataSource catalog, CartDataSource cart, OrderDataSource orders,
+                            PerfTracer tracer) {
+        this.catalog = catalog;
+        this.cart = cart;
+        this.orders = orders;
+        this.tracer = tracer;
+    }
+
+    // Catalog
+
+    @Override
+    public <T> Registration observeChildren(Node node, Class<T> type, ChildObserver<T> observer) {
+        String operation = "catalog." + node.name().toLowerCase(Locale.US);
+        PerfTracer.Span initialLoad = tracer.start(operation + ".initialLoad");
+
+        return catalog.observeChildren(node, type, new ChildObserver<T>() {
+            private boolean loaded;
+            private long initialPayload;
+
+            @Override
+            public void onChildAdded(String key, T item, String previousKey) {
+                long started = SystemClock.elapsedRealtimeNanos();
+                observer.onChildAdded(key, item, previousKey);
+                childEvent(started, PayloadSizes.of(item));
+            }
+
+            @Override
+            public void onChildChanged(String key, T item) {
+                long started = SystemClock.elapsedRealtimeNanos();
+                observer.onChildChanged(key, item);
+                childEvent(started, PayloadSizes.of(item));
+            }
+
+            @Override
+            public void onChildRemoved(String key) {
+                long started = SystemClock.elapsedRealtimeNanos();
+                observer.onChildRemoved(key);
+                childEvent(started, key.length());
+            }
+
+            @Override
+            public void onChildMoved(String key, String previousKey) {
+                long started = SystemClock.elapsedRealtimeNanos();
+                observer.onChildMoved(key, previousKey);
+                childEvent(started, key.length());
+            }
+
+            @Override
+            public void onInitialLoadComplete() {
+                loaded = true;
+                initialLoad.finish(true, initialPayload);
+                observer.onInitialLoadComplete();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                initialLoad.finish(false, 0);
+                observer.onError(errorMessage);
+            }
+
+            private void childEvent(long startedNanos, long payloadBytes) {
+                if (loaded) {
+                    tracer.record(operation + ".update", elapsedMicros(startedNanos), payloadBytes);
+                } else {
+                    // Part of the initial load; counted once when it completes
+                    initialPayload += payloadBytes;
+                }
+            }
+        });
+    }
+
+    @Override
+    public void getProduct(String productId, DataCallback<Product> callback) {
+        catalog.getProduct(productId, traced("catalog.getProduct", callback));
+    }
+
+    @Override
+    public void getProductDescriptions(DataCallback<Map<String, String>> callback) {
+        catalog.getProductDescriptions(traced("catalog.getProductDescriptions", callback));
+    }
+
+    // Cart
+
+    @Override
+    public Registration observeCart(String userId, DataCallback<List<CartItem>> observer) {
+        return cart.observeCart(userId, observed("cart.observeCart", observer));
+    }
+
+    @Override
+    public void getCart(String userId, ReadPolicy policy, DataCallback<List<CartItem>> callback) {
+        cart.getCart(userId, policy, traced("cart.getCart." + policy.name().toLowerCase(Locale.US), callback));
+    }
+
+    @Override
+    public void addToCart(String userId, CartItem item, int quantity, String mutationId, DataCallback<Void> callback) {
+        cart.addToCart(userId, item, quantity, mutationId, traced("cart.addToCart", callback));
+    }
+
+    @Override
+    public void setQuantity(String userId, String productId, int quantity, DataCallback<Void> callback) {
+        cart.setQuantity(userId, productId, quantity, traced("cart.setQuantity", callback));
+    }
+
+    @Override
+    public void removeItem(String userId, String productId, DataCallback<Void> callback) {
+        cart.removeItem(userId, productId, traced("cart.removeItem", callback));
+    }
+
+    @Override
+    public void clearCart(String userId, DataCallback<Void> callback) {
+        cart.clearCart(userId, traced("cart.clearCart", callback));
+    }
+
+    // Orders
+
+    @Override
+    public void placeOrder(String userId, Order order, DataCallback<Void> callback) {
+        orders.placeOrder(userId, order, traced("orders.placeOrder", callback));
+    }
+
+    @Override
+    public Registration observeOrders(String userId, DataCallback<List<Order>> observer) {
+        return orders.observeOrders(userId, observed("orders.observeOrders", observer));
+    }
+
+    @Override
+    public void getOrder(String userId, String orderId, ReadPolicy policy, DataCallback<Order> callback) {
+        orders.getOrder(userId, orderId, policy,
+            traced("orders.getOrder." + policy.name().toLowerCase(Locale.US), callback));
+    }
+
+    private <T> DataCallback<T> traced(String operation, DataCallback<T> callback) {
+        PerfTracer.Span span = tracer.start(operation);
+        return new DataCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                span.finish(true, PayloadSizes.of(result));
+                callback.onSuccess(result);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                span.finish(false, 0);
+                callback.onFailure(e);
+            }
+        };
+    }
+
+    private <T> DataCallback<T> observed(String operation, DataCallback<T> observer) {
+        PerfTracer.Span initialLoad = tracer.start(operation + ".initialLoad");
+        return new DataCallback<T>() {
+            private boolean loaded;
+
+            @Override
+            public void onSuccess(T result) {
+                long payloadBytes = PayloadSizes.of(result);
+                if (!loaded) {
+                    loaded = true;
+                    initialLoad.finish(true, payloadBytes);
+                    observer.onSuccess(result);
+                    return;
+                }
+                long started = SystemClock.elapsedRealtimeNanos();
+                observer.onSuccess(result);
+                tracer.record(operation + ".update", elapsedMicros(started), payloadBytes);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                initialLoad.finish(false, 0);
+                observer.onFailure(e);
+            }
+        };
+    }
+
+    private static long elapsedMicros(long startedNanos) {
+        return (SystemClock.elapsedRealtimeNanos() - startedNanos) / 1000;
+    }
+}
@@ -0,0 +1,149 @@
+package com.cartify.app.models;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Interns product attribute lists such as sizes and colors.
+ * Catalogs reuse a handful of size sets and color palettes across thousands of products, but
+ * deserialization gives every product its own ArrayList of its own Strings. A pool maps each
+ * distinct value to a small code and each distinct list to one shared, immutable list of codes,
+ * so a product only holds a reference. Interning is thread-safe; the lists are read without locks.
+ */
+public final class AttributePool {
+
+    public static final AttributePool SIZES = new AttributePool();
+    public static final AttributePool COLORS = new AttributePool();
+
+    // Codes are stored as chars
+    private static final int MAX_VALUES = Character.MAX_VALUE + 1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    // Code -> value, append-only; grown by copying
+    private volatile String[] values = new String[16];
+    private int valueCount;
+    private final Map<CodedList, CodedList> lists = new HashMap<>();
+
+    /**
+     * The shared immutable list equal to the given one. Lists that don't fit the pool
+     * (null entries, too many distinct values) come back as a plain immutable copy.
+     */
+    public synchronized List<String> intern(List<String> list) {
+        if (list == null) return null;
+        if (list instanceof CodedList && ((CodedList) list).pool == this) return list;
+        if (list.isEmpty()) return Collections.emptyList();
+
+        char[] listCodes = new char[list.size()];
+        for (int i = 0; i < listCodes.length; i++) {
+            String value = list.get(i);
+            if (value == null) return compact(list);
+            Integer code = codes.get(value);
+            if (code == null) {
+                if (valueCount == MAX_VALUES) return compact(list);
+                code = addValue(value);
+            }
+            listCodes[i] = (char) code.intValue();
+        }
+
+        CodedList candidate = new CodedList(this, listCodes);
+        CodedList existing = lists.get(candidate);
+        if (existing != null) return existing;
+        lists.put(candidate, candidate);
+        return candidate;
+    }
+
+    /**
+     * Number of distinct values seen
+     */
+    public synchronized int valueCount() {
+        return valueCount;
+    }
+
+    /**
+     * Number of distinct lists interned
+     */
+    public synchronized int listCount() {
+        return lists.size();
+    }
+
+    /**
+     * An immutable copy sized to its contents, for lists that aren't worth interning
+     * (e.g. image URLs, which are unique per product)
+     */
+    public static List<String> compact(List<String> list) {
+        if (list == null) return null;
+        switch (list.size()) {
+            case 0:
+                return Collections.emptyList();
+            case 1:
+                return Collections.singletonList(list.get(0));
+            default:
+                return Collections.unmodifiableList(Arrays.asList(list.toArray(new String[0])));
+        }
+    }
+
+    private int addValue(String value) {
+        int code = valueCount++;
+        String[] current = values;
+        if (code == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        // Written before any list using the code is handed out, so readers always see it
+        current[code] = value;
+        values = current;
+        codes.put(value, code);
+        return code;
+    }
+
+    private String valueAt(char code) {
+        return values[code];
+    }
+
+    /**
+     * Immutable list of pooled values, stored as one char code per entry
+     */
+    private static final class CodedList extends AbstractList<String> implements RandomAccess {
+        private final AttributePool pool;
+        private final char[] codes;
+        private final int hash;
+
+        CodedList(AttributePool pool, char[] codes) {
+            this.pool = pool;
+            this.codes = codes;
+            int h = 1;
+            for (char code : codes) {
+                h = 31 * h + pool.valueAt(code).hashCode();
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public String get(int index) {
+            return pool.valueAt(codes[index]);
+        }
+
+        @Override
+        public int size() {
+            return codes.length;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o instanceof CodedList && ((CodedList) o).pool == pool) {
+                return Arrays.equals(codes, ((CodedList) o).codes);
+            }
+            return super.equals(o);
+        }
+    }
+}
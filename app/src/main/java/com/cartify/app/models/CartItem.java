@@ -1,12 +1,20 @@
 package com.cartify.app.models;
 
+import com.google.firebase.firestore.Exclude;
+import com.google.gson.annotations.SerializedName;
+
 /**
- * CartItem model class representing items in user's shopping cart
+ * CartItem model class representing items in user's shopping cart.
+ * The price is kept in cents (see Money). Cached carts that still carry the older decimal
+ * "price" field are converted on first use; Firestore documents are handled by LegacyAmounts.
  */
 public class CartItem {
     private String productId;
     private String title;
-    private double price;
+    private long priceCents;
+    // Only set when reading older local JSON; never written
+    @SerializedName("price")
+    private Double legacyPrice;
     private String imageUrl;
     private int quantity;
     private String selectedSize;
@@ -19,7 +27,7 @@ public class CartItem {
                     int quantity, String selectedSize, String selectedColor) {
         this.productId = productId;
         this.title = title;
-        this.price = price;
+        this.priceCents = Money.toMinorUnits(price);
         this.imageUrl = imageUrl;
         this.quantity = quantity;
         this.selectedSize = selectedSize;
@@ -33,8 +41,22 @@ public class CartItem {
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
 
-    public double getPrice() { return price; }
-    public void setPrice(double price) { this.price = price; }
+    public long getPriceCents() {
+        if (legacyPrice != null) {
+            priceCents = Money.toMinorUnits(legacyPrice);
+            legacyPrice = null;
+        }
+        return priceCents;
+    }
+    public void setPriceCents(long priceCents) {
+        this.priceCents = priceCents;
+        this.legacyPrice = null;
+    }
+
+    // Decimal view of the price, for display and code working in decimals; never written
+    @Exclude
+    public double getPrice() { return Money.toMajorUnits(getPriceCents()); }
+    public void setPrice(double price) { setPriceCents(Money.toMinorUnits(price)); }
 
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
@@ -48,7 +70,13 @@ public class CartItem {
     public String getSelectedColor() { return selectedColor; }
     public void setSelectedColor(String selectedColor) { this.selectedColor = selectedColor; }
 
+    @Exclude
+    public long getTotalPriceCents() {
+        return Money.lineTotal(getPriceCents(), quantity);
+    }
+
+    @Exclude
     public double getTotalPrice() {
-        return price * quantity;
+        return Money.toMajorUnits(getTotalPriceCents());
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.cartify.app.models;
+
+/**
+ * Exact monetary amounts as a whole number of minor units (hundredths, i.e. cents).
+ * Cart and order amounts are stored this way so totals add up exactly; doubles only appear
+ * at the edges (catalog prices, legacy documents, display). Every amount in the app is in
+ * CURRENCY_CODE: the catalog has one currency and there are no conversion rates, so no
+ * currency is stored alongside amounts. The helpers work on raw minor units and allocate
+ * nothing, for use in loops.
+ */
+public final class Money {
+
+    public static final String CURRENCY_CODE = "USD";
+    public static final int MINOR_UNITS_PER_MAJOR = 100;
+
+    private Money() {}
+
+    /**
+     * Rounds a decimal amount (e.g. 35.5) to minor units (3550), half away from zero
+     */
+    public static long toMinorUnits(double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            throw new ArithmeticException("Not a finite amount: " + amount);
+        }
+        double scaled = amount * MINOR_UNITS_PER_MAJOR;
+        return (long) (scaled < 0 ? -Math.floor(-scaled + 0.5) : Math.floor(scaled + 0.5));
+    }
+
+    public static double toMajorUnits(long minorUnits) {
+        return minorUnits / (double) MINOR_UNITS_PER_MAJOR;
+    }
+
+    /**
+     * Unit price times quantity; throws on overflow instead of wrapping
+     */
+    public static long lineTotal(long unitMinorUnits, int quantity) {
+        return Math.multiplyExact(unitMinorUnits, (long) quantity);
+    }
+
+    /**
+     * Sum of two amounts; throws on overflow instead of wrapping
+     */
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+}
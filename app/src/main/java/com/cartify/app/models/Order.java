@@ -1,15 +1,23 @@
 package com.cartify.app.models;
 
+import com.google.firebase.firestore.Exclude;
+import com.google.gson.annotations.SerializedName;
+
 import java.util.List;
 
 /**
- * Order model class representing user orders
+ * Order model class representing user orders.
+ * The total is kept in cents (see Money). Cached orders with a decimal "totalAmount" are
+ * converted on first use; Firestore documents are handled by LegacyAmounts.
  */
 public class Order {
     private String orderId;
     private String userId;
     private List<CartItem> items;
-    private double totalAmount;
+    private long totalAmountCents;
+    // Only set when reading older local JSON; never written
+    @SerializedName("totalAmount")
+    private Double legacyTotalAmount;
     private String orderDate;
     private String status;
     private String deliveryAddress;
@@ -18,11 +26,11 @@ public class Order {
     public Order() {}
 
     public Order(String orderId, String userId, List<CartItem> items, 
-                 double totalAmount, String orderDate, String status, String deliveryAddress) {
+                 long totalAmountCents, String orderDate, String status, String deliveryAddress) {
         this.orderId = orderId;
         this.userId = userId;
         this.items = items;
-        this.totalAmount = totalAmount;
+        this.totalAmountCents = totalAmountCents;
         this.orderDate = orderDate;
         this.status = status;
         this.deliveryAddress = deliveryAddress;
@@ -38,8 +46,22 @@ public class Order {
     public List<CartItem> getItems() { return items; }
     public void setItems(List<CartItem> items) { this.items = items; }
 
-    public double getTotalAmount() { return totalAmount; }
-    public void setTotalAmount(double totalAmount) { this.totalAmount = totalAmount; }
+    public long getTotalAmountCents() {
+        if (legacyTotalAmount != null) {
+            totalAmountCents = Money.toMinorUnits(legacyTotalAmount);
+            legacyTotalAmount = null;
+        }
+        return totalAmountCents;
+    }
+    public void setTotalAmountCents(long totalAmountCents) {
+        this.totalAmountCents = totalAmountCents;
+        this.legacyTotalAmount = null;
+    }
+
+    // Decimal view of the total, for display and code working in decimals; never written
+    @Exclude
+    public double getTotalAmount() { return Money.toMajorUnits(getTotalAmountCents()); }
+    public void setTotalAmount(double totalAmount) { setTotalAmountCents(Money.toMinorUnits(totalAmount)); }
 
     public String getOrderDate() { return orderDate; }
     public void setOrderDate(String orderDate) { this.orderDate = orderDate; }
@@ -1,9 +1,14 @@
 package com.cartify.app.models;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
- * Product model class representing items in the e-commerce app
+ * Product model class representing items in the e-commerce app.
+ * The same class carries both the full detail payload (Items node) and the slim list
+ * projection (ItemSummaries node), which only has what the product grid shows.
+ * Sizes and colors are interned through AttributePool and image URLs are stored as compact
+ * immutable lists, so a large catalog doesn't carry one ArrayList per attribute per product.
  */
 public class Product {
     private String id;
@@ -30,9 +35,9 @@ public class Product {
         this.oldPrice = oldPrice;
         this.rating = rating;
         this.review = review;
-        this.picUrl = picUrl;
-        this.size = size;
-        this.color = color;
+        this.picUrl = AttributePool.compact(picUrl);
+        this.size = AttributePool.SIZES.intern(size);
+        this.color = AttributePool.COLORS.intern(color);
     }
 
     // Getters and Setters
@@ -58,11 +63,34 @@ public class Product {
     public void setReview(int review) { this.review = review; }
 
     public List<String> getPicUrl() { return picUrl; }
-    public void setPicUrl(List<String> picUrl) { this.picUrl = picUrl; }
+    public void setPicUrl(List<String> picUrl) { this.picUrl = AttributePool.compact(picUrl); }
 
     public List<String> getSize() { return size; }
-    public void setSize(List<String> size) { this.size = size; }
+    public void setSize(List<String> size) { this.size = AttributePool.SIZES.intern(size); }
 
     public List<String> getColor() { return color; }
-    public void setColor(List<String> color) { this.color = color; }
+    public void setColor(List<String> color) { this.color = AttributePool.COLORS.intern(color); }
+
+    /**
+     * The list projection of this product: title, prices, rating and the first image, size and
+     * color (the defaults for a quick add to cart). Description and the remaining images, sizes
+     * and colors only live in the detail payload.
+     */
+    public Product toSummary() {
+        return new Product(id, title, null, price, oldPrice, rating, review,
+            first(picUrl), first(size), first(color));
+    }
+
+    private static List<String> first(List<String> values) {
+        return values != null && !values.isEmpty() ? Collections.singletonList(values.get(0)) : values;
+    }
+
+    /**
+     * Interns lists that were filled in without the setters (e.g. by Gson, which writes fields)
+     */
+    public void compactAttributes() {
+        setPicUrl(picUrl);
+        setSize(size);
+        setColor(color);
+    }
 }
\ No newline at end of file
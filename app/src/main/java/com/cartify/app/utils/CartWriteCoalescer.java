@@ -0,0 +1,146 @@
+package com.cartify.app.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.cartify.app.models.CartItem;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Coalesces rapid add-to-cart taps into a single write per cart line.
+ * Taps within a short window accumulate into one delta that is flushed as a single
+ * atomic increment through the MutationOutbox. Every window is enqueued as soon as it
+ * closes, so taps are persisted even while an earlier write is still pending; the outbox
+ * merges consecutive adds for a line that are still waiting to be sent.
+ */
+public class CartWriteCoalescer {
+
+    private static final long COALESCE_WINDOW_MS = 400;
+
+    /**
+     * Receives updates about accumulated and flushed quantities (main thread)
+     */
+    public interface Listener {
+        void onPendingQuantityChanged(String productId, int pendingQuantity);
+        void onFlushed(String productId, int quantity);
+        void onFlushFailed(String productId, String errorMessage);
+    }
+
+    /**
+     * Accumulated state for one cart line
+     */
+    private static class LineState {
+        final String userId;
+        final CartItem template;
+        int accumulated;
+        // Enqueued but not yet confirmed by the outbox
+        int unconfirmed;
+        boolean flushScheduled;
+
+        LineState(String userId, CartItem template) {
+            this.userId = userId;
+            this.template = template;
+        }
+    }
+
+    private final MutationOutbox outbox;
+    private final Listener listener;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Map<String, LineState> lines = new HashMap<>();
+
+    public CartWriteCoalescer(MutationOutbox outbox, Listener listener) {
+        this.outbox = outbox;
+        this.listener = listener;
+    }
+
+    /**
+     * Records a tap. The template supplies the line's fields if the write has to create it.
+     */
+    public void add(String userId, CartItem template, int delta) {
+        String productId = template.getProductId();
+        LineState line = lines.get(productId);
+        if (line == null) {
+            line = new LineState(userId, template);
+            lines.put(productId, line);
+        }
+
+        line.accumulated += delta;
+        listener.onPendingQuantityChanged(productId, getPendingQuantity(productId));
+
+        // The window starts at the first tap, so a steady stream of taps still flushes regularly
+        if (!line.flushScheduled) {
+            line.flushScheduled = true;
+            handler.postDelayed(() -> flush(productId), COALESCE_WINDOW_MS);
+        }
+    }
+
+    /**
+     * Quantity the UI should show as added but not yet confirmed for a line
+     */
+    public int getPendingQuantity(String productId) {
+        LineState line = lines.get(productId);
+        return line != null ? line.accumulated + line.unconfirmed : 0;
+    }
+
+    /**
+     * Sends everything accumulated so far without waiting for the window to close
+     */
+    public void flushAll() {
+        for (String productId : lines.keySet().toArray(new String[0])) {
+            flush(productId);
+        }
+    }
+
+    private void flush(String productId) {
+        LineState line = lines.get(productId);
+        if (line == null) return;
+        line.flushScheduled = false;
+        if (line.accumulated == 0) return;
+
+        int quantity = line.accumulated;
+        line.accumulated = 0;
+        line.unconfirmed += quantity;
+
+        CartItem cartItem = new CartItem(
+            line.template.getProductId(),
+            line.template.getTitle(),
+            line.template.getPrice(),
+            line.template.getImageUrl(),
+            quantity,
+            line.template.getSelectedSize(),
+            line.template.getSelectedColor()
+        );
+
+        outbox.enqueueAddToCart(line.userId, cartItem, new MutationOutbox.Callback() {
+            @Override
+            public void onApplied() {
+                onWriteFinished(productId, quantity);
+                listener.onFlushed(productId, quantity);
+            }
+
+            @Override
+            public void onDeferred() {
+                // Still counted as pending; the outbox keeps retrying
+            }
+
+            @Override
+            public void onFailed(String errorMessage) {
+                onWriteFinished(productId, quantity);
+                listener.onFlushFailed(productId, errorMessage);
+            }
+        });
+    }
+
+    private void onWriteFinished(String productId, int quantity) {
+        LineState line = lines.get(productId);
+        if (line == null) return;
+        line.unconfirmed -= quantity;
+
+        if (line.unconfirmed == 0 && line.accumulated == 0 && !line.flushScheduled) {
+            lines.remove(productId);
+        }
+        listener.onPendingQuantityChanged(productId, getPendingQuantity(productId));
+    }
+}
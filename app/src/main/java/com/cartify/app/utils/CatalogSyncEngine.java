@@ -0,0 +1,408 @@
+package com.cartify.app.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.cartify.app.data.CatalogDataSource;
+import com.cartify.app.data.DataSources;
+import com.cartify.app.data.Registration;
+import com.cartify.app.models.Banner;
+import com.cartify.app.models.Category;
+import com.cartify.app.models.Product;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental sync engine for the catalog (Realtime Database or any CatalogDataSource).
+ * Each node (ItemSummaries, Category, Banner) is kept in memory and patched by key from
+ * child added/changed/removed/moved events, so a single backend edit only touches
+ * the affected entry. Subscribers receive fine-grained change sets instead of the
+ * whole node. Positions by key are only refreshed from the first edited position on, when
+ * a lookup needs one past it: appends and edits near the end stay cheap, while an edit near
+ * the front of a large node costs one pass over the entries after it (the lists shift that
+ * far anyway).
+ */
+public class CatalogSyncEngine {
+
+    // Keeps the listeners attached across activity transitions
+    private static final long DETACH_DELAY_MS = 30000;
+
+    private static CatalogSyncEngine instance;
+
+    private final Node<Product> products;
+    private final Node<Category> categories;
+    private final Node<Banner> banners;
+
+    private CatalogSyncEngine() {
+        // List screens only need the slim projection; details are loaded per product
+        products = new Node<>(CatalogDataSource.Node.PRODUCT_SUMMARIES, Product.class, (product, key) -> {
+            product.setId(key);
+            // Share size and color lists across the catalog, whichever deserializer built the item
+            product.compactAttributes();
+        });
+        categories = new Node<>(CatalogDataSource.Node.CATEGORIES, Category.class, null);
+        banners = new Node<>(CatalogDataSource.Node.BANNERS, Banner.class, null);
+    }
+
+    public static synchronized CatalogSyncEngine getInstance() {
+        if (instance == null) {
+            instance = new CatalogSyncEngine();
+        }
+        return instance;
+    }
+
+    public Node<Product> products() {
+        return products;
+    }
+
+    public Node<Category> categories() {
+        return categories;
+    }
+
+    public Node<Banner> banners() {
+        return banners;
+    }
+
+    /**
+     * Returns the synced product summary for an id, or null if the catalog isn't loaded.
+     * Summaries have no description and only the first image, size and color.
+     */
+    public Product getProduct(String productId) {
+        return products.get(productId);
+    }
+
+    /**
+     * Receives change sets for one catalog node (main thread)
+     */
+    public interface Listener<T> {
+        void onCatalogChanged(List<T> items, ChangeSet<T> changes);
+        void onSyncError(String errorMessage);
+    }
+
+    /**
+     * Binds the database key onto a deserialized item
+     */
+    public interface KeyBinder<T> {
+        void bind(T item, String key);
+    }
+
+    /**
+     * A single positional change, in the order it was applied
+     */
+    public static class Change<T> {
+        public enum Type { ADDED, CHANGED, REMOVED, MOVED }
+
+        public final Type type;
+        public final String key;
+        public final T item;
+        public final int position;
+        public final int fromPosition;
+
+        Change(Type type, String key, T item, int position, int fromPosition) {
+            this.type = type;
+            this.key = key;
+            this.item = item;
+            this.position = position;
+            this.fromPosition = fromPosition;
+        }
+    }
+
+    /**
+     * Batch of changes delivered together. A full reload means the listener should
+     * take the item list as-is instead of replaying the individual changes.
+     */
+    public static class ChangeSet<T> {
+        private final boolean fullReload;
+        private final List<Change<T>> changes;
+
+        ChangeSet(boolean fullReload, List<Change<T>> changes) {
+            this.fullReload = fullReload;
+            this.changes = changes;
+        }
+
+        public boolean isFullReload() {
+            return fullReload;
+        }
+
+        public List<Change<T>> getChanges() {
+            return changes;
+        }
+
+        /**
+         * Replays the changes onto a list that mirrors the node's items
+         */
+        public void applyTo(List<T> mirror, List<T> items) {
+            if (fullReload) {
+                mirror.clear();
+                mirror.addAll(items);
+                return;
+            }
+            for (Change<T> change : changes) {
+                switch (change.type) {
+                    case ADDED:
+                        mirror.add(change.position, change.item);
+                        break;
+                    case CHANGED:
+                        mirror.set(change.position, change.item);
+                        break;
+                    case REMOVED:
+                        mirror.remove(change.position);
+                        break;
+                    case MOVED:
+                        mirror.remove(change.fromPosition);
+                        mirror.add(change.position, change.item);
+                        break;
+                }
+            }
+        }
+
+        /**
+         * Sends matching notify calls to an adapter bound to a mirrored list
+         */
+        public void dispatchTo(RecyclerView.Adapter<?> adapter) {
+            if (fullReload) {
+                adapter.notifyDataSetChanged();
+                return;
+            }
+            for (Change<T> change : changes) {
+                switch (change.type) {
+                    case ADDED:
+                        adapter.notifyItemInserted(change.position);
+                        break;
+                    case CHANGED:
+                        adapter.notifyItemChanged(change.position);
+                        break;
+                    case REMOVED:
+                        adapter.notifyItemRemoved(change.position);
+                        break;
+                    case MOVED:
+                        adapter.notifyItemMoved(change.fromPosition, change.position);
+                        adapter.notifyItemChanged(change.position);
+                        break;
+                }
+            }
+        }
+    }
+
+    /**
+     * In-memory copy of one database node, ordered as the database orders its children
+     */
+    public static class Node<T> {
+        private final CatalogDataSource.Node node;
+        private final Class<T> type;
+        private final KeyBinder<T> keyBinder;
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        private final List<String> keys = new ArrayList<>();
+        private final List<T> items = new ArrayList<>();
+        private final List<T> readOnlyItems = Collections.unmodifiableList(items);
+        private final Map<String, T> itemsByKey = new HashMap<>();
+        private final Map<String, Integer> positions = new HashMap<>();
+        // Entries of positions below this index are current; the rest may have shifted
+        private int positionsValidUpTo;
+
+        private final List<Listener<T>> listeners = new ArrayList<>();
+        private List<Change<T>> pendingChanges = new ArrayList<>();
+        private boolean dispatchScheduled;
+        private Registration registration;
+        private boolean attached;
+        private boolean loaded;
+
+        private final Runnable dispatchRunnable = this::dispatch;
+        private final Runnable detachRunnable = this::detach;
+
+        private final CatalogDataSource.ChildObserver<T> childObserver = new CatalogDataSource.ChildObserver<T>() {
+            @Override
+            public void onChildAdded(String key, T item, String previousKey) {
+                bindKey(item, key);
+                int position = insertAfter(key, item, previousKey);
+                record(new Change<>(Change.Type.ADDED, key, item, position, position));
+            }
+
+            @Override
+            public void onChildChanged(String key, T item) {
+                int position = positionOf(key);
+                if (position < 0) return;
+                bindKey(item, key);
+                items.set(position, item);
+                itemsByKey.put(key, item);
+                record(new Change<>(Change.Type.CHANGED, key, item, position, position));
+            }
+
+            @Override
+            public void onChildRemoved(String key) {
+                int position = positionOf(key);
+                if (position < 0) return;
+                removeAt(position);
+                record(new Change<>(Change.Type.REMOVED, key, null, position, position));
+            }
+
+            @Override
+            public void onChildMoved(String key, String previousKey) {
+                int fromPosition = positionOf(key);
+                if (fromPosition < 0) return;
+                T item = items.get(fromPosition);
+                removeAt(fromPosition);
+                int position = insertAfter(key, item, previousKey);
+                record(new Change<>(Change.Type.MOVED, key, item, position, fromPosition));
+            }
+
+            @Override
+            public void onInitialLoadComplete() {
+                if (!attached) return;
+                loaded = true;
+                pendingChanges.clear();
+                for (Listener<T> listener : new ArrayList<>(listeners)) {
+                    listener.onCatalogChanged(readOnlyItems, new ChangeSet<>(true, Collections.emptyList()));
+                }
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                for (Listener<T> listener : new ArrayList<>(listeners)) {
+                    listener.onSyncError(errorMessage);
+                }
+            }
+        };
+
+        Node(CatalogDataSource.Node node, Class<T> type, KeyBinder<T> keyBinder) {
+            this.node = node;
+            this.type = type;
+            this.keyBinder = keyBinder;
+        }
+
+        /**
+         * Subscribes to the node. Already loaded data is delivered right away as a full reload.
+         */
+        public void subscribe(Listener<T> listener) {
+            handler.removeCallbacks(detachRunnable);
+
+            if (!attached) {
+                listeners.add(listener);
+                attached = true;
+                registration = DataSources.catalog().observeChildren(node, type, childObserver);
+            } else if (loaded) {
+                // Flush queued changes first so existing subscribers stay in step with the items
+                dispatch();
+                listeners.add(listener);
+                listener.onCatalogChanged(readOnlyItems, new ChangeSet<>(true, Collections.emptyList()));
+            } else {
+                listeners.add(listener);
+            }
+        }
+
+        public void unsubscribe(Listener<T> listener) {
+            listeners.remove(listener);
+            if (listeners.isEmpty()) {
+                handler.postDelayed(detachRunnable, DETACH_DELAY_MS);
+            }
+        }
+
+        public T get(String key) {
+            return itemsByKey.get(key);
+        }
+
+        public List<T> getItems() {
+            return readOnlyItems;
+        }
+
+        public boolean isLoaded() {
+            return loaded;
+        }
+
+        private void bindKey(T item, String key) {
+            if (keyBinder != null) {
+                keyBinder.bind(item, key);
+            }
+        }
+
+        private int insertAfter(String key, T item, String previousKey) {
+            int position;
+            if (previousKey == null) {
+                position = 0;
+            } else if (!keys.isEmpty() && previousKey.equals(keys.get(keys.size() - 1))) {
+                // Common case during the initial load: children arrive in order
+                position = keys.size();
+            } else {
+                position = positionOf(previousKey) + 1;
+            }
+
+            keys.add(position, key);
+            items.add(position, item);
+            itemsByKey.put(key, item);
+            if (position == keys.size() - 1 && positionsValidUpTo == position) {
+                positions.put(key, position);
+                positionsValidUpTo = keys.size();
+            } else {
+                // Everything from here on moved up by one
+                positionsValidUpTo = Math.min(positionsValidUpTo, position);
+            }
+            return position;
+        }
+
+        private void removeAt(int position) {
+            String key = keys.remove(position);
+            items.remove(position);
+            itemsByKey.remove(key);
+            positions.remove(key);
+            // Everything after it moved down by one
+            positionsValidUpTo = Math.min(positionsValidUpTo, position);
+        }
+
+        private int positionOf(String key) {
+            Integer position = positions.get(key);
+            if (position != null && position < positionsValidUpTo) {
+                return position;
+            }
+            if (positionsValidUpTo < keys.size()) {
+                // Only entries at or after the first edit can have shifted
+                for (int i = positionsValidUpTo; i < keys.size(); i++) {
+                    positions.put(keys.get(i), i);
+                }
+                positionsValidUpTo = keys.size();
+                position = positions.get(key);
+            }
+            return position != null ? position : -1;
+        }
+
+        private void record(Change<T> change) {
+            // Until the initial load completes, listeners get everything as one full reload
+            if (!loaded) return;
+            pendingChanges.add(change);
+            if (!dispatchScheduled) {
+                dispatchScheduled = true;
+                handler.post(dispatchRunnable);
+            }
+        }
+
+        private void dispatch() {
+            dispatchScheduled = false;
+            if (pendingChanges.isEmpty()) return;
+            ChangeSet<T> changeSet = new ChangeSet<>(false, Collections.unmodifiableList(pendingChanges));
+            pendingChanges = new ArrayList<>();
+            for (Listener<T> listener : new ArrayList<>(listeners)) {
+                listener.onCatalogChanged(readOnlyItems, changeSet);
+            }
+        }
+
+        private void detach() {
+            if (!listeners.isEmpty() || !attached) return;
+            registration.remove();
+            registration = null;
+            attached = false;
+            loaded = false;
+            keys.clear();
+            items.clear();
+            itemsByKey.clear();
+            positions.clear();
+            positionsValidUpTo = 0;
+            pendingChanges.clear();
+        }
+    }
+}
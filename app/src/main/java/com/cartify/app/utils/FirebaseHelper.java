@@ -1,18 +1,59 @@
 package com.cartify.app.utils;
 
+import com.cartify.app.data.DataSources;
+import com.cartify.app.data.ReadPolicy;
+import com.google.android.gms.tasks.Task;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreSettings;
+import com.google.firebase.firestore.PersistentCacheSettings;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Firebase helper class for managing Firebase instances and common operations
  * Uses Realtime Database for products and Firestore for user data, cart, and orders
+ * Also owns the offline cache configuration and the read policies used by call sites
  */
 public class FirebaseHelper {
+    // Cache sizes for the on-disk stores
+    private static final long REALTIME_DATABASE_CACHE_SIZE_BYTES = 20L * 1024 * 1024;
+    private static final long FIRESTORE_CACHE_SIZE_BYTES = 50L * 1024 * 1024;
+
+    /**
+     * Hit and miss counters for one read policy. A hit is a read answered from the local cache.
+     */
+    public static class ReadStats {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        public long getHits() { return hits.get(); }
+        public long getMisses() { return misses.get(); }
+
+        public double getHitRate() {
+            long total = hits.get() + misses.get();
+            return total == 0 ? 0 : (double) hits.get() / total;
+        }
+    }
+
+    private static final Map<ReadPolicy, ReadStats> readStats = new EnumMap<>(ReadPolicy.class);
+    static {
+        for (ReadPolicy policy : ReadPolicy.values()) {
+            readStats.put(policy, new ReadStats());
+        }
+    }
+
     private static FirebaseAuth mAuth;
     private static DatabaseReference mRealtimeDatabase;
     private static FirebaseFirestore mFirestore;
@@ -24,16 +65,30 @@ public class FirebaseHelper {
         return mAuth;
     }
 
-    public static DatabaseReference getRealtimeDatabase() {
+    public static synchronized DatabaseReference getRealtimeDatabase() {
         if (mRealtimeDatabase == null) {
-            mRealtimeDatabase = FirebaseDatabase.getInstance().getReference();
+            // Persistence must be configured before the instance is used for anything else
+            FirebaseDatabase database = FirebaseDatabase.getInstance();
+            database.setPersistenceEnabled(true);
+            database.setPersistenceCacheSizeBytes(REALTIME_DATABASE_CACHE_SIZE_BYTES);
+            mRealtimeDatabase = database.getReference();
+
+            // Small nodes read on every launch stay synced so they are always served from disk
+            getCategoriesRef().keepSynced(true);
+            getBannersRef().keepSynced(true);
         }
         return mRealtimeDatabase;
     }
 
-    public static FirebaseFirestore getFirestore() {
+    public static synchronized FirebaseFirestore getFirestore() {
         if (mFirestore == null) {
             mFirestore = FirebaseFirestore.getInstance();
+            FirebaseFirestoreSettings settings = new FirebaseFirestoreSettings.Builder()
+                .setLocalCacheSettings(PersistentCacheSettings.newBuilder()
+                    .setSizeBytes(FIRESTORE_CACHE_SIZE_BYTES)
+                    .build())
+                .build();
+            mFirestore.setFirestoreSettings(settings);
         }
         return mFirestore;
     }
@@ -44,6 +99,10 @@ public class FirebaseHelper {
 
     public static String getCurrentUserId() {
         FirebaseUser user = getCurrentUser();
+        if (user == null && DataSources.isInMemory()) {
+            // Offline runs have no account; their cart and orders live under a fixed local user
+            return DataSources.OFFLINE_USER_ID;
+        }
         return user != null ? user.getUid() : null;
     }
 
@@ -56,6 +115,15 @@ public class FirebaseHelper {
         return getRealtimeDatabase().child("Items");
     }
 
+    // Projections of Items written by the synthetic module's projections command
+    public static DatabaseReference getProductSummariesRef() {
+        return getRealtimeDatabase().child("ItemSummaries");
+    }
+
+    public static DatabaseReference getProductDescriptionsRef() {
+        return getRealtimeDatabase().child("ItemDescriptions");
+    }
+
     public static DatabaseReference getCategoriesRef() {
         return getRealtimeDatabase().child("Category");
     }
@@ -77,6 +145,10 @@ public class FirebaseHelper {
         return getUserDocument(userId).collection("cart");
     }
 
+    public static DocumentReference getUserCartItemDocument(String userId, String productId) {
+        return getUserCartCollection(userId).document(productId);
+    }
+
     public static CollectionReference getUserOrdersCollection(String userId) {
         return getUserDocument(userId).collection("orders");
     }
@@ -89,4 +161,69 @@ public class FirebaseHelper {
     public static DocumentReference getUserProfileRef(String userId) {
         return getUserDocument(userId);
     }
-}
\ No newline at end of file
+
+    // Policy-based reads
+
+    public static Task<DocumentSnapshot> getDocument(DocumentReference document, ReadPolicy policy) {
+        ReadStats stats = readStats.get(policy);
+        switch (policy) {
+            case CACHE_FIRST:
+                return document.get(Source.CACHE).continueWithTask(task -> {
+                    boolean found = task.isSuccessful() && task.getResult().exists();
+                    record(stats, found);
+                    return found ? task : document.get(Source.DEFAULT);
+                });
+            case CACHE_ONLY:
+                return document.get(Source.CACHE).continueWithTask(task -> {
+                    record(stats, task.isSuccessful() && task.getResult().exists());
+                    return task;
+                });
+            default:
+                return document.get(Source.DEFAULT).continueWithTask(task -> {
+                    if (task.isSuccessful()) {
+                        // Served from cache means the server was unreachable
+                        record(stats, task.getResult().getMetadata().isFromCache());
+                    }
+                    return task;
+                });
+        }
+    }
+
+    public static Task<QuerySnapshot> getQuery(Query query, ReadPolicy policy) {
+        ReadStats stats = readStats.get(policy);
+        switch (policy) {
+            case CACHE_FIRST:
+                // An empty cached result can't be told apart from "never fetched", so it counts as a miss
+                return query.get(Source.CACHE).continueWithTask(task -> {
+                    boolean found = task.isSuccessful() && !task.getResult().isEmpty();
+                    record(stats, found);
+                    return found ? task : query.get(Source.DEFAULT);
+                });
+            case CACHE_ONLY:
+                return query.get(Source.CACHE).continueWithTask(task -> {
+                    record(stats, task.isSuccessful() && !task.getResult().isEmpty());
+                    return task;
+                });
+            default:
+                return query.get(Source.DEFAULT).continueWithTask(task -> {
+                    if (task.isSuccessful()) {
+                        // Served from cache means the server was unreachable
+                        record(stats, task.getResult().getMetadata().isFromCache());
+                    }
+                    return task;
+                });
+        }
+    }
+
+    public static ReadStats getReadStats(ReadPolicy policy) {
+        return readStats.get(policy);
+    }
+
+    private static void record(ReadStats stats, boolean servedFromCache) {
+        if (servedFromCache) {
+            stats.hits.incrementAndGet();
+        } else {
+            stats.misses.incrementAndGet();
+        }
+    }
+}
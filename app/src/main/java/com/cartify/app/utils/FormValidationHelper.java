@@ -1,20 +1,40 @@
 package com.cartify.app.utils;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.widget.EditText;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * Helper class for real-time form validation and user experience improvements
+ * Helper class for real-time form validation and user experience improvements.
+ * Typing is validated per field after a short pause, on a background thread, and only
+ * the edited field is re-checked; the form's overall validity is kept as a running count.
+ * Listener callbacks are always delivered on the main thread.
  */
 public class FormValidationHelper {
 
+    // Pause in typing before a field is validated
+    private static final long DEBOUNCE_MS = 250;
+
+    // Shared by all forms; validation functions are pure and short, so one thread is plenty
+    private static final ExecutorService validationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "FormValidation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final List<ValidationField> fields;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
     private ValidationListener validationListener;
     private boolean isRealTimeValidationEnabled = true;
+    private int validFieldCount;
+    private Boolean lastNotifiedFormValid;
 
     public FormValidationHelper() {
         this.fields = new ArrayList<>();
@@ -36,6 +56,11 @@ public class FormValidationHelper {
         private final InputValidator.ValidationFunction validationFunction;
         private final boolean isRequired;
         private boolean isValid = false;
+        // Bumped on every edit, so results for older text are dropped
+        private int generation;
+        private boolean validateOnMainThread;
+        private final List<ValidationField> dependents = new ArrayList<>();
+        private Runnable pendingValidation;
 
         public ValidationField(EditText editText, InputValidator.ValidationFunction validationFunction, boolean isRequired) {
             this.editText = editText;
@@ -70,11 +95,21 @@ public class FormValidationHelper {
     public FormValidationHelper addField(EditText editText, InputValidator.ValidationFunction validationFunction, boolean isRequired) {
         ValidationField field = new ValidationField(editText, validationFunction, isRequired);
         fields.add(field);
-        
-        if (isRealTimeValidationEnabled) {
-            setupRealTimeValidation(field);
+        setupRealTimeValidation(field);
+        return this;
+    }
+
+    /**
+     * Re-validates a field whenever another one changes, e.g. a password confirmation.
+     * The field's validation function reads the other view, so it runs on the main thread.
+     */
+    public FormValidationHelper addDependency(EditText field, EditText dependsOn) {
+        ValidationField dependent = findField(field);
+        ValidationField source = findField(dependsOn);
+        if (dependent != null && source != null) {
+            dependent.validateOnMainThread = true;
+            source.dependents.add(dependent);
         }
-        
         return this;
     }
 
@@ -105,34 +140,81 @@ public class FormValidationHelper {
 
             @Override
             public void afterTextChanged(Editable s) {
-                validateField(field, false); // Don't show errors while typing
+                if (!isRealTimeValidationEnabled) return;
+                scheduleValidation(field, DEBOUNCE_MS, false); // Don't show errors while typing
+                for (ValidationField dependent : field.dependents) {
+                    scheduleValidation(dependent, DEBOUNCE_MS, false);
+                }
             }
         });
 
         // Validate on focus lost
         field.getEditText().setOnFocusChangeListener((v, hasFocus) -> {
-            if (!hasFocus) {
-                validateField(field, true); // Show errors when field loses focus
+            if (!hasFocus && isRealTimeValidationEnabled) {
+                scheduleValidation(field, 0, true); // Show errors when field loses focus
             }
         });
     }
 
     /**
-     * Validates a single field
+     * Validates a field once typing pauses, replacing any validation already pending for it
      */
-    private void validateField(ValidationField field, boolean showError) {
-        String input = field.getEditText().getText().toString();
-        
+    private void scheduleValidation(ValidationField field, long delayMs, boolean showError) {
+        int generation = ++field.generation;
+        if (field.pendingValidation != null) {
+            mainHandler.removeCallbacks(field.pendingValidation);
+        }
+        field.pendingValidation = () -> {
+            field.pendingValidation = null;
+            // Read the text on the main thread; only the check itself runs in the background
+            String input = field.getEditText().getText().toString();
+            if (field.validateOnMainThread) {
+                applyResult(field, evaluate(field, input), showError);
+                return;
+            }
+            validationExecutor.execute(() -> {
+                InputValidator.ValidationResult result = evaluate(field, input);
+                mainHandler.post(() -> {
+                    if (field.generation == generation) {
+                        applyResult(field, result, showError);
+                    }
+                });
+            });
+        };
+        mainHandler.postDelayed(field.pendingValidation, delayMs);
+    }
+
+    /**
+     * Runs a field's validation function; safe to call off the main thread
+     */
+    private static InputValidator.ValidationResult evaluate(ValidationField field, String input) {
         // Skip validation for optional empty fields
         if (!field.isRequired() && input.trim().isEmpty()) {
-            field.setValid(true);
+            return null;
+        }
+        return field.getValidationFunction().validate(input);
+    }
+
+    /**
+     * Validates a single field right away, on the calling thread
+     */
+    private void validateField(ValidationField field, boolean showError) {
+        cancelPending(field);
+        applyResult(field, evaluate(field, field.getEditText().getText().toString()), showError);
+    }
+
+    /**
+     * Applies a result on the main thread; null means an empty optional field
+     */
+    private void applyResult(ValidationField field, InputValidator.ValidationResult result, boolean showError) {
+        if (result == null) {
+            setFieldValid(field, true);
             field.getEditText().setError(null);
             notifyValidationStateChanged();
             return;
         }
 
-        InputValidator.ValidationResult result = field.getValidationFunction().validate(input);
-        field.setValid(result.isValid());
+        setFieldValid(field, result.isValid());
 
         if (showError && !result.isValid()) {
             field.getEditText().setError(result.getErrorMessage());
@@ -147,6 +229,34 @@ public class FormValidationHelper {
         notifyValidationStateChanged();
     }
 
+    /**
+     * Updates a field's state and the running count of valid fields
+     */
+    private void setFieldValid(ValidationField field, boolean valid) {
+        if (field.isValid() != valid) {
+            validFieldCount += valid ? 1 : -1;
+            field.setValid(valid);
+        }
+    }
+
+    private void cancelPending(ValidationField field) {
+        field.generation++;
+        if (field.pendingValidation != null) {
+            mainHandler.removeCallbacks(field.pendingValidation);
+            field.pendingValidation = null;
+        }
+    }
+
+    /**
+     * Drops validations still waiting for a pause in typing or running in the background.
+     * Call from onDestroy so no result lands on a finished screen.
+     */
+    public void cancelPendingValidation() {
+        for (ValidationField field : fields) {
+            cancelPending(field);
+        }
+    }
+
     /**
      * Validates all fields
      */
@@ -167,12 +277,7 @@ public class FormValidationHelper {
      * Checks if the form is currently valid
      */
     public boolean isFormValid() {
-        for (ValidationField field : fields) {
-            if (!field.isValid()) {
-                return false;
-            }
-        }
-        return true;
+        return validFieldCount == fields.size();
     }
 
     /**
@@ -188,7 +293,17 @@ public class FormValidationHelper {
      * Enables or disables real-time validation
      */
     public void setRealTimeValidationEnabled(boolean enabled) {
+        if (enabled == isRealTimeValidationEnabled) return;
         this.isRealTimeValidationEnabled = enabled;
+        if (enabled) {
+            // Text set while disabled was never checked; re-check it and re-sync the listener
+            lastNotifiedFormValid = null;
+            for (ValidationField field : fields) {
+                scheduleValidation(field, 0, false);
+            }
+        } else {
+            cancelPendingValidation();
+        }
     }
 
     /**
@@ -202,11 +317,26 @@ public class FormValidationHelper {
      * Notifies listener about validation state changes
      */
     private void notifyValidationStateChanged() {
+        boolean formValid = isFormValid();
+        // Only when the aggregate actually changes (and always the first time)
+        if (lastNotifiedFormValid != null && lastNotifiedFormValid == formValid) {
+            return;
+        }
+        lastNotifiedFormValid = formValid;
         if (validationListener != null) {
-            validationListener.onValidationStateChanged(isFormValid());
+            validationListener.onValidationStateChanged(formValid);
         }
     }
 
+    private ValidationField findField(EditText editText) {
+        for (ValidationField field : fields) {
+            if (field.getEditText() == editText) {
+                return field;
+            }
+        }
+        return null;
+    }
+
     /**
      * Gets the first invalid field (for focusing)
      */
@@ -0,0 +1,431 @@
+package com.cartify.app.utils;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects frame durations per screen from the window's FrameMetrics and attributes
+ * each frame to the operation that ran during it (a search, an adapter update, an image bind).
+ * Every activity is attached while resumed once install is called from the Application;
+ * code paths worth attributing call mark.
+ * Recent frames are kept in a fixed-size lock-free ring so a dump shows what happened just
+ * before a jank report, while the per-screen histograms cover the whole session.
+ */
+public class FrameMonitor {
+
+    public static final String OP_SEARCH = "search";
+    public static final String OP_ADAPTER_UPDATE = "adapter.update";
+    public static final String OP_IMAGE_BIND = "image.bind";
+
+    // Play vitals thresholds: slower than 60 fps is slow, over 700 ms is frozen
+    public static final long SLOW_FRAME_MICROS = 16_667;
+    public static final long FROZEN_FRAME_MICROS = 700_000;
+
+    static final String UNTAGGED = "untagged";
+
+    private static final int FRAME_HISTORY = 2048;
+    private static final int MARK_HISTORY = 512;
+
+    // Frame entry: end millis (32 bits) | duration micros (20) | screen id (6) | operation id (6)
+    private static final int ID_BITS = 6;
+    private static final int MAX_IDS = 1 << ID_BITS;
+    private static final int DURATION_BITS = 20;
+    private static final long MAX_PACKED_DURATION = (1L << DURATION_BITS) - 1;
+    // Mark entry: micros since start (48 bits) | operation id (16)
+    private static final int MARK_ID_BITS = 16;
+
+    private static FrameMonitor instance;
+
+    private final long startNanos = System.nanoTime();
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final LongRingBuffer frames = new LongRingBuffer(FRAME_HISTORY);
+    private final LongRingBuffer marks = new LongRingBuffer(MARK_HISTORY);
+    private final Registry screens = new Registry();
+    private final Registry operations = new Registry();
+    private final Map<String, ScreenStats> screenStats = new ConcurrentHashMap<>();
+    private final Map<Activity, Window.OnFrameMetricsAvailableListener> listeners = new WeakHashMap<>();
+    // Only touched on the handler thread
+    private final long[] recentMarks = new long[MARK_HISTORY];
+    private Handler handler;
+
+    public static synchronized FrameMonitor getInstance() {
+        if (instance == null) {
+            instance = new FrameMonitor();
+        }
+        return instance;
+    }
+
+    /**
+     * Frame counts and duration histogram for one screen or one screen/operation pair
+     */
+    public static class FrameStats {
+        private final LatencyHistogram durationMicros = new LatencyHistogram();
+        private final AtomicLong slowFrames = new AtomicLong();
+        private final AtomicLong frozenFrames = new AtomicLong();
+
+        FrameStats() {
+        }
+
+        private FrameStats(FrameStats source) {
+            durationMicros.copyFrom(source.durationMicros);
+            slowFrames.set(source.slowFrames.get());
+            frozenFrames.set(source.frozenFrames.get());
+        }
+
+        void record(long micros) {
+            durationMicros.record(micros);
+            if (micros > SLOW_FRAME_MICROS) {
+                slowFrames.incrementAndGet();
+            }
+            if (micros > FROZEN_FRAME_MICROS) {
+                frozenFrames.incrementAndGet();
+            }
+        }
+
+        public LatencyHistogram getDurationMicros() {
+            return durationMicros;
+        }
+
+        public long getFrames() {
+            return durationMicros.getCount();
+        }
+
+        public long getSlowFrames() {
+            return slowFrames.get();
+        }
+
+        public long getFrozenFrames() {
+            return frozenFrames.get();
+        }
+    }
+
+    /**
+     * All frames of one screen, plus the same split by the operation each frame was tagged with
+     */
+    public static class ScreenStats {
+        private final String name;
+        private final FrameStats total;
+        private final Map<String, FrameStats> byOperation;
+
+        ScreenStats(String name) {
+            this.name = name;
+            this.total = new FrameStats();
+            this.byOperation = new ConcurrentHashMap<>();
+        }
+
+        private ScreenStats(ScreenStats source) {
+            name = source.name;
+            total = new FrameStats(source.total);
+            byOperation = new ConcurrentHashMap<>();
+            for (Map.Entry<String, FrameStats> entry : source.byOperation.entrySet()) {
+                byOperation.put(entry.getKey(), new FrameStats(entry.getValue()));
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public FrameStats getTotal() {
+            return total;
+        }
+
+        public Map<String, FrameStats> getByOperation() {
+            return byOperation;
+        }
+    }
+
+    /**
+     * One frame from the recent-frame ring
+     */
+    public static class Frame {
+        public final long endMillis;
+        public final long durationMicros;
+        public final String screen;
+        public final String operation;
+
+        Frame(long endMillis, long durationMicros, String screen, String operation) {
+            this.endMillis = endMillis;
+            this.durationMicros = durationMicros;
+            this.screen = screen;
+            this.operation = operation;
+        }
+    }
+
+    /**
+     * Attaches to every activity while it is resumed, for the lifetime of the process
+     */
+    public void install(Application application) {
+        application.registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+            @Override
+            public void onActivityResumed(Activity activity) {
+                attach(activity);
+            }
+
+            @Override
+            public void onActivityPaused(Activity activity) {
+                detach(activity);
+            }
+
+            @Override
+            public void onActivityCreated(Activity activity, Bundle savedInstanceState) {}
+
+            @Override
+            public void onActivityStarted(Activity activity) {}
+
+            @Override
+            public void onActivityStopped(Activity activity) {}
+
+            @Override
+            public void onActivitySaveInstanceState(Activity activity, Bundle outState) {}
+
+            @Override
+            public void onActivityDestroyed(Activity activity) {}
+        });
+    }
+
+    /**
+     * Starts collecting frame metrics for the activity's window
+     */
+    public void attach(Activity activity) {
+        if (listeners.containsKey(activity)) return;
+        String screen = activity.getClass().getSimpleName();
+        int screenId = screens.idOf(screen);
+
+        Window.OnFrameMetricsAvailableListener listener = (window, metrics, dropCount) ->
+            onFrame(screen, screenId, metrics);
+        activity.getWindow().addOnFrameMetricsAvailableListener(listener, handler());
+        listeners.put(activity, listener);
+    }
+
+    public void detach(Activity activity) {
+        Window.OnFrameMetricsAvailableListener listener = listeners.remove(activity);
+        if (listener != null) {
+            try {
+                activity.getWindow().removeOnFrameMetricsAvailableListener(listener);
+            } catch (IllegalArgumentException e) {
+                // Already removed together with the window
+            }
+        }
+    }
+
+    /**
+     * Tags whatever frame is being produced right now with the operation.
+     * Cheap enough for onBindViewHolder: one map lookup and one atomic increment.
+     */
+    public void mark(String operation) {
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        marks.add((micros << MARK_ID_BITS) | operations.idOf(operation));
+    }
+
+    /**
+     * Copies of all screens, the ones with the most slow frames first
+     */
+    public List<ScreenStats> snapshot() {
+        List<ScreenStats> copies = new ArrayList<>();
+        for (ScreenStats stats : screenStats.values()) {
+            copies.add(new ScreenStats(stats));
+        }
+        copies.sort((a, b) -> Long.compare(b.total.getSlowFrames(), a.total.getSlowFrames()));
+        return copies;
+    }
+
+    /**
+     * The frames still in the ring, oldest first
+     */
+    public List<Frame> recentFrames() {
+        long[] entries = frames.snapshot();
+        List<Frame> recent = new ArrayList<>(entries.length);
+        for (long entry : entries) {
+            recent.add(new Frame(
+                startedAtMillis + (entry >>> 32),
+                (entry >>> (2 * ID_BITS)) & MAX_PACKED_DURATION,
+                screens.nameOf((int) ((entry >>> ID_BITS) & (MAX_IDS - 1))),
+                operations.nameOf((int) (entry & (MAX_IDS - 1)))));
+        }
+        return recent;
+    }
+
+    public void reset() {
+        screenStats.clear();
+        frames.clear();
+        marks.clear();
+    }
+
+    /**
+     * Writes per-screen stats and the recent-frame ring as JSON into the directory
+     */
+    public File exportReport(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        File file = new File(directory, "frame-report-" + timestamp + ".json");
+
+        try (JsonWriter writer = new JsonWriter(new FileWriter(file))) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("startedAt").value(startedAtMillis);
+            writer.name("exportedAt").value(System.currentTimeMillis());
+            writer.name("device").value(Build.MANUFACTURER + " " + Build.MODEL);
+            writer.name("sdk").value(Build.VERSION.SDK_INT);
+            writer.name("screens").beginArray();
+            for (ScreenStats stats : snapshot()) {
+                writer.beginObject();
+                writer.name("name").value(stats.name);
+                writeFrameStats(writer, stats.total);
+                writer.name("operations").beginObject();
+                for (Map.Entry<String, FrameStats> entry : stats.byOperation.entrySet()) {
+                    writer.name(entry.getKey()).beginObject();
+                    writeFrameStats(writer, entry.getValue());
+                    writer.endObject();
+                }
+                writer.endObject();
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.name("recentFrames").beginArray();
+            for (Frame frame : recentFrames()) {
+                writer.beginObject();
+                writer.name("endedAt").value(frame.endMillis);
+                writer.name("durationMicros").value(frame.durationMicros);
+                writer.name("screen").value(frame.screen);
+                writer.name("operation").value(frame.operation);
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+        return file;
+    }
+
+    private static void writeFrameStats(JsonWriter writer, FrameStats stats) throws IOException {
+        LatencyHistogram durations = stats.durationMicros;
+        writer.name("frames").value(durations.getCount());
+        writer.name("slowFrames").value(stats.getSlowFrames());
+        writer.name("frozenFrames").value(stats.getFrozenFrames());
+        writer.name("p50Micros").value(durations.valueAtPercentile(50));
+        writer.name("p90Micros").value(durations.valueAtPercentile(90));
+        writer.name("p99Micros").value(durations.valueAtPercentile(99));
+        writer.name("maxMicros").value(durations.getMax());
+    }
+
+    // Runs on the monitor's handler thread
+    private void onFrame(String screen, int screenId, FrameMetrics metrics) {
+        long totalNanos = metrics.getMetric(FrameMetrics.TOTAL_DURATION);
+        long frameStartNanos = Build.VERSION.SDK_INT >= Build.VERSION_CODES.O
+            ? metrics.getMetric(FrameMetrics.INTENDED_VSYNC_TIMESTAMP)
+            // Before API 26 the start isn't reported; the frame just finished, so count back from now
+            : System.nanoTime() - totalNanos;
+        long frameStartMicros = Math.max(0, frameStartNanos - startNanos) / 1000;
+        long durationMicros = totalNanos / 1000;
+
+        int operationId = operationDuring(frameStartMicros, frameStartMicros + durationMicros);
+        String operation = operations.nameOf(operationId);
+        ScreenStats stats = screenStats(screen);
+        stats.total.record(durationMicros);
+        FrameStats byOperation = stats.byOperation.get(operation);
+        if (byOperation == null) {
+            byOperation = stats.byOperation.computeIfAbsent(operation, key -> new FrameStats());
+        }
+        byOperation.record(durationMicros);
+
+        long endMillis = (frameStartMicros + durationMicros) / 1000;
+        frames.add(packFrame(endMillis, durationMicros, screenId, operationId));
+    }
+
+    static long packFrame(long endMillis, long durationMicros, int screenId, int operationId) {
+        return (endMillis << 32)
+            | (Math.min(durationMicros, MAX_PACKED_DURATION) << (2 * ID_BITS))
+            | ((long) (screenId & (MAX_IDS - 1)) << ID_BITS)
+            | (operationId & (MAX_IDS - 1));
+    }
+
+    /**
+     * The earliest operation marked inside [startMicros, endMicros], or 0 when none was.
+     * The earliest one is usually the cause, e.g. a search that then updated the adapter.
+     */
+    private int operationDuring(long startMicros, long endMicros) {
+        long[] recent = recentMarks;
+        int count = marks.copyNewestFirst(recent);
+        int operationId = 0;
+        for (int i = 0; i < count; i++) {
+            long markMicros = recent[i] >>> MARK_ID_BITS;
+            if (markMicros > endMicros) continue;
+            if (markMicros < startMicros) break;
+            operationId = (int) (recent[i] & ((1 << MARK_ID_BITS) - 1));
+        }
+        return operationId;
+    }
+
+    private ScreenStats screenStats(String screen) {
+        ScreenStats stats = screenStats.get(screen);
+        if (stats == null) {
+            stats = screenStats.computeIfAbsent(screen, ScreenStats::new);
+        }
+        return stats;
+    }
+
+    private synchronized Handler handler() {
+        if (handler == null) {
+            HandlerThread thread = new HandlerThread("FrameMonitor");
+            thread.start();
+            handler = new Handler(thread.getLooper());
+        }
+        return handler;
+    }
+
+    /**
+     * Small ids for screen and operation names so they fit in a packed entry; id 0 is reserved
+     */
+    private static class Registry {
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        Registry() {
+            names.add(UNTAGGED);
+        }
+
+        int idOf(String name) {
+            Integer id = ids.get(name);
+            if (id != null) return id;
+            synchronized (this) {
+                id = ids.get(name);
+                if (id == null) {
+                    // Names past the packed id range share the reserved id
+                    id = names.size() < MAX_IDS ? names.size() : 0;
+                    if (id != 0) {
+                        names.add(name);
+                    }
+                    ids.put(name, id);
+                }
+                return id;
+            }
+        }
+
+        synchronized String nameOf(int id) {
+            return id < names.size() ? names.get(id) : UNTAGGED;
+        }
+    }
+}
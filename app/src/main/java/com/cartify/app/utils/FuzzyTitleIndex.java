@@ -0,0 +1,335 @@
+package com.cartify.app.utils;
+
+import com.cartify.app.models.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typo-tolerant lookup over the words in product titles.
+ * The distinct title words form a vocabulary with a trigram index; a query word's candidates
+ * are the vocabulary words sharing enough trigrams with it, verified with a bounded edit
+ * distance, so the cost depends on the vocabulary rather than on the number of products.
+ * Short words share too few trigrams to filter on, so their candidates come from the words
+ * of nearby lengths instead. Each product keeps the ids of its title words, so a multi-word
+ * query only visits the products holding a candidate for its rarest word. Immutable; rebuild
+ * when the list changes.
+ */
+public class FuzzyTitleIndex {
+
+    // Match costs: lower ranks first
+    public static final int COST_EXACT = 0;
+    public static final int COST_PREFIX = 1;
+    // Plus the edit distance
+    public static final int COST_TYPO = 1;
+
+    // Words this short are only matched exactly or by prefix
+    private static final int MIN_TYPO_LENGTH = 4;
+    // From here two typos still leave a shared trigram to filter on
+    private static final int TWO_TYPOS_LENGTH = 9;
+    private static final char PAD = ' ';
+
+    private final String[] words;
+    private final int[] sortedWordIds;
+    // Word ids by word length
+    private final int[][] wordsByLength;
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private final int[][] postings;
+    private final int[][] productWords;
+    private final Map<Long, int[]> trigrams = new HashMap<>();
+
+    public FuzzyTitleIndex(List<Product> products) {
+        List<String> vocabulary = new ArrayList<>();
+        List<IntList> positions = new ArrayList<>();
+        productWords = new int[products.size()][];
+
+        IntList titleWords = new IntList();
+        for (int position = 0; position < products.size(); position++) {
+            titleWords.size = 0;
+            String title = products.get(position).getTitle();
+            for (String word : tokenize(title != null ? title.toLowerCase() : "")) {
+                Integer id = wordIds.get(word);
+                if (id == null) {
+                    id = vocabulary.size();
+                    wordIds.put(word, id);
+                    vocabulary.add(word);
+                    positions.add(new IntList());
+                }
+                if (!titleWords.contains(id)) {
+                    titleWords.add(id);
+                    positions.get(id).add(position);
+                }
+            }
+            productWords[position] = titleWords.toArray();
+        }
+
+        words = vocabulary.toArray(new String[0]);
+        postings = new int[words.length][];
+        Map<Long, IntList> grams = new HashMap<>();
+        for (int id = 0; id < words.length; id++) {
+            postings[id] = positions.get(id).toArray();
+            for (long gram : trigramsOf(words[id])) {
+                IntList ids = grams.get(gram);
+                if (ids == null) {
+                    ids = new IntList();
+                    grams.put(gram, ids);
+                }
+                // A word repeating a trigram is listed once
+                if (ids.size == 0 || ids.values[ids.size - 1] != id) ids.add(id);
+            }
+        }
+        for (Map.Entry<Long, IntList> gram : grams.entrySet()) {
+            trigrams.put(gram.getKey(), gram.getValue().toArray());
+        }
+
+        Integer[] sorted = new Integer[words.length];
+        for (int i = 0; i < sorted.length; i++) sorted[i] = i;
+        Arrays.sort(sorted, (a, b) -> words[a].compareTo(words[b]));
+        sortedWordIds = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) sortedWordIds[i] = sorted[i];
+
+        int longest = 0;
+        for (String word : words) longest = Math.max(longest, word.length());
+        IntList[] lengths = new IntList[longest + 1];
+        for (int id = 0; id < words.length; id++) {
+            int length = words[id].length();
+            if (lengths[length] == null) lengths[length] = new IntList();
+            lengths[length].add(id);
+        }
+        wordsByLength = new int[lengths.length][];
+        for (int length = 0; length < lengths.length; length++) {
+            wordsByLength[length] = lengths[length] != null ? lengths[length].toArray() : new int[0];
+        }
+    }
+
+    /**
+     * Number of distinct title words
+     */
+    public int vocabularySize() {
+        return words.length;
+    }
+
+    /**
+     * Positions of the products whose titles have a match for every word of a lower-cased query:
+     * the word itself, a word it starts, or a word within one typo (two for long words).
+     * Best matches come first, then list order.
+     */
+    public int[] search(String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) return new int[0];
+
+        List<Map<Integer, Integer>> candidates = new ArrayList<>(terms.size());
+        int rarest = 0;
+        long rarestPostings = Long.MAX_VALUE;
+        for (int t = 0; t < terms.size(); t++) {
+            Map<Integer, Integer> costs = candidates(terms.get(t));
+            if (costs.isEmpty()) return new int[0];
+            long total = 0;
+            for (int id : costs.keySet()) total += postings[id].length;
+            if (total < rarestPostings) {
+                rarestPostings = total;
+                rarest = t;
+            }
+            candidates.add(costs);
+        }
+
+        // Products holding a candidate for the rarest term, with the cheapest such match
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (Map.Entry<Integer, Integer> candidate : candidates.get(rarest).entrySet()) {
+            for (int position : postings[candidate.getKey()]) {
+                Integer score = scores.get(position);
+                if (score == null || candidate.getValue() < score) {
+                    scores.put(position, candidate.getValue());
+                }
+            }
+        }
+
+        long[] ranked = new long[scores.size()];
+        int count = 0;
+        for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+            int position = entry.getKey();
+            int score = entry.getValue();
+            for (int t = 0; t < candidates.size() && score >= 0; t++) {
+                if (t == rarest) continue;
+                int best = bestCost(productWords[position], candidates.get(t));
+                score = best >= 0 ? score + best : -1;
+            }
+            if (score >= 0) {
+                ranked[count++] = ((long) score << 32) | position;
+            }
+        }
+        Arrays.sort(ranked, 0, count);
+
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = (int) ranked[i];
+        }
+        return result;
+    }
+
+    /**
+     * Vocabulary words that can stand for a query word, with their cost
+     */
+    private Map<Integer, Integer> candidates(String term) {
+        Map<Integer, Integer> costs = new HashMap<>();
+
+        // Words starting with the term (including the term itself)
+        int first = lowerBound(term);
+        for (int i = first; i < sortedWordIds.length && words[sortedWordIds[i]].startsWith(term); i++) {
+            int id = sortedWordIds[i];
+            costs.put(id, words[id].length() == term.length() ? COST_EXACT : COST_PREFIX);
+        }
+
+        if (term.length() < MIN_TYPO_LENGTH) return costs;
+        int maxTypos = term.length() >= TWO_TYPOS_LENGTH ? 2 : 1;
+
+        // An edit changes at most four of the padded word's trigrams (a swap of neighbours
+        // does), so a word within maxTypos edits shares at least this many with the term
+        long[] termGrams = trigramsOf(term);
+        int minShared = termGrams.length - 4 * maxTypos;
+        if (minShared > 0) {
+            int[] shared = new int[words.length];
+            for (long gram : termGrams) {
+                int[] ids = trigrams.get(gram);
+                if (ids == null) continue;
+                for (int id : ids) {
+                    if (++shared[id] == minShared) verify(term, id, maxTypos, costs);
+                }
+            }
+        } else {
+            // Only words whose length is within maxTypos of the term can be close enough
+            int shortest = Math.max(0, term.length() - maxTypos);
+            int longest = Math.min(wordsByLength.length - 1, term.length() + maxTypos);
+            for (int length = shortest; length <= longest; length++) {
+                for (int id : wordsByLength[length]) {
+                    verify(term, id, maxTypos, costs);
+                }
+            }
+        }
+        return costs;
+    }
+
+    private void verify(String term, int id, int maxTypos, Map<Integer, Integer> costs) {
+        String word = words[id];
+        if (costs.containsKey(id) || Math.abs(word.length() - term.length()) > maxTypos) return;
+        int distance = boundedDistance(term, word, maxTypos);
+        if (distance <= maxTypos) {
+            costs.put(id, COST_TYPO + distance);
+        }
+    }
+
+    private static int bestCost(int[] productWordIds, Map<Integer, Integer> costs) {
+        int best = -1;
+        for (int id : productWordIds) {
+            Integer cost = costs.get(id);
+            if (cost != null && (best < 0 || cost < best)) best = cost;
+        }
+        return best;
+    }
+
+    /**
+     * Edit distance counting insertions, deletions, substitutions and swaps of neighbouring
+     * letters, or max + 1 once it is known to exceed max
+     */
+    static int boundedDistance(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) return max + 1;
+
+        int[] previous2 = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) previous[j] = j;
+
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char cb = b.charAt(j - 1);
+                int cost = ca == cb ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) return max + 1;
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[m], max + 1);
+    }
+
+    private int lowerBound(String term) {
+        int low = 0;
+        int high = sortedWordIds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (words[sortedWordIds[mid]].compareTo(term) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0, length = text.length(); i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // Trigrams of the word padded with one space on each side, three chars packed per long
+    private static long[] trigramsOf(String word) {
+        int length = word.length();
+        long[] grams = new long[length];
+        for (int i = 0; i < length; i++) {
+            char c0 = i == 0 ? PAD : word.charAt(i - 1);
+            char c1 = word.charAt(i);
+            char c2 = i == length - 1 ? PAD : word.charAt(i + 1);
+            grams[i] = ((long) c0 << 32) | ((long) c1 << 16) | c2;
+        }
+        return grams;
+    }
+
+    /**
+     * Growable int array, to build the postings without boxing
+     */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        boolean contains(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) return true;
+            }
+            return false;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -4,7 +4,10 @@ import android.text.TextUtils;
 import android.util.Patterns;
 import android.widget.EditText;
 
-import java.util.regex.Pattern;
+import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Money;
+
+import java.util.List;
 
 /**
  * Comprehensive input validation utility class for Cartify app
@@ -12,13 +15,29 @@ import java.util.regex.Pattern;
  */
 public class InputValidator {
 
-    // Regex patterns for validation
-    private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z\\s]{2,50}$");
-    private static final Pattern PHONE_PATTERN = Pattern.compile("^[+]?[0-9]{10,15}$");
-    private static final Pattern PASSWORD_PATTERN = Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)[a-zA-Z\\d@$!%*?&]{8,}$");
-    private static final Pattern SEARCH_PATTERN = Pattern.compile("^[a-zA-Z0-9\\s\\-_.,]{1,100}$");
-    private static final Pattern ADDRESS_PATTERN = Pattern.compile("^[a-zA-Z0-9\\s\\-_.,#/]{5,200}$");
-    
+    // Same character sets as the regexes these replaced, e.g. ^[a-zA-Z\\s]{2,50}$ for names,
+    // compiled once into lookup tables so matching is a single loop without a Matcher
+    private static final String WHITESPACE = " \t\n\u000B\f\r";
+    private static final CharRule NAME_RULE = new CharRule(2, 50).letters().chars(WHITESPACE);
+    private static final CharRule PASSWORD_RULE = new CharRule(8, Integer.MAX_VALUE).letters().digits().chars("@$!%*?&");
+    // $ lets queries name a price, as in "under $50"
+    private static final CharRule SEARCH_RULE = new CharRule(1, 100).letters().digits().chars(WHITESPACE + "-_.,$");
+    private static final CharRule ADDRESS_RULE = new CharRule(5, 200).letters().digits().chars(WHITESPACE + "-_.,#/");
+    private static final String[] WEAK_PASSWORDS = {"password", "12345678", "qwerty123", "admin123", "welcome123"};
+
+    private static final double MAX_PRICE = 999999.99;
+    private static final int MAX_QUANTITY = 999;
+    private static final long MAX_CART_TOTAL_CENTS = 99_999_999L;
+
+    // Shared results for the numeric fast paths, so validating a valid cart allocates nothing
+    private static final ValidationResult VALID = new ValidationResult(true, null);
+    private static final ValidationResult PRICE_INVALID = new ValidationResult(false, "Please enter a valid price");
+    private static final ValidationResult PRICE_NEGATIVE = new ValidationResult(false, "Price cannot be negative");
+    private static final ValidationResult PRICE_TOO_HIGH = new ValidationResult(false, "Price is too high (max $999,999.99)");
+    private static final ValidationResult PRICE_TOO_PRECISE = new ValidationResult(false, "Price can have at most 2 decimal places");
+    private static final ValidationResult QUANTITY_TOO_LOW = new ValidationResult(false, "Quantity must be at least 1");
+    private static final ValidationResult QUANTITY_TOO_HIGH = new ValidationResult(false, "Quantity cannot exceed 999");
+
     // Validation result class
     public static class ValidationResult {
         private final boolean isValid;
@@ -38,6 +57,88 @@ public class InputValidator {
         }
     }
 
+    /**
+     * Result of validating a whole cart, with the total computed in the same pass
+     */
+    public static class CartValidationResult extends ValidationResult {
+        private final long totalCents;
+        private final CartItem invalidItem;
+
+        public CartValidationResult(boolean isValid, String errorMessage, long totalCents, CartItem invalidItem) {
+            super(isValid, errorMessage);
+            this.totalCents = totalCents;
+            this.invalidItem = invalidItem;
+        }
+
+        public long getTotalCents() {
+            return totalCents;
+        }
+
+        public double getTotal() {
+            return Money.toMajorUnits(totalCents);
+        }
+
+        /**
+         * The first line that failed validation, or null
+         */
+        public CartItem getInvalidItem() {
+            return invalidItem;
+        }
+    }
+
+    /**
+     * Allowed characters and length bounds for a text field, compiled into a lookup table
+     */
+    private static final class CharRule {
+        private final boolean[] allowed = new boolean[128];
+        private final int minLength;
+        private final int maxLength;
+
+        CharRule(int minLength, int maxLength) {
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+        }
+
+        CharRule letters() {
+            return range('a', 'z').range('A', 'Z');
+        }
+
+        CharRule digits() {
+            return range('0', '9');
+        }
+
+        CharRule range(char from, char to) {
+            for (char c = from; c <= to; c++) {
+                allowed[c] = true;
+            }
+            return this;
+        }
+
+        CharRule chars(String chars) {
+            for (int i = 0; i < chars.length(); i++) {
+                allowed[chars.charAt(i)] = true;
+            }
+            return this;
+        }
+
+        boolean allows(char c) {
+            return c < 128 && allowed[c];
+        }
+
+        boolean matches(String input) {
+            int length = input.length();
+            if (length < minLength || length > maxLength) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (!allows(input.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * Validates email address
      */
@@ -56,7 +157,7 @@ public class InputValidator {
             return new ValidationResult(false, "Please enter a valid email address");
         }
         
-        return new ValidationResult(true, null);
+        return VALID;
     }
 
     /**
@@ -75,20 +176,19 @@ public class InputValidator {
             return new ValidationResult(false, "Password is too long (max 128 characters)");
         }
         
-        if (!PASSWORD_PATTERN.matcher(password).matches()) {
+        if (!isStrongPassword(password)) {
             return new ValidationResult(false, "Password must contain at least one uppercase letter, one lowercase letter, and one number");
         }
         
         // Check for common weak passwords
         String lowerPassword = password.toLowerCase();
-        String[] weakPasswords = {"password", "12345678", "qwerty123", "admin123", "welcome123"};
-        for (String weak : weakPasswords) {
+        for (String weak : WEAK_PASSWORDS) {
             if (lowerPassword.contains(weak)) {
                 return new ValidationResult(false, "Password is too common. Please choose a stronger password");
             }
         }
         
-        return new ValidationResult(true, null);
+        return VALID;
     }
 
     /**
@@ -103,7 +203,7 @@ public class InputValidator {
             return new ValidationResult(false, "Passwords do not match");
         }
         
-        return new ValidationResult(true, null);
+        return VALID;
     }
 
     /**
@@ -124,11 +224,11 @@ public class InputValidator {
             return new ValidationResult(false, "Name is too long (max 50 characters)");
         }
         
-        if (!NAME_PATTERN.matcher(name).matches()) {
+        if (!NAME_RULE.matches(name)) {
             return new ValidationResult(false, "Name can only contain letters and spaces");
         }
         
-        return new ValidationResult(true, null);
+        return VALID;
     }
 
     /**
@@ -139,13 +239,11 @@ public class InputValidator {
             return new ValidationResult(false, "Phone number is required");
         }
         
-        phone = phone.trim().replaceAll("\\s+", ""); // Remove spaces
-        
-        if (!PHONE_PATTERN.matcher(phone).matches()) {
+        if (!isPhoneNumber(phone)) {
             return new ValidationResult(false, "Please enter a valid phone number (10-15 digits)");
         }
         
-        return new ValidationResult(true, null);
+        return VALID;
     }
 
     /**
@@ -166,11 +264,11 @@ public class InputValidator {
             return new ValidationResult(false, "Address is too long (max 200 characters)");
         }
         
-        if (!ADDRESS_PATTERN.matcher(address).matches()) {
+        if (!ADDRESS_RULE.matches(address)) {
             return new ValidationResult(false, "Address contains invalid characters");
         }
         
-        return new ValidationResult(true, null);
+        return VALID;
     }
 
     /**
@@ -191,11 +289,11 @@ public class InputValidator {
             return new ValidationResult(false, "Search query is too long (max 100 characters)");
         }
         
-        if (!SEARCH_PATTERN.matcher(query).matches()) {
+        if (!SEARCH_RULE.matches(query)) {
             return new ValidationResult(false, "Search query contains invalid characters");
         }
         
-        return new ValidationResult(true, null);
+        return VALID;
     }
 
     /**
@@ -206,28 +304,55 @@ public class InputValidator {
             return new ValidationResult(false, "Price is required");
         }
         
+        double price;
         try {
-            double price = Double.parseDouble(priceStr.trim());
-            
-            if (price < 0) {
-                return new ValidationResult(false, "Price cannot be negative");
-            }
-            
-            if (price > 999999.99) {
-                return new ValidationResult(false, "Price is too high (max $999,999.99)");
-            }
-            
-            // Check for reasonable decimal places
-            String[] parts = priceStr.split("\\.");
-            if (parts.length > 1 && parts[1].length() > 2) {
-                return new ValidationResult(false, "Price can have at most 2 decimal places");
-            }
-            
-            return new ValidationResult(true, null);
-            
+            price = Double.parseDouble(priceStr.trim());
         } catch (NumberFormatException e) {
-            return new ValidationResult(false, "Please enter a valid price");
+            return PRICE_INVALID;
+        }
+
+        ValidationResult range = checkPriceRange(price);
+        if (range != VALID) {
+            return range;
+        }
+
+        // Check for reasonable decimal places
+        int dot = priceStr.indexOf('.');
+        if (dot >= 0 && priceStr.length() - dot - 1 > 2) {
+            return PRICE_TOO_PRECISE;
+        }
+        return VALID;
+    }
+
+    /**
+     * Validates a price that is already a number, without formatting it to a String first
+     */
+    public static ValidationResult validatePrice(double price) {
+        if (Double.isNaN(price) || Double.isInfinite(price)) {
+            return PRICE_INVALID;
+        }
+
+        ValidationResult range = checkPriceRange(price);
+        if (range != VALID) {
+            return range;
+        }
+
+        // At most 2 decimal places, allowing for binary rounding of values like 0.1 + 0.2
+        double cents = price * 100;
+        if (Math.abs(cents - Math.rint(cents)) > 1e-6) {
+            return PRICE_TOO_PRECISE;
+        }
+        return VALID;
+    }
+
+    private static ValidationResult checkPriceRange(double price) {
+        if (price < 0) {
+            return PRICE_NEGATIVE;
         }
+        if (price > MAX_PRICE) {
+            return PRICE_TOO_HIGH;
+        }
+        return VALID;
     }
 
     /**
@@ -239,23 +364,64 @@ public class InputValidator {
         }
         
         try {
-            int quantity = Integer.parseInt(quantityStr.trim());
-            
-            if (quantity < 1) {
-                return new ValidationResult(false, "Quantity must be at least 1");
-            }
-            
-            if (quantity > 999) {
-                return new ValidationResult(false, "Quantity cannot exceed 999");
-            }
-            
-            return new ValidationResult(true, null);
-            
+            return validateQuantity(Integer.parseInt(quantityStr.trim()));
         } catch (NumberFormatException e) {
             return new ValidationResult(false, "Please enter a valid quantity");
         }
     }
 
+    /**
+     * Validates a quantity that is already a number, without formatting it to a String first
+     */
+    public static ValidationResult validateQuantity(int quantity) {
+        if (quantity < 1) {
+            return QUANTITY_TOO_LOW;
+        }
+        if (quantity > MAX_QUANTITY) {
+            return QUANTITY_TOO_HIGH;
+        }
+        return VALID;
+    }
+
+    /**
+     * Validates every line of a cart and computes its total in one pass.
+     * Lines with a zero quantity are skipped, but at least one line must be valid.
+     */
+    public static CartValidationResult validateCart(List<CartItem> items) {
+        long total = 0;
+        boolean hasValidItems = false;
+
+        for (int i = 0, size = items.size(); i < size; i++) {
+            CartItem item = items.get(i);
+            int quantity = item.getQuantity();
+            if (quantity <= 0) continue;
+
+            ValidationResult quantityValidation = validateQuantity(quantity);
+            if (!quantityValidation.isValid()) {
+                return new CartValidationResult(false, "Invalid quantity for " + item.getTitle() +
+                    ": " + quantityValidation.getErrorMessage(), total, item);
+            }
+
+            if (!validatePrice(item.getPrice()).isValid()) {
+                return new CartValidationResult(false, "Invalid price for " + item.getTitle(), total, item);
+            }
+            // Both factors are bounded by now, so the line total can't overflow
+            total += item.getTotalPriceCents();
+            hasValidItems = true;
+        }
+
+        if (!hasValidItems) {
+            return new CartValidationResult(false, "No valid items in cart. Please check quantities.", total, null);
+        }
+        if (total <= 0) {
+            return new CartValidationResult(false, "Invalid cart total. Please refresh and try again.", total, null);
+        }
+        if (total > MAX_CART_TOTAL_CENTS) {
+            return new CartValidationResult(false, "Cart total exceeds maximum limit ($999,999.99)", total, null);
+        }
+        return new CartValidationResult(true, null, total, null);
+    }
+
     /**
      * Validates rating input
      */
@@ -275,7 +441,7 @@ public class InputValidator {
                 return new ValidationResult(false, "Rating cannot exceed 5.0");
             }
             
-            return new ValidationResult(true, null);
+            return VALID;
             
         } catch (NumberFormatException e) {
             return new ValidationResult(false, "Please enter a valid rating");
@@ -297,19 +463,88 @@ public class InputValidator {
     }
 
     /**
-     * Sanitizes input by removing potentially harmful characters
+     * Sanitizes input by removing potentially harmful characters.
+     * Escapes in a single pass and returns the trimmed input itself when nothing needs escaping.
      */
     public static String sanitizeInput(String input) {
         if (TextUtils.isEmpty(input)) {
             return "";
         }
-        
-        return input.trim()
-                .replaceAll("<", "&lt;")
-                .replaceAll(">", "&gt;")
-                .replaceAll("\"", "&quot;")
-                .replaceAll("'", "&#x27;")
-                .replaceAll("/", "&#x2F;");
+
+        String trimmed = input.trim();
+        int length = trimmed.length();
+        int first = 0;
+        while (first < length && escapeFor(trimmed.charAt(first)) == null) {
+            first++;
+        }
+        if (first == length) {
+            return trimmed;
+        }
+
+        StringBuilder escaped = new StringBuilder(length + 16);
+        escaped.append(trimmed, 0, first);
+        for (int i = first; i < length; i++) {
+            char c = trimmed.charAt(i);
+            String replacement = escapeFor(c);
+            if (replacement != null) {
+                escaped.append(replacement);
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String escapeFor(char c) {
+        switch (c) {
+            case '<': return "&lt;";
+            case '>': return "&gt;";
+            case '"': return "&quot;";
+            case '\'': return "&#x27;";
+            case '/': return "&#x2F;";
+            default: return null;
+        }
+    }
+
+    /**
+     * Same as ^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)[a-zA-Z\\d@$!%*?&]{8,}$ in one pass
+     */
+    private static boolean isStrongPassword(String password) {
+        if (!PASSWORD_RULE.matches(password)) {
+            return false;
+        }
+        boolean lower = false, upper = false, digit = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            lower |= c >= 'a' && c <= 'z';
+            upper |= c >= 'A' && c <= 'Z';
+            digit |= c >= '0' && c <= '9';
+        }
+        return lower && upper && digit;
+    }
+
+    /**
+     * An optional leading + and 10-15 digits, ignoring whitespace anywhere
+     */
+    private static boolean isPhoneNumber(String phone) {
+        int digits = 0;
+        boolean seenAny = false;
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (WHITESPACE.indexOf(c) >= 0) {
+                continue;
+            }
+            if (c == '+' && !seenAny) {
+                seenAny = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            seenAny = true;
+            digits++;
+        }
+        return digits >= 10 && digits <= 15;
     }
 
     /**
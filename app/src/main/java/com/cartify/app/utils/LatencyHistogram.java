@@ -0,0 +1,124 @@
+package com.cartify.app.utils;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-memory histogram with log-linear buckets, in the style of HdrHistogram.
+ * Each power of two is split into 32 equal buckets, so any recorded value is reported
+ * within about 3% of its true value, from single units up to hours of microseconds.
+ * Used for call latencies (microseconds) and payload sizes (bytes).
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // Values above 2^40 are clamped; that is ~12 days in microseconds or 1 TB in bytes
+    private static final int MAX_VALUE_BITS = 40;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long total;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public synchronized void record(long value) {
+        value = Math.max(0, Math.min(value, MAX_VALUE));
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        total += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public synchronized long getCount() {
+        return totalCount;
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public synchronized long getMax() {
+        return max;
+    }
+
+    public synchronized double getMean() {
+        return totalCount == 0 ? 0 : (double) total / totalCount;
+    }
+
+    /**
+     * Value at a percentile (0-100), e.g. 99 for p99. Returns 0 when nothing was recorded.
+     */
+    public synchronized long valueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        if (percentile >= 100) return max;
+        long rank = (long) Math.ceil(Math.max(0, Math.min(100, percentile)) / 100.0 * totalCount);
+        rank = Math.max(1, rank);
+
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Middle of the bucket, kept inside the observed range
+                long lower = bucketLowerBound(i);
+                long middle = lower + (bucketWidth(i) - 1) / 2;
+                return Math.max(min, Math.min(max, middle));
+            }
+        }
+        return max;
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        total = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * Replaces this histogram's contents with a consistent copy of another's
+     */
+    public void copyFrom(LatencyHistogram source) {
+        synchronized (source) {
+            synchronized (this) {
+                System.arraycopy(source.counts, 0, counts, 0, BUCKET_COUNT);
+                totalCount = source.totalCount;
+                total = source.total;
+                min = source.min;
+                max = source.max;
+            }
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        // Top SUB_BUCKET_BITS + 1 bits, with the leading one dropped, pick the sub-bucket
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int group = index / SUB_BUCKET_COUNT;
+        long mantissa = (index % SUB_BUCKET_COUNT) + SUB_BUCKET_COUNT;
+        return mantissa << (group - 1);
+    }
+
+    static long bucketWidth(int index) {
+        int group = index / SUB_BUCKET_COUNT;
+        return group <= 1 ? 1 : 1L << (group - 1);
+    }
+}
@@ -2,6 +2,7 @@ package com.cartify.app.utils;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import com.cartify.app.models.Money;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
@@ -24,7 +25,6 @@ public class LocalStorageManager {
     private static final String KEY_IS_LOGGED_IN = "is_logged_in";
     private static final String KEY_CART_ITEMS = "cart_items";
     private static final String KEY_FAVORITE_PRODUCTS = "favorite_products";
-    private static final String KEY_RECENT_SEARCHES = "recent_searches";
     private static final String KEY_APP_THEME = "app_theme";
     private static final String KEY_NOTIFICATIONS_ENABLED = "notifications_enabled";
     private static final String KEY_LANGUAGE = "language";
@@ -33,12 +33,14 @@ public class LocalStorageManager {
     private SharedPreferences sharedPreferences;
     private SharedPreferences.Editor editor;
     private Gson gson;
+    private SearchHistoryStore searchHistory;
     private static LocalStorageManager instance;
     
     private LocalStorageManager(Context context) {
         sharedPreferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
         editor = sharedPreferences.edit();
         gson = new Gson();
+        searchHistory = SearchHistoryStore.getInstance(context);
     }
     
     public static synchronized LocalStorageManager getInstance(Context context) {
@@ -141,38 +143,17 @@ public class LocalStorageManager {
         return favorites.contains(productId);
     }
     
-    // Recent Searches
+    // Recent Searches (shared with search suggestions, see SearchHistoryStore)
     public void addRecentSearch(String searchQuery) {
-        List<String> recentSearches = getRecentSearches();
-        
-        // Remove if already exists to avoid duplicates
-        recentSearches.remove(searchQuery);
-        
-        // Add to beginning of list
-        recentSearches.add(0, searchQuery);
-        
-        // Keep only last 10 searches
-        if (recentSearches.size() > 10) {
-            recentSearches = recentSearches.subList(0, 10);
-        }
-        
-        String json = gson.toJson(recentSearches);
-        editor.putString(KEY_RECENT_SEARCHES, json);
-        editor.apply();
+        searchHistory.add(searchQuery);
     }
     
     public List<String> getRecentSearches() {
-        String json = sharedPreferences.getString(KEY_RECENT_SEARCHES, "");
-        if (json.isEmpty()) {
-            return new ArrayList<>();
-        }
-        Type type = new TypeToken<List<String>>(){}.getType();
-        return gson.fromJson(json, type);
+        return searchHistory.getNewestFirst();
     }
     
     public void clearRecentSearches() {
-        editor.remove(KEY_RECENT_SEARCHES);
-        editor.apply();
+        searchHistory.clear();
     }
     
     // App Settings
@@ -209,7 +190,7 @@ public class LocalStorageManager {
     }
     
     public String getCurrency() {
-        return sharedPreferences.getString(KEY_CURRENCY, "USD");
+        return sharedPreferences.getString(KEY_CURRENCY, Money.CURRENCY_CODE);
     }
     
     // Generic methods for custom data
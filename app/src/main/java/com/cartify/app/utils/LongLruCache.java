@@ -0,0 +1,157 @@
+package com.cartify.app.utils;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity LRU cache keyed by primitive longs.
+ * Lookups and hits allocate nothing (no boxed keys or map entries), which keeps it usable
+ * from onBindViewHolder. Entries live in preallocated arrays linked in recency order,
+ * indexed by an open-addressing table.
+ */
+public class LongLruCache<V> {
+
+    private static final int NONE = -1;
+
+    private final int capacity;
+    private final long[] keys;
+    private final Object[] values;
+    private final int[] prev;
+    private final int[] next;
+    // Open-addressing table of entry index + 1; 0 marks an empty bucket
+    private final int[] table;
+    private final int tableMask;
+    private int size;
+    private int head = NONE; // most recently used
+    private int tail = NONE; // least recently used
+    private long hits;
+    private long misses;
+
+    public LongLruCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        prev = new int[capacity];
+        next = new int[capacity];
+        // At most half full, so probe chains stay short
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        table = new int[tableSize];
+        tableMask = tableSize - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized V get(long key) {
+        int entry = find(key);
+        if (entry == NONE) {
+            misses++;
+            return null;
+        }
+        hits++;
+        moveToHead(entry);
+        return (V) values[entry];
+    }
+
+    public synchronized void put(long key, V value) {
+        int entry = find(key);
+        if (entry == NONE) {
+            if (size < capacity) {
+                entry = size++;
+            } else {
+                entry = tail;
+                unlink(entry);
+                removeFromTable(keys[entry]);
+            }
+            keys[entry] = key;
+            insertIntoTable(key, entry);
+            linkAtHead(entry);
+        } else {
+            moveToHead(entry);
+        }
+        values[entry] = value;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(table, 0);
+        Arrays.fill(values, null);
+        size = 0;
+        head = NONE;
+        tail = NONE;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    private int find(long key) {
+        for (int bucket = bucketOf(key); ; bucket = (bucket + 1) & tableMask) {
+            int slot = table[bucket];
+            if (slot == 0) return NONE;
+            if (keys[slot - 1] == key) return slot - 1;
+        }
+    }
+
+    private void insertIntoTable(long key, int entry) {
+        int bucket = bucketOf(key);
+        while (table[bucket] != 0) {
+            bucket = (bucket + 1) & tableMask;
+        }
+        table[bucket] = entry + 1;
+    }
+
+    private void removeFromTable(long key) {
+        int bucket = bucketOf(key);
+        while (keys[table[bucket] - 1] != key) {
+            bucket = (bucket + 1) & tableMask;
+        }
+        // Backward-shift deletion keeps every remaining key reachable from its home bucket
+        int hole = bucket;
+        table[hole] = 0;
+        for (int probe = (hole + 1) & tableMask; table[probe] != 0; probe = (probe + 1) & tableMask) {
+            int home = bucketOf(keys[table[probe] - 1]);
+            boolean movable = hole <= probe
+                ? home <= hole || home > probe
+                : home <= hole && home > probe;
+            if (movable) {
+                table[hole] = table[probe];
+                table[probe] = 0;
+                hole = probe;
+            }
+        }
+    }
+
+    private int bucketOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & tableMask;
+    }
+
+    private void moveToHead(int entry) {
+        if (entry == head) return;
+        unlink(entry);
+        linkAtHead(entry);
+    }
+
+    private void unlink(int entry) {
+        int before = prev[entry];
+        int after = next[entry];
+        if (before != NONE) next[before] = after; else head = after;
+        if (after != NONE) prev[after] = before; else tail = before;
+    }
+
+    private void linkAtHead(int entry) {
+        prev[entry] = NONE;
+        next[entry] = head;
+        if (head != NONE) prev[head] = entry;
+        head = entry;
+        if (tail == NONE) tail = entry;
+    }
+}
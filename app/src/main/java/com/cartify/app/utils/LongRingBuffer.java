@@ -0,0 +1,77 @@
+package com.cartify.app.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free ring of packed long entries that keeps the newest ones.
+ * Writers claim a slot with a single atomic increment and never block or allocate,
+ * so it is safe to call from frame callbacks. A reader racing a writer may see the
+ * slot's previous entry; callers that pack a timestamp into the entry can detect that.
+ */
+public class LongRingBuffer {
+
+    private final AtomicLongArray slots;
+    private final AtomicLong cursor = new AtomicLong();
+    private final int mask;
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public LongRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        slots = new AtomicLongArray(size);
+        mask = size - 1;
+    }
+
+    public void add(long entry) {
+        long index = cursor.getAndIncrement();
+        slots.lazySet((int) (index & mask), entry);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Number of entries ever added, including ones that have since been overwritten
+     */
+    public long totalAdded() {
+        return cursor.get();
+    }
+
+    /**
+     * Copies up to dest.length of the newest entries into dest, newest first, and returns the count
+     */
+    public int copyNewestFirst(long[] dest) {
+        long end = cursor.get();
+        int count = (int) Math.min(Math.min(end, capacity()), dest.length);
+        for (int i = 0; i < count; i++) {
+            dest[i] = slots.get((int) ((end - 1 - i) & mask));
+        }
+        return count;
+    }
+
+    /**
+     * The retained entries, oldest first
+     */
+    public long[] snapshot() {
+        long[] newestFirst = new long[capacity()];
+        int count = copyNewestFirst(newestFirst);
+        long[] oldestFirst = new long[count];
+        for (int i = 0; i < count; i++) {
+            oldestFirst[i] = newestFirst[count - 1 - i];
+        }
+        return oldestFirst;
+    }
+
+    public void clear() {
+        cursor.set(0);
+    }
+}
@@ -0,0 +1,485 @@
+package com.cartify.app.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.cartify.app.data.DataCallback;
+import com.cartify.app.data.DataSourceException;
+import com.cartify.app.data.DataSources;
+import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Order;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * MutationOutbox - Durable, ordered queue of cart and order writes
+ * Every mutation is persisted before it is sent and carries an idempotency key,
+ * so writes made while offline are replayed (with exponential backoff) once the
+ * network comes back instead of being lost.
+ */
+public class MutationOutbox {
+
+    public static final String TYPE_ADD_TO_CART = "add_to_cart";
+    public static final String TYPE_SET_QUANTITY = "set_quantity";
+    public static final String TYPE_REMOVE_ITEM = "remove_item";
+    public static final String TYPE_CLEAR_CART = "clear_cart";
+    public static final String TYPE_PLACE_ORDER = "place_order";
+
+    private static final String PREFS_NAME = "mutation_outbox";
+    private static final String KEY_ENTRIES = "entries";
+
+    private static final long INITIAL_BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 5 * 60 * 1000;
+    private static final long ATTEMPT_TIMEOUT_MS = 15000;
+
+    /**
+     * Persisted outbox entry
+     */
+    public static class Entry {
+        private String id;
+        private String type;
+        private String userId;
+        private String productId;
+        private int quantity;
+        private CartItem cartItem;
+        private Order order;
+        private long createdAt;
+        private int attempts;
+        private long nextAttemptAt;
+
+        // Default constructor required for Gson
+        public Entry() {}
+
+        Entry(String type, String userId, String productId) {
+            this.id = UUID.randomUUID().toString();
+            this.type = type;
+            this.userId = userId;
+            this.productId = productId;
+            this.createdAt = System.currentTimeMillis();
+        }
+
+        public String getId() { return id; }
+        public String getType() { return type; }
+        public String getUserId() { return userId; }
+        public String getProductId() { return productId; }
+        public int getQuantity() { return quantity; }
+        public long getCreatedAt() { return createdAt; }
+        public int getAttempts() { return attempts; }
+    }
+
+    /**
+     * Outcome callback for a queued mutation. Only held in memory, so callbacks
+     * are dropped if the process dies; the mutation itself is still replayed.
+     */
+    public interface Callback {
+        void onApplied();
+        void onDeferred();
+        void onFailed(String errorMessage);
+    }
+
+    /**
+     * Point-in-time view of the outbox for monitoring
+     */
+    public static class Metrics {
+        private final int depth;
+        private final long oldestEntryAgeMs;
+        private final long appliedCount;
+        private final long retryCount;
+        private final long collapsedCount;
+        private final long droppedCount;
+
+        Metrics(int depth, long oldestEntryAgeMs, long appliedCount, long retryCount,
+                long collapsedCount, long droppedCount) {
+            this.depth = depth;
+            this.oldestEntryAgeMs = oldestEntryAgeMs;
+            this.appliedCount = appliedCount;
+            this.retryCount = retryCount;
+            this.collapsedCount = collapsedCount;
+            this.droppedCount = droppedCount;
+        }
+
+        public int getDepth() { return depth; }
+        public long getOldestEntryAgeMs() { return oldestEntryAgeMs; }
+        public long getAppliedCount() { return appliedCount; }
+        public long getRetryCount() { return retryCount; }
+        public long getCollapsedCount() { return collapsedCount; }
+        public long getDroppedCount() { return droppedCount; }
+    }
+
+    private static MutationOutbox instance;
+
+    private final SharedPreferences prefs;
+    private final Gson gson;
+    private final Handler handler;
+    private final Random random = new Random();
+    private final List<Entry> entries;
+    private final Map<String, List<Callback>> callbacks = new HashMap<>();
+
+    private Entry inFlight;
+    private int attemptToken;
+    private long appliedCount;
+    private long retryCount;
+    private long collapsedCount;
+    private long droppedCount;
+
+    private final Runnable drainRunnable = this::drain;
+
+    private MutationOutbox(Context context) {
+        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        gson = new Gson();
+        handler = new Handler(Looper.getMainLooper());
+        entries = loadEntries();
+        registerNetworkCallback(context);
+        scheduleDrain(0);
+    }
+
+    public static synchronized MutationOutbox getInstance(Context context) {
+        if (instance == null) {
+            instance = new MutationOutbox(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    // Enqueue methods (main thread)
+    public String enqueueAddToCart(String userId, CartItem cartItem, Callback callback) {
+        Entry entry = new Entry(TYPE_ADD_TO_CART, userId, cartItem.getProductId());
+        entry.quantity = cartItem.getQuantity();
+        entry.cartItem = cartItem;
+        return enqueue(entry, callback);
+    }
+
+    public String enqueueSetQuantity(String userId, String productId, int quantity, Callback callback) {
+        Entry entry = new Entry(TYPE_SET_QUANTITY, userId, productId);
+        entry.quantity = quantity;
+        return enqueue(entry, callback);
+    }
+
+    public String enqueueRemoveItem(String userId, String productId, Callback callback) {
+        return enqueue(new Entry(TYPE_REMOVE_ITEM, userId, productId), callback);
+    }
+
+    public String enqueueClearCart(String userId, Callback callback) {
+        return enqueue(new Entry(TYPE_CLEAR_CART, userId, null), callback);
+    }
+
+    public String enqueuePlaceOrder(Order order, Callback callback) {
+        Entry entry = new Entry(TYPE_PLACE_ORDER, order.getUserId(), null);
+        // The idempotency key doubles as the order document ID, so a replay overwrites instead of duplicating
+        order.setOrderId(entry.id);
+        entry.order = order;
+        return enqueue(entry, callback);
+    }
+
+    public Metrics getMetrics() {
+        long oldestAge = entries.isEmpty() ? 0 : System.currentTimeMillis() - entries.get(0).createdAt;
+        return new Metrics(entries.size(), oldestAge, appliedCount, retryCount, collapsedCount, droppedCount);
+    }
+
+    /**
+     * Retries the signed-in user's next mutation immediately, e.g. after connectivity returns
+     */
+    public void drainNow() {
+        Entry next = nextForCurrentUser();
+        if (next != null && inFlight == null) {
+            next.nextAttemptAt = 0;
+        }
+        scheduleDrain(0);
+    }
+
+    private String enqueue(Entry entry, Callback callback) {
+        Entry survivor = collapse(entry);
+        if (survivor == entry) {
+            entries.add(entry);
+        }
+        if (callback != null) {
+            addCallback(survivor.id, callback);
+        }
+        persist();
+        scheduleDrain(0);
+        return survivor.id;
+    }
+
+    /**
+     * Folds a new entry into queued entries it supersedes.
+     * Returns the entry that now represents the mutation (the new one, or a merged older one).
+     */
+    private Entry collapse(Entry entry) {
+        if (entry.productId == null) {
+            return entry;
+        }
+
+        if (TYPE_ADD_TO_CART.equals(entry.type)) {
+            // Consecutive adds for the same line merge into one increment
+            Entry last = findLastForLine(entry.userId, entry.productId);
+            if (last != null && last != inFlight && TYPE_ADD_TO_CART.equals(last.type)) {
+                last.quantity += entry.quantity;
+                last.cartItem.setQuantity(last.quantity);
+                collapsedCount++;
+                return last;
+            }
+            return entry;
+        }
+
+        // An absolute quantity or a removal makes earlier quantity changes for the line irrelevant
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            Entry queued = iterator.next();
+            if (queued == inFlight || !isSameLine(queued, entry.userId, entry.productId)) continue;
+
+            boolean superseded = TYPE_SET_QUANTITY.equals(queued.type)
+                || (TYPE_REMOVE_ITEM.equals(entry.type) && TYPE_ADD_TO_CART.equals(queued.type));
+            if (superseded) {
+                iterator.remove();
+                moveCallbacks(queued.id, entry.id);
+                collapsedCount++;
+            }
+        }
+        return entry;
+    }
+
+    private Entry findLastForLine(String userId, String productId) {
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            Entry queued = entries.get(i);
+            if (isSameLine(queued, userId, productId)) {
+                return queued;
+            }
+            if (queued.productId == null && queued.userId.equals(userId)) {
+                // Clear cart or place order sits between, so the adds cannot be merged
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private boolean isSameLine(Entry entry, String userId, String productId) {
+        return productId.equals(entry.productId) && userId.equals(entry.userId);
+    }
+
+    // Replay loop
+    private void scheduleDrain(long delayMs) {
+        handler.removeCallbacks(drainRunnable);
+        handler.postDelayed(drainRunnable, delayMs);
+    }
+
+    private void drain() {
+        if (inFlight != null) return;
+
+        Entry head = nextForCurrentUser();
+        if (head == null) return;
+
+        long wait = head.nextAttemptAt - System.currentTimeMillis();
+        if (wait > 0) {
+            scheduleDrain(wait);
+            return;
+        }
+
+        inFlight = head;
+        head.attempts++;
+        int token = ++attemptToken;
+
+        handler.postDelayed(() -> {
+            if (token == attemptToken && inFlight == head) {
+                onAttemptFailed(head, new DataSourceException("Request timed out", true));
+            }
+        }, ATTEMPT_TIMEOUT_MS);
+
+        execute(head, new DataCallback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+                if (token == attemptToken && inFlight == head) onAttemptSucceeded(head);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (token == attemptToken && inFlight == head) onAttemptFailed(head, e);
+            }
+        });
+    }
+
+    /**
+     * Oldest mutation of the signed-in user. Other users' mutations stay parked in place until
+     * they sign back in, without holding up the current user's writes.
+     */
+    private Entry nextForCurrentUser() {
+        String currentUserId = FirebaseHelper.getCurrentUserId();
+        if (currentUserId == null) return null;
+        for (Entry entry : entries) {
+            if (currentUserId.equals(entry.userId)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private void onAttemptSucceeded(Entry entry) {
+        attemptToken++;
+        inFlight = null;
+        entries.remove(entry);
+        appliedCount++;
+        persist();
+
+        for (Callback callback : takeCallbacks(entry.id)) {
+            callback.onApplied();
+        }
+        scheduleDrain(0);
+    }
+
+    private void onAttemptFailed(Entry entry, Exception e) {
+        attemptToken++;
+        inFlight = null;
+
+        if (isRetryable(e)) {
+            retryCount++;
+            entry.nextAttemptAt = System.currentTimeMillis() + backoffDelay(entry.attempts);
+            persist();
+
+            if (entry.attempts == 1) {
+                List<Callback> entryCallbacks = callbacks.get(entry.id);
+                if (entryCallbacks != null) {
+                    for (Callback callback : new ArrayList<>(entryCallbacks)) {
+                        callback.onDeferred();
+                    }
+                }
+            }
+            scheduleDrain(entry.nextAttemptAt - System.currentTimeMillis());
+            return;
+        }
+
+        // Permanent failure: drop the entry so it does not block everything behind it
+        entries.remove(entry);
+        droppedCount++;
+        persist();
+
+        String message = e.getMessage() != null ? e.getMessage() : "Request failed";
+        for (Callback callback : takeCallbacks(entry.id)) {
+            callback.onFailed(message);
+        }
+        scheduleDrain(0);
+    }
+
+    private long backoffDelay(int attempts) {
+        long delay = INITIAL_BACKOFF_MS << Math.min(attempts - 1, 20);
+        delay = Math.min(delay, MAX_BACKOFF_MS);
+        // Full jitter keeps many devices from retrying in lockstep
+        return delay / 2 + (long) (random.nextDouble() * (delay / 2));
+    }
+
+    private boolean isRetryable(Exception e) {
+        // Continuations surface Firestore errors wrapped in RuntimeExecutionException
+        while (!(e instanceof FirebaseFirestoreException) && !(e instanceof DataSourceException)
+                && e.getCause() instanceof Exception) {
+            e = (Exception) e.getCause();
+        }
+        if (e instanceof DataSourceException) {
+            return ((DataSourceException) e).isRetryable();
+        }
+        if (!(e instanceof FirebaseFirestoreException)) {
+            // Anything else (a bug, bad input) fails the same way every time
+            return false;
+        }
+        switch (((FirebaseFirestoreException) e).getCode()) {
+            case UNAVAILABLE:
+            case DEADLINE_EXCEEDED:
+            case ABORTED:
+            case RESOURCE_EXHAUSTED:
+            case INTERNAL:
+            case UNKNOWN:
+            case CANCELLED:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // Execution of individual mutation types
+    private void execute(Entry entry, DataCallback<Void> callback) {
+        switch (entry.type) {
+            case TYPE_ADD_TO_CART:
+                // The entry ID makes the increment idempotent across retries
+                DataSources.cart().addToCart(entry.userId, entry.cartItem, entry.quantity, entry.id, callback);
+                break;
+            case TYPE_SET_QUANTITY:
+                DataSources.cart().setQuantity(entry.userId, entry.productId, entry.quantity, callback);
+                break;
+            case TYPE_REMOVE_ITEM:
+                DataSources.cart().removeItem(entry.userId, entry.productId, callback);
+                break;
+            case TYPE_CLEAR_CART:
+                DataSources.cart().clearCart(entry.userId, callback);
+                break;
+            case TYPE_PLACE_ORDER:
+                DataSources.orders().placeOrder(entry.userId, entry.order, callback);
+                break;
+            default:
+                callback.onFailure(new DataSourceException("Unknown mutation type: " + entry.type, false));
+        }
+    }
+
+    // Callbacks
+    private void addCallback(String entryId, Callback callback) {
+        List<Callback> list = callbacks.get(entryId);
+        if (list == null) {
+            list = new ArrayList<>();
+            callbacks.put(entryId, list);
+        }
+        list.add(callback);
+    }
+
+    private void moveCallbacks(String fromId, String toId) {
+        List<Callback> moved = callbacks.remove(fromId);
+        if (moved != null) {
+            for (Callback callback : moved) {
+                addCallback(toId, callback);
+            }
+        }
+    }
+
+    private List<Callback> takeCallbacks(String entryId) {
+        List<Callback> list = callbacks.remove(entryId);
+        return list != null ? list : new ArrayList<>();
+    }
+
+    // Persistence
+    private List<Entry> loadEntries() {
+        String json = prefs.getString(KEY_ENTRIES, "");
+        if (json.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Type type = new TypeToken<List<Entry>>(){}.getType();
+        List<Entry> loaded = gson.fromJson(json, type);
+        return loaded != null ? loaded : new ArrayList<>();
+    }
+
+    private void persist() {
+        prefs.edit()
+            .putString(KEY_ENTRIES, gson.toJson(entries))
+            .apply();
+    }
+
+    private void registerNetworkCallback(Context context) {
+        ConnectivityManager connectivityManager =
+            (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivityManager == null) return;
+
+        connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onAvailable(Network network) {
+                handler.post(MutationOutbox.this::drainNow);
+            }
+        });
+    }
+}
@@ -0,0 +1,228 @@
+package com.cartify.app.utils;
+
+import com.cartify.app.models.CartItem;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optimistic mutation layer for the shopping cart.
+ * Changes are applied to the local cart list immediately and tracked as pending
+ * until Firestore acknowledges them. A failed write rolls back only the affected line.
+ * Writes go through the MutationOutbox, so changes made offline stay pending and are
+ * replayed later instead of being rolled back. The outbox outlives the screen, so the owner
+ * calls detach when it goes away and results arriving after that are ignored.
+ */
+public class OptimisticCartManager {
+
+    /**
+     * Receives fine-grained change notifications for the local cart list
+     */
+    public interface Listener {
+        void onItemChanged(int position);
+        void onItemInserted(int position);
+        void onItemRemoved(int position);
+        void onMutationFailed(CartItem item, String errorMessage);
+    }
+
+    /**
+     * A local change that has not been acknowledged by the server yet
+     */
+    private static class PendingMutation {
+        final long sequence;
+        final int quantity;
+        final boolean removal;
+
+        PendingMutation(long sequence, int quantity, boolean removal) {
+            this.sequence = sequence;
+            this.quantity = quantity;
+            this.removal = removal;
+        }
+    }
+
+    private final List<CartItem> cartItems;
+    // Null once detached
+    private Listener listener;
+    private final MutationOutbox outbox;
+    private final Map<String, PendingMutation> pendingMutations = new HashMap<>();
+    private final Map<String, Integer> confirmedQuantities = new HashMap<>();
+    private long nextSequence = 1;
+
+    public OptimisticCartManager(List<CartItem> cartItems, Listener listener, MutationOutbox outbox) {
+        this.cartItems = cartItems;
+        this.listener = listener;
+        this.outbox = outbox;
+    }
+
+    /**
+     * Drops the listener; writes already queued still go out, but their results are ignored
+     */
+    public void detach() {
+        listener = null;
+        pendingMutations.clear();
+        confirmedQuantities.clear();
+    }
+
+    /**
+     * Applies a quantity change locally and queues the write in the background
+     */
+    public void changeQuantity(String userId, CartItem item, int newQuantity) {
+        String productId = item.getProductId();
+        if (!pendingMutations.containsKey(productId)) {
+            confirmedQuantities.put(productId, item.getQuantity());
+        }
+
+        long sequence = nextSequence++;
+        pendingMutations.put(productId, new PendingMutation(sequence, newQuantity, false));
+
+        item.setQuantity(newQuantity);
+        int position = cartItems.indexOf(item);
+        if (position >= 0) {
+            listener.onItemChanged(position);
+        }
+
+        outbox.enqueueSetQuantity(userId, productId, newQuantity, new MutationOutbox.Callback() {
+            @Override
+            public void onApplied() {
+                onQuantityAcknowledged(productId, sequence, newQuantity);
+            }
+
+            @Override
+            public void onDeferred() {
+                // Stays pending until the outbox replays it
+            }
+
+            @Override
+            public void onFailed(String errorMessage) {
+                onQuantityRejected(productId, sequence);
+            }
+        });
+    }
+
+    /**
+     * Removes a line locally and queues the delete in the background
+     */
+    public void removeItem(String userId, CartItem item) {
+        String productId = item.getProductId();
+        int position = cartItems.indexOf(item);
+        if (position < 0) {
+            return;
+        }
+        if (!pendingMutations.containsKey(productId)) {
+            confirmedQuantities.put(productId, item.getQuantity());
+        }
+
+        long sequence = nextSequence++;
+        pendingMutations.put(productId, new PendingMutation(sequence, 0, true));
+
+        cartItems.remove(position);
+        listener.onItemRemoved(position);
+
+        outbox.enqueueRemoveItem(userId, productId, new MutationOutbox.Callback() {
+            @Override
+            public void onApplied() {
+                if (listener != null && isLatest(productId, sequence)) {
+                    pendingMutations.remove(productId);
+                    confirmedQuantities.remove(productId);
+                }
+            }
+
+            @Override
+            public void onDeferred() {
+                // Stays removed locally until the outbox replays it
+            }
+
+            @Override
+            public void onFailed(String errorMessage) {
+                onRemovalRejected(productId, sequence, item, position);
+            }
+        });
+    }
+
+    /**
+     * Re-applies pending local changes on top of a fresh server snapshot,
+     * so an older snapshot never flickers an in-flight change back
+     */
+    public void applyPendingOverlay(List<CartItem> serverItems) {
+        if (pendingMutations.isEmpty()) return;
+        for (int i = serverItems.size() - 1; i >= 0; i--) {
+            CartItem item = serverItems.get(i);
+            PendingMutation pending = pendingMutations.get(item.getProductId());
+            if (pending == null) continue;
+            if (pending.removal) {
+                serverItems.remove(i);
+            } else {
+                item.setQuantity(pending.quantity);
+            }
+        }
+    }
+
+    public boolean hasPendingMutations() {
+        return !pendingMutations.isEmpty();
+    }
+
+    public boolean isPending(String productId) {
+        return pendingMutations.containsKey(productId);
+    }
+
+    private void onQuantityAcknowledged(String productId, long sequence, int quantity) {
+        if (listener == null) return;
+        PendingMutation pending = pendingMutations.get(productId);
+        if (pending == null || pending.sequence < sequence) {
+            return;
+        }
+        confirmedQuantities.put(productId, quantity);
+        if (pending.sequence == sequence) {
+            pendingMutations.remove(productId);
+            confirmedQuantities.remove(productId);
+        }
+    }
+
+    private void onQuantityRejected(String productId, long sequence) {
+        // A newer change for the same line supersedes this one and decides the outcome
+        if (listener == null || !isLatest(productId, sequence)) return;
+
+        pendingMutations.remove(productId);
+        Integer confirmed = confirmedQuantities.remove(productId);
+
+        CartItem item = findItem(productId);
+        if (item == null) return;
+        if (confirmed != null) {
+            item.setQuantity(confirmed);
+        }
+        listener.onItemChanged(cartItems.indexOf(item));
+        listener.onMutationFailed(item, "Failed to update quantity");
+    }
+
+    private void onRemovalRejected(String productId, long sequence, CartItem item, int position) {
+        if (listener == null || !isLatest(productId, sequence)) return;
+
+        pendingMutations.remove(productId);
+        Integer confirmed = confirmedQuantities.remove(productId);
+        if (confirmed != null) {
+            item.setQuantity(confirmed);
+        }
+
+        if (findItem(productId) == null) {
+            int restorePosition = Math.min(position, cartItems.size());
+            cartItems.add(restorePosition, item);
+            listener.onItemInserted(restorePosition);
+        }
+        listener.onMutationFailed(item, "Failed to remove item");
+    }
+
+    private boolean isLatest(String productId, long sequence) {
+        PendingMutation pending = pendingMutations.get(productId);
+        return pending != null && pending.sequence == sequence;
+    }
+
+    private CartItem findItem(String productId) {
+        for (CartItem item : cartItems) {
+            if (productId.equals(item.getProductId())) {
+                return item;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,207 @@
+package com.cartify.app.utils;
+
+import android.os.Build;
+import android.os.SystemClock;
+import android.os.Trace;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records per-operation latency and payload size histograms for data access calls.
+ * Every span also shows up as a named async trace section in system traces (API 29+),
+ * so the same operations can be lined up against frames in Perfetto.
+ */
+public class PerfTracer {
+
+    private static final double[] REPORTED_PERCENTILES = {50, 90, 99, 99.9};
+
+    private static PerfTracer instance;
+
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCookie = new AtomicInteger();
+    private long startedAtMillis = System.currentTimeMillis();
+
+    public static synchronized PerfTracer getInstance() {
+        if (instance == null) {
+            instance = new PerfTracer();
+        }
+        return instance;
+    }
+
+    /**
+     * Latency, payload and failure counts for one named operation
+     */
+    public static class OperationStats {
+        private final String name;
+        private final LatencyHistogram latencyMicros = new LatencyHistogram();
+        private final LatencyHistogram payloadBytes = new LatencyHistogram();
+        private final AtomicLong failures = new AtomicLong();
+
+        OperationStats(String name) {
+            this.name = name;
+        }
+
+        private OperationStats(OperationStats source) {
+            name = source.name;
+            latencyMicros.copyFrom(source.latencyMicros);
+            payloadBytes.copyFrom(source.payloadBytes);
+            failures.set(source.failures.get());
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LatencyHistogram getLatencyMicros() {
+            return latencyMicros;
+        }
+
+        public LatencyHistogram getPayloadBytes() {
+            return payloadBytes;
+        }
+
+        public long getFailures() {
+            return failures.get();
+        }
+    }
+
+    /**
+     * One in-flight operation; finish it exactly once
+     */
+    public class Span {
+        private final String operation;
+        private final long startNanos;
+        private final int cookie;
+        private boolean finished;
+
+        Span(String operation) {
+            this.operation = operation;
+            this.startNanos = SystemClock.elapsedRealtimeNanos();
+            this.cookie = nextCookie.incrementAndGet();
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                Trace.beginAsyncSection(operation, cookie);
+            }
+        }
+
+        public void finish(boolean success, long payloadBytes) {
+            synchronized (this) {
+                if (finished) return;
+                finished = true;
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                Trace.endAsyncSection(operation, cookie);
+            }
+            long micros = (SystemClock.elapsedRealtimeNanos() - startNanos) / 1000;
+            OperationStats stats = stats(operation);
+            stats.latencyMicros.record(micros);
+            if (success) {
+                stats.payloadBytes.record(payloadBytes);
+            } else {
+                stats.failures.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Starts timing an operation, e.g. "cart.addToCart"
+     */
+    public Span start(String operation) {
+        return new Span(operation);
+    }
+
+    /**
+     * Records a call that was timed elsewhere, such as a listener callback's run time
+     */
+    public void record(String operation, long micros, long payloadBytes) {
+        OperationStats stats = stats(operation);
+        stats.latencyMicros.record(micros);
+        stats.payloadBytes.record(payloadBytes);
+    }
+
+    /**
+     * Copies of all operations, the ones with the most total time first
+     */
+    public List<OperationStats> snapshot() {
+        List<OperationStats> copies = new ArrayList<>();
+        for (OperationStats stats : operations.values()) {
+            copies.add(new OperationStats(stats));
+        }
+        copies.sort((a, b) -> Long.compare(b.latencyMicros.getTotal(), a.latencyMicros.getTotal()));
+        return copies;
+    }
+
+    public void reset() {
+        operations.clear();
+        startedAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Writes the current snapshot as JSON into the directory and returns the file
+     */
+    public File exportReport(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        File file = new File(directory, "perf-report-" + timestamp + ".json");
+
+        try (JsonWriter writer = new JsonWriter(new FileWriter(file))) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("startedAt").value(startedAtMillis);
+            writer.name("exportedAt").value(System.currentTimeMillis());
+            writer.name("operations").beginArray();
+            for (OperationStats stats : snapshot()) {
+                writer.beginObject();
+                writer.name("name").value(stats.name);
+                writer.name("count").value(stats.latencyMicros.getCount());
+                writer.name("failures").value(stats.getFailures());
+                writeHistogram(writer, "latencyMicros", stats.latencyMicros);
+                writeHistogram(writer, "payloadBytes", stats.payloadBytes);
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+        return file;
+    }
+
+    private static void writeHistogram(JsonWriter writer, String name, LatencyHistogram histogram) throws IOException {
+        writer.name(name).beginObject();
+        writer.name("total").value(histogram.getTotal());
+        writer.name("min").value(histogram.getMin());
+        writer.name("mean").value(histogram.getMean());
+        writer.name("max").value(histogram.getMax());
+        for (double percentile : REPORTED_PERCENTILES) {
+            writer.name("p" + formatPercentile(percentile)).value(histogram.valueAtPercentile(percentile));
+        }
+        writer.endObject();
+    }
+
+    static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile)
+            ? String.valueOf((long) percentile)
+            : String.valueOf(percentile).replace('.', '_');
+    }
+
+    private OperationStats stats(String operation) {
+        OperationStats stats = operations.get(operation);
+        if (stats == null) {
+            stats = operations.computeIfAbsent(operation, OperationStats::new);
+        }
+        return stats;
+    }
+}
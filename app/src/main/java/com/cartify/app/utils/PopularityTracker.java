@@ -0,0 +1,255 @@
+package com.cartify.app.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streaming "most frequent terms" tracker with fixed memory.
+ * Counts go into a count-min sketch (conservative update), and the heaviest terms seen so far
+ * are kept in a small min-heap next to it. Older occurrences fade with a half-life: each new
+ * occurrence is weighted 2^(age of the epoch / half-life), and everything is rescaled now and
+ * then so the numbers stay small. Memory is depth * width counters plus capacity terms,
+ * however many terms are recorded. Not thread-safe; callers synchronize.
+ */
+public class PopularityTracker {
+
+    private static final int FORMAT_VERSION = 1;
+    // Rescale before the weights get large enough to cost float precision
+    private static final double RESCALE_ABOVE = 1024;
+
+    private final int depth;
+    private final int width;
+    private final int capacity;
+    private final long halfLifeMillis;
+    private final float[] counters;
+    // Time at which one occurrence weighs exactly 1
+    private long epochMillis;
+
+    // Min-heap on counts, so the weakest tracked term is at the root
+    private final String[] terms;
+    private final float[] counts;
+    private int size;
+
+    /**
+     * @param width rounded up to a power of two
+     */
+    public PopularityTracker(int depth, int width, int capacity, long halfLifeMillis, long nowMillis) {
+        if (depth <= 0 || width <= 0 || capacity <= 0 || halfLifeMillis <= 0) {
+            throw new IllegalArgumentException("Sizes and half-life must be positive");
+        }
+        int rounded = Integer.highestOneBit(width);
+        this.width = rounded < width ? rounded << 1 : rounded;
+        this.depth = depth;
+        this.capacity = capacity;
+        this.halfLifeMillis = halfLifeMillis;
+        this.counters = new float[depth * this.width];
+        this.terms = new String[capacity];
+        this.counts = new float[capacity];
+        this.epochMillis = nowMillis;
+    }
+
+    public void record(String term, long nowMillis) {
+        float estimate = addToSketch(term, (float) weightAt(nowMillis));
+
+        int index = indexOf(term);
+        if (index >= 0) {
+            counts[index] = estimate;
+            siftDown(index);
+        } else if (size < capacity) {
+            terms[size] = term;
+            counts[size] = estimate;
+            siftUp(size++);
+        } else if (estimate > counts[0]) {
+            terms[0] = term;
+            counts[0] = estimate;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Decayed number of occurrences; never less than the true decayed count
+     */
+    public double estimate(String term, long nowMillis) {
+        double weight = weightAt(nowMillis);
+        float min = Float.MAX_VALUE;
+        int h1 = term.hashCode();
+        int h2 = secondHash(h1);
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[slot(row, h1, h2)]);
+        }
+        return min / weight;
+    }
+
+    /**
+     * Appends up to limit tracked terms whose decayed count is at least minCount, most frequent
+     * first, and returns how many
+     */
+    public int top(int limit, double minCount, long nowMillis, List<String> out) {
+        double threshold = minCount * weightAt(nowMillis);
+        int found = 0;
+        // The heap holds at most capacity entries, so a selection pass per result is cheap
+        boolean[] taken = new boolean[size];
+        while (found < limit) {
+            int best = -1;
+            for (int i = 0; i < size; i++) {
+                if (!taken[i] && counts[i] >= threshold && (best < 0 || counts[i] > counts[best])) {
+                    best = i;
+                }
+            }
+            if (best < 0) break;
+            taken[best] = true;
+            out.add(terms[best]);
+            found++;
+        }
+        return found;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Compact binary form: the raw counters plus the tracked terms
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(counters.length * 4 + size * 16 + 32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(depth);
+            out.writeInt(width);
+            out.writeLong(epochMillis);
+            for (float counter : counters) {
+                out.writeFloat(counter);
+            }
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeUTF(terms[i]);
+                out.writeFloat(counts[i]);
+            }
+        } catch (IOException e) {
+            // Writing to memory doesn't fail
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores a tracker written by toBytes. Data from a different sketch size or format is
+     * dropped and an empty tracker is returned instead.
+     */
+    public static PopularityTracker fromBytes(byte[] data, int depth, int width, int capacity,
+                                              long halfLifeMillis, long nowMillis) {
+        PopularityTracker tracker = new PopularityTracker(depth, width, capacity, halfLifeMillis, nowMillis);
+        if (data == null || data.length == 0) return tracker;
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != FORMAT_VERSION || in.readInt() != tracker.depth || in.readInt() != tracker.width) {
+                return tracker;
+            }
+            tracker.epochMillis = in.readLong();
+            for (int i = 0; i < tracker.counters.length; i++) {
+                tracker.counters[i] = in.readFloat();
+            }
+            int stored = in.readInt();
+            for (int i = 0; i < stored; i++) {
+                String term = in.readUTF();
+                float count = in.readFloat();
+                if (tracker.size < capacity) {
+                    tracker.terms[tracker.size] = term;
+                    tracker.counts[tracker.size] = count;
+                    tracker.siftUp(tracker.size++);
+                } else if (count > tracker.counts[0]) {
+                    tracker.terms[0] = term;
+                    tracker.counts[0] = count;
+                    tracker.siftDown(0);
+                }
+            }
+            return tracker;
+        } catch (IOException e) {
+            return new PopularityTracker(depth, width, capacity, halfLifeMillis, nowMillis);
+        }
+    }
+
+    private double weightAt(long nowMillis) {
+        double weight = Math.pow(2, Math.max(0, nowMillis - epochMillis) / (double) halfLifeMillis);
+        if (weight > RESCALE_ABOVE) {
+            float scale = (float) (1 / weight);
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] *= scale;
+            }
+            for (int i = 0; i < size; i++) {
+                counts[i] *= scale;
+            }
+            epochMillis = nowMillis;
+            weight = 1;
+        }
+        return weight;
+    }
+
+    private float addToSketch(String term, float weight) {
+        int h1 = term.hashCode();
+        int h2 = secondHash(h1);
+        float min = Float.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[slot(row, h1, h2)]);
+        }
+        // Conservative update: only raise the counters that would otherwise fall short
+        float target = min + weight;
+        for (int row = 0; row < depth; row++) {
+            int slot = slot(row, h1, h2);
+            if (counters[slot] < target) counters[slot] = target;
+        }
+        return target;
+    }
+
+    private int slot(int row, int h1, int h2) {
+        return row * width + ((h1 + row * h2) & (width - 1));
+    }
+
+    private static int secondHash(int h1) {
+        int h = h1 * 0x9E3779B9;
+        return (h ^ (h >>> 16)) | 1;
+    }
+
+    private int indexOf(String term) {
+        for (int i = 0; i < size; i++) {
+            if (terms[i].equals(term)) return i;
+        }
+        return -1;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (counts[parent] <= counts[i]) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) smallest = left;
+            if (right < size && counts[right] < counts[smallest]) smallest = right;
+            if (smallest == i) return;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String term = terms[a];
+        terms[a] = terms[b];
+        terms[b] = term;
+        float count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+    }
+}
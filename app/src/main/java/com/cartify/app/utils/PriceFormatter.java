@@ -0,0 +1,81 @@
+package com.cartify.app.utils;
+
+import com.cartify.app.models.Money;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+
+/**
+ * Formats amounts of one currency for one locale and remembers the results.
+ * Amounts are rounded to the currency's minor units (cents for USD) and cached by that
+ * value, so a catalog's worth of prices is formatted once and every later bind is a lookup.
+ */
+public class PriceFormatter {
+
+    private static final int CACHE_SIZE = 1024;
+
+    private final Currency currency;
+    private final Locale locale;
+    private final NumberFormat numberFormat;
+    private final int fractionDigits;
+    private final double minorUnitsPerMajor;
+    private final LongLruCache<String> cache = new LongLruCache<>(CACHE_SIZE);
+
+    public PriceFormatter(Currency currency, Locale locale) {
+        this.currency = currency;
+        this.locale = locale;
+        this.fractionDigits = Math.max(0, currency.getDefaultFractionDigits());
+        this.minorUnitsPerMajor = Math.pow(10, fractionDigits);
+        this.numberFormat = NumberFormat.getCurrencyInstance(locale);
+        numberFormat.setCurrency(currency);
+        numberFormat.setMinimumFractionDigits(fractionDigits);
+        numberFormat.setMaximumFractionDigits(fractionDigits);
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * The amount in minor units, e.g. 35.5 USD is 3550
+     */
+    public long toMinorUnits(double amount) {
+        return Math.round(amount * minorUnitsPerMajor);
+    }
+
+    public String format(double amount) {
+        return formatMinorUnits(toMinorUnits(amount));
+    }
+
+    /**
+     * Formats an amount held in cents (see Money); currencies with other minor units are rescaled
+     */
+    public String formatCents(long cents) {
+        if (fractionDigits == 2) {
+            return formatMinorUnits(cents);
+        }
+        return format(Money.toMajorUnits(cents));
+    }
+
+    public String formatMinorUnits(long minorUnits) {
+        String formatted = cache.get(minorUnits);
+        if (formatted == null) {
+            // NumberFormat isn't thread-safe; misses are rare enough to just lock
+            synchronized (numberFormat) {
+                formatted = numberFormat.format(BigDecimal.valueOf(minorUnits, fractionDigits));
+            }
+            cache.put(minorUnits, formatted);
+        }
+        return formatted;
+    }
+
+    LongLruCache<String> cache() {
+        return cache;
+    }
+}
@@ -0,0 +1,74 @@
+package com.cartify.app.utils;
+
+import com.cartify.app.models.Money;
+import com.cartify.app.models.Product;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Products of one list sorted by price, for range queries by binary search.
+ * Each entry packs the price in cents above the product's position in the list into one long,
+ * so the index is a single primitive array and a range query costs O(log n + k).
+ * Immutable; rebuild it when the list changes.
+ */
+public class PriceIndex {
+
+    private static final int POSITION_BITS = 31;
+    private static final long POSITION_MASK = (1L << POSITION_BITS) - 1;
+    // Largest price that still fits above the position bits
+    private static final long MAX_CENTS = Long.MAX_VALUE >> POSITION_BITS;
+
+    private final long[] entries;
+
+    public PriceIndex(List<Product> products) {
+        long[] packed = new long[products.size()];
+        int count = 0;
+        for (int i = 0; i < packed.length; i++) {
+            double price = products.get(i).getPrice();
+            // Products without a usable price never match a range
+            if (Double.isNaN(price) || Double.isInfinite(price) || price < 0) continue;
+            packed[count++] = (Math.min(Money.toMinorUnits(price), MAX_CENTS) << POSITION_BITS) | i;
+        }
+        entries = count == packed.length ? packed : Arrays.copyOf(packed, count);
+        Arrays.sort(entries);
+    }
+
+    /**
+     * Number of products indexed
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Positions of the products priced from minCents to maxCents inclusive, in list order
+     */
+    public int[] positionsBetween(long minCents, long maxCents) {
+        if (minCents > maxCents || maxCents < 0) return new int[0];
+        int from = lowerBound(Math.max(minCents, 0) << POSITION_BITS);
+        int to = lowerBound((Math.min(maxCents, MAX_CENTS - 1) + 1) << POSITION_BITS);
+
+        int[] positions = new int[to - from];
+        for (int i = from; i < to; i++) {
+            positions[i - from] = (int) (entries[i] & POSITION_MASK);
+        }
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    // First entry >= key
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,174 @@
+package com.cartify.app.utils;
+
+/**
+ * Price intent parsed out of a search query, such as "under 50", "over 100", "30-60",
+ * "between 20 and 40" or just "45". Words around the price part are kept as the text to
+ * match, so "shoes under 80" looks for shoes priced up to 80. Words that also show up in
+ * product names ("max", "min", "from") only count with a currency sign, as in "max $90",
+ * so "air max 90" stays a title search. Parsed once per query; the bounds are in cents so
+ * matching a product is a plain comparison.
+ */
+public final class PriceQuery {
+
+    // Same ceiling as InputValidator's price check
+    private static final long MAX_CENTS = 99_999_999L;
+    // A bare number matches prices less than this far from it
+    private static final long AROUND_CENTS = 10_00;
+    // Symbol of the catalog currency (Money.CURRENCY_CODE)
+    private static final char CURRENCY_SIGN = '$';
+
+    public final long minCents;
+    public final long maxCents;
+    // The query minus its price part; empty if the query was only a price
+    public final String text;
+    // The whole query was one number: it matches nearby prices or the number as text
+    public final boolean bare;
+
+    private PriceQuery(long minCents, long maxCents, String text, boolean bare) {
+        this.minCents = Math.min(minCents, maxCents);
+        this.maxCents = Math.max(minCents, maxCents);
+        this.text = text;
+        this.bare = bare;
+    }
+
+    public boolean contains(double price) {
+        double cents = price * 100;
+        return cents >= minCents - 0.5 && cents <= maxCents + 0.5;
+    }
+
+    /**
+     * Parses a lower-cased, trimmed query; null if it has no price part
+     */
+    public static PriceQuery parse(String query) {
+        String[] words = query.split("\\s+");
+
+        if (words.length == 1) {
+            long cents = parseCents(words[0]);
+            if (cents >= 0) {
+                return new PriceQuery(Math.max(0, cents - AROUND_CENTS + 1), cents + AROUND_CENTS - 1, query, true);
+            }
+        }
+
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            long first;
+            switch (word) {
+                case "under":
+                case "below":
+                case "upto":
+                    first = number(words, i + 1);
+                    if (first >= 0) return withText(0, first, words, i, i + 2);
+                    break;
+                case "max":
+                    first = signedNumber(words, i + 1);
+                    if (first >= 0) return withText(0, first, words, i, i + 2);
+                    break;
+                case "less":
+                case "up":
+                    first = word.equals("less") ? after(words, i + 1, "than") : after(words, i + 1, "to");
+                    if (first >= 0) return withText(0, first, words, i, i + 3);
+                    break;
+                case "over":
+                case "above":
+                case "min":
+                case "from":
+                    first = word.equals("over") || word.equals("above")
+                        ? number(words, i + 1) : signedNumber(words, i + 1);
+                    if (first >= 0) {
+                        long second = to(words, i + 2);
+                        return second >= 0
+                            ? withText(first, second, words, i, i + 4)
+                            : withText(first, MAX_CENTS, words, i, i + 2);
+                    }
+                    break;
+                case "more":
+                    first = after(words, i + 1, "than");
+                    if (first >= 0) return withText(first, MAX_CENTS, words, i, i + 3);
+                    break;
+                case "between":
+                    first = number(words, i + 1);
+                    long second = first >= 0 ? to(words, i + 2) : -1;
+                    if (second >= 0) return withText(first, second, words, i, i + 4);
+                    break;
+                default:
+                    first = parseCents(word);
+                    if (first >= 0) {
+                        long end = to(words, i + 1);
+                        if (end >= 0) return withText(first, end, words, i, i + 3);
+                    } else {
+                        int dash = word.indexOf('-');
+                        if (dash > 0) {
+                            long low = parseCents(word.substring(0, dash));
+                            long high = low >= 0 ? parseCents(word.substring(dash + 1)) : -1;
+                            if (high >= 0) return withText(low, high, words, i, i + 1);
+                        }
+                    }
+                    break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Price in cents of a plain number with at most two decimals and an optional leading
+     * currency sign, or -1
+     */
+    static long parseCents(String word) {
+        int start = hasCurrencySign(word) ? 1 : 0;
+        int length = word.length();
+        if (length == start || length > 12) return -1;
+        long cents = 0;
+        int decimals = -1;
+        for (int i = start; i < length; i++) {
+            char c = word.charAt(i);
+            if (c == '.' && decimals < 0 && i > start) {
+                decimals = 0;
+            } else if (c >= '0' && c <= '9' && decimals < 2) {
+                cents = cents * 10 + (c - '0');
+                if (decimals >= 0) decimals++;
+            } else {
+                return -1;
+            }
+        }
+        if (decimals == 0) return -1; // trailing dot
+        for (int d = Math.max(decimals, 0); d < 2; d++) {
+            cents *= 10;
+        }
+        return cents <= MAX_CENTS ? cents : -1;
+    }
+
+    private static boolean hasCurrencySign(String word) {
+        return !word.isEmpty() && word.charAt(0) == CURRENCY_SIGN;
+    }
+
+    private static long number(String[] words, int index) {
+        return index < words.length ? parseCents(words[index]) : -1;
+    }
+
+    // A number written as a price, as in "max $90"; a plain number there is more likely a name
+    private static long signedNumber(String[] words, int index) {
+        return index < words.length && hasCurrencySign(words[index]) ? parseCents(words[index]) : -1;
+    }
+
+    // The number after a fixed word, as in "less than 50"
+    private static long after(String[] words, int index, String word) {
+        return index < words.length && words[index].equals(word) ? number(words, index + 1) : -1;
+    }
+
+    // The upper end of a range, as in "30 to 60", "30 - 60" or "between 30 and 60"
+    private static long to(String[] words, int index) {
+        if (index >= words.length) return -1;
+        String word = words[index];
+        return word.equals("to") || word.equals("-") || word.equals("and") ? number(words, index + 1) : -1;
+    }
+
+    private static PriceQuery withText(long minCents, long maxCents, String[] words, int start, int end) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words.length; i++) {
+            if (i >= start && i < end) continue;
+            if (text.length() > 0) text.append(' ');
+            text.append(words[i]);
+        }
+        return new PriceQuery(minCents, maxCents, text.toString(), false);
+    }
+}
@@ -1,10 +1,26 @@
 package com.cartify.app.utils;
 
+import com.cartify.app.models.Money;
+
+import java.util.Currency;
+import java.util.Locale;
+
 /**
  * Utility class for price and discount calculations
  */
 public class PriceUtils {
 
+    // "1% OFF" .. "100% OFF", built once instead of on every bind
+    private static final String[] DISCOUNT_TEXT = new String[101];
+
+    static {
+        for (int percent = 1; percent < DISCOUNT_TEXT.length; percent++) {
+            DISCOUNT_TEXT[percent] = percent + "% OFF";
+        }
+    }
+
+    private static volatile PriceFormatter formatter;
+
     /**
      * Calculate discount percentage between old price and current price
      * @param oldPrice Original price
@@ -29,7 +45,7 @@ public class PriceUtils {
     public static String getDiscountText(double oldPrice, double currentPrice) {
         int discountPercent = calculateDiscountPercentage(oldPrice, currentPrice);
         if (discountPercent > 0) {
-            return discountPercent + "% OFF";
+            return DISCOUNT_TEXT[Math.min(discountPercent, 100)];
         }
         return null;
     }
@@ -45,12 +61,38 @@ public class PriceUtils {
     }
 
     /**
-     * Format price for display
+     * Format price for display in the catalog's currency and the device locale.
+     * Results are cached, so binding a list of prices doesn't allocate after the first pass.
      * @param price Price value
      * @return Formatted price string (e.g., "$35.00")
      */
     public static String formatPrice(double price) {
-        return "$" + String.format("%.2f", price);
+        return getFormatter().format(price);
+    }
+
+    /**
+     * Format an amount held in cents, without a round trip through double
+     * @param cents Amount in cents (e.g. 3550)
+     * @return Formatted price string (e.g., "$35.50")
+     */
+    public static String formatCents(long cents) {
+        return getFormatter().formatCents(cents);
+    }
+
+    /**
+     * The shared formatter, rebuilt when the locale changes.
+     * Catalog prices and stored cart and order amounts are all in the catalog's currency and
+     * there are no conversion rates, so that is the currency shown; the locale only decides
+     * symbol placement, separators and grouping.
+     */
+    public static PriceFormatter getFormatter() {
+        PriceFormatter current = formatter;
+        Locale locale = Locale.getDefault();
+        if (current == null || !current.getLocale().equals(locale)) {
+            current = new PriceFormatter(Currency.getInstance(Money.CURRENCY_CODE), locale);
+            formatter = current;
+        }
+        return current;
     }
 
     /**
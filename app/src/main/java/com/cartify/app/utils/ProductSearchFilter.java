@@ -0,0 +1,380 @@
+package com.cartify.app.utils;
+
+import com.cartify.app.models.Money;
+import com.cartify.app.models.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Matches products against a search query and the active search filters.
+ * Kept free of Android types so the same code runs in the JVM benchmarks.
+ * The price and typo indexes and the ranker are built on first use, inline by default. Given
+ * executors, they are built from a copy of the list in the background instead; until they are
+ * swapped in, matching scans the list, results keep list order and close matches for typos
+ * aren't offered.
+ */
+public class ProductSearchFilter {
+
+    // Matches ordered by relevance; the rest keep list order
+    private static final int RANKED_RESULTS = 50;
+
+    // What matching a product returns, unless it is where the query starts in the title
+    private static final int NO_MATCH = -2;
+    private static final int MATCH_ELSEWHERE = -1;
+
+    // Filter parameters
+    private double maxPrice = Double.MAX_VALUE;
+    private float minRating = 0.0f;
+    private List<Integer> selectedCategoryIds = new ArrayList<>();
+
+    // Descriptions by product id, for products that come without one (list summaries)
+    private Map<String, String> descriptions = Collections.emptyMap();
+
+    // Where indexes are built and handed back, or null to build them inline
+    private final Executor indexExecutor;
+    private final Executor resultExecutor;
+    private final Runnable onIndexesBuilt;
+    // Bumped whenever the list or the descriptions change, so builds from older ones are dropped
+    private int listGeneration;
+    private int descriptionsGeneration;
+    private boolean indexBuildRunning;
+    private List<Product> indexSource;
+
+    // Built on first use for the list being filtered
+    private PriceIndex priceIndex;
+    private List<Product> priceIndexedProducts;
+    private FuzzyTitleIndex fuzzyIndex;
+    private List<Product> fuzzyIndexedProducts;
+    private SearchRanker ranker;
+    private List<Product> rankedProducts;
+    private boolean approximate;
+    private SearchHighlights highlights = SearchHighlights.NONE;
+
+    // Positions of the matches of the current call and their title offsets, reused between calls
+    private int[] matchPositions = new int[64];
+    private int[] matchTitleStarts = new int[64];
+    private int[] rankOrder = new int[64];
+    private int matchCount;
+
+    public ProductSearchFilter() {
+        this(null, null, null);
+    }
+
+    /**
+     * @param indexExecutor  background executor the indexes are built on
+     * @param resultExecutor executor filter is called on, where built indexes are swapped in
+     * @param onIndexesBuilt run on resultExecutor after new indexes are in, to filter again
+     */
+    public ProductSearchFilter(Executor indexExecutor, Executor resultExecutor, Runnable onIndexesBuilt) {
+        this.indexExecutor = indexExecutor;
+        this.resultExecutor = resultExecutor;
+        this.onIndexesBuilt = onIndexesBuilt;
+    }
+
+    public void setMaxPrice(double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public void setMinRating(float minRating) {
+        this.minRating = minRating;
+    }
+
+    public void setSelectedCategoryIds(List<Integer> selectedCategoryIds) {
+        this.selectedCategoryIds = selectedCategoryIds != null ? selectedCategoryIds : new ArrayList<>();
+    }
+
+    public void setDescriptions(Map<String, String> descriptions) {
+        this.descriptions = descriptions != null ? descriptions : Collections.emptyMap();
+        descriptionsGeneration++;
+        ranker = null;
+    }
+
+    /**
+     * Call when the product list handed to filter has changed, so its indexes are rebuilt
+     */
+    public void invalidateIndexes() {
+        listGeneration++;
+        priceIndex = null;
+        fuzzyIndex = null;
+        ranker = null;
+    }
+
+    /**
+     * True when the last filter call found nothing matching the query as typed and
+     * returned products matching it up to a typo instead
+     */
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    /**
+     * Where the query sits in the titles of the last filter call's results, in result order
+     */
+    public SearchHighlights getHighlights() {
+        return highlights;
+    }
+
+    /**
+     * Fills results with the products matching a sanitized query.
+     * An empty query matches everything; an invalid one matches nothing.
+     * Price intents ("under 50", "30-60") and the max price filter are answered from a price
+     * index over the list, so only products in range are looked at. The best matches come
+     * first, by title and description relevance, rating and reviews. When a text query matches
+     * nothing, title words within a typo or two of it are tried, closest matches first.
+     */
+    public void filter(List<Product> products, String query, List<Product> results) {
+        results.clear();
+        approximate = false;
+        highlights = SearchHighlights.NONE;
+
+        if (query.isEmpty()) {
+            // Show all products when search is empty
+            results.addAll(products);
+            return;
+        }
+
+        // Validate search query before processing
+        InputValidator.ValidationResult validation = InputValidator.validateSearchQuery(query);
+        if (!validation.isValid()) {
+            return;
+        }
+
+        String lowerCaseQuery = query.toLowerCase();
+        PriceQuery price = PriceQuery.parse(lowerCaseQuery);
+        boolean priceRange = price != null && !price.bare;
+        PriceIndex index = priceRange || maxPrice != Double.MAX_VALUE ? priceIndex(products) : null;
+
+        matchCount = 0;
+        if (index == null) {
+            for (int position = 0; position < products.size(); position++) {
+                int match = match(products.get(position), lowerCaseQuery, price);
+                if (match != NO_MATCH) {
+                    addMatch(position, match);
+                }
+            }
+        } else {
+            // Only products priced in range can match
+            long minCents = priceRange ? price.minCents : 0;
+            long maxCents = Math.min(priceRange ? price.maxCents : Long.MAX_VALUE, Money.toMinorUnits(maxPrice));
+            for (int position : index.positionsBetween(minCents, maxCents)) {
+                Product product = products.get(position);
+                int match;
+                if (!priceRange) {
+                    match = match(product, lowerCaseQuery, price);
+                } else if (!matchesFilters(product)) {
+                    match = NO_MATCH;
+                } else {
+                    match = price.text.isEmpty() ? MATCH_ELSEWHERE : matchText(product, price.text);
+                }
+                if (match != NO_MATCH) {
+                    addMatch(position, match);
+                }
+            }
+        }
+
+        if (matchCount > 0) {
+            String text = priceRange ? price.text : lowerCaseQuery;
+            if (rankOrder.length < matchCount) rankOrder = new int[matchPositions.length];
+            SearchRanker ranker = ranker(products);
+            if (ranker != null) {
+                ranker.rank(matchPositions, matchCount, text, RANKED_RESULTS, rankOrder);
+            } else {
+                for (int i = 0; i < matchCount; i++) rankOrder[i] = i;
+            }
+            int[] titleStarts = new int[matchCount];
+            for (int i = 0; i < matchCount; i++) {
+                results.add(products.get(matchPositions[rankOrder[i]]));
+                titleStarts[i] = matchTitleStarts[rankOrder[i]];
+            }
+            highlights = new SearchHighlights(text, titleStarts, text.length());
+        } else if (price == null) {
+            addCloseMatches(products, lowerCaseQuery, results);
+        }
+    }
+
+    private void addMatch(int position, int titleStart) {
+        if (matchCount == matchPositions.length) {
+            matchPositions = Arrays.copyOf(matchPositions, matchCount * 2);
+            matchTitleStarts = Arrays.copyOf(matchTitleStarts, matchCount * 2);
+        }
+        matchPositions[matchCount] = position;
+        matchTitleStarts[matchCount++] = titleStart;
+    }
+
+    private void addCloseMatches(List<Product> products, String query, List<Product> results) {
+        FuzzyTitleIndex index = fuzzyIndex(products);
+        if (index == null) return;
+        for (int position : index.search(query)) {
+            Product product = products.get(position);
+            if (matchesFilters(product)) {
+                results.add(product);
+            }
+        }
+        approximate = !results.isEmpty();
+    }
+
+    /**
+     * Checks one product against a lower-cased query
+     */
+    public boolean matches(Product product, String query) {
+        return match(product, query, query.isEmpty() ? null : PriceQuery.parse(query)) != NO_MATCH;
+    }
+
+    /**
+     * Where the query starts in the product's title, MATCH_ELSEWHERE if the product matches
+     * otherwise, or NO_MATCH
+     */
+    private int match(Product product, String query, PriceQuery price) {
+        // Apply filters first
+        if (!matchesFilters(product)) {
+            return NO_MATCH;
+        }
+
+        // If no search query, show all products that match filters
+        if (query.isEmpty()) {
+            return MATCH_ELSEWHERE;
+        }
+
+        if (price != null && !price.bare) {
+            if (!price.contains(product.getPrice())) return NO_MATCH;
+            return price.text.isEmpty() ? MATCH_ELSEWHERE : matchText(product, price.text);
+        }
+
+        // A bare number also matches prices within $10 of it
+        int match = matchText(product, query);
+        if (match == NO_MATCH && price != null && price.contains(product.getPrice())) {
+            return MATCH_ELSEWHERE;
+        }
+        return match;
+    }
+
+    private int matchText(Product product, String query) {
+        // Search in product title
+        if (product.getTitle() != null) {
+            int start = product.getTitle().toLowerCase().indexOf(query);
+            if (start >= 0) {
+                return start;
+            }
+        }
+
+        // Search in product description
+        String description = product.getDescription() != null
+            ? product.getDescription() : descriptions.get(product.getId());
+        return description != null && description.toLowerCase().contains(query)
+            ? MATCH_ELSEWHERE : NO_MATCH;
+    }
+
+    // The list's price index, or null while it is being built in the background
+    private PriceIndex priceIndex(List<Product> products) {
+        if (priceIndex == null || priceIndexedProducts != products) {
+            if (indexExecutor != null) {
+                buildIndexes(products);
+                return null;
+            }
+            priceIndex = new PriceIndex(products);
+            priceIndexedProducts = products;
+        }
+        return priceIndex;
+    }
+
+    // The list's typo index, or null while it is being built in the background
+    private FuzzyTitleIndex fuzzyIndex(List<Product> products) {
+        if (fuzzyIndex == null || fuzzyIndexedProducts != products) {
+            if (indexExecutor != null) {
+                buildIndexes(products);
+                return null;
+            }
+            fuzzyIndex = new FuzzyTitleIndex(products);
+            fuzzyIndexedProducts = products;
+        }
+        return fuzzyIndex;
+    }
+
+    /**
+     * Builds the missing indexes of the list on the index executor. The list can change while
+     * that runs, so the build works on a copy and is thrown away if the list moved on.
+     */
+    private void buildIndexes(List<Product> products) {
+        if (products != indexSource) {
+            indexSource = products;
+            listGeneration++;
+        }
+        boolean needPriceIndex = priceIndex == null || priceIndexedProducts != products;
+        boolean needFuzzyIndex = fuzzyIndex == null || fuzzyIndexedProducts != products;
+        boolean needRanker = ranker == null || rankedProducts != products;
+        if (indexBuildRunning || !needPriceIndex && !needFuzzyIndex && !needRanker) return;
+        indexBuildRunning = true;
+
+        int generation = listGeneration;
+        int rankerGeneration = descriptionsGeneration;
+        List<Product> snapshot = new ArrayList<>(products);
+        Map<String, String> rankerDescriptions = descriptions;
+        indexExecutor.execute(() -> {
+            PriceIndex builtPriceIndex = needPriceIndex ? new PriceIndex(snapshot) : null;
+            FuzzyTitleIndex builtFuzzyIndex = needFuzzyIndex ? new FuzzyTitleIndex(snapshot) : null;
+            SearchRanker builtRanker = needRanker ? new SearchRanker(snapshot, rankerDescriptions) : null;
+            resultExecutor.execute(() -> {
+                indexBuildRunning = false;
+                if (generation != listGeneration) {
+                    // Built from a list that has changed since; start over from the current one
+                    buildIndexes(indexSource);
+                    return;
+                }
+                if (builtPriceIndex != null) {
+                    priceIndex = builtPriceIndex;
+                    priceIndexedProducts = indexSource;
+                }
+                if (builtFuzzyIndex != null) {
+                    fuzzyIndex = builtFuzzyIndex;
+                    fuzzyIndexedProducts = indexSource;
+                }
+                if (builtRanker != null && rankerGeneration == descriptionsGeneration) {
+                    ranker = builtRanker;
+                    rankedProducts = indexSource;
+                }
+                onIndexesBuilt.run();
+                // Descriptions that arrived during the build need a ranker of their own
+                if (ranker == null) buildIndexes(indexSource);
+            });
+        });
+    }
+
+    // The list's ranker, or null while it is being built in the background
+    private SearchRanker ranker(List<Product> products) {
+        if (ranker == null || rankedProducts != products) {
+            if (indexExecutor != null) {
+                buildIndexes(products);
+                return null;
+            }
+            ranker = new SearchRanker(products, descriptions);
+            rankedProducts = products;
+        }
+        return ranker;
+    }
+
+    private boolean matchesFilters(Product product) {
+        // Price filter
+        if (product.getPrice() > maxPrice) {
+            return false;
+        }
+
+        // Rating filter
+        if (product.getRating() < minRating) {
+            return false;
+        }
+
+        // Category filter (if any categories are selected)
+        if (!selectedCategoryIds.isEmpty()) {
+            // For now, we don't have category IDs in products
+            // This would need to be implemented based on your product-category relationship
+            // return selectedCategoryIds.contains(product.getCategoryId());
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package com.cartify.app.utils;
+
+/**
+ * Where the query was found in each search result's title, recorded while matching,
+ * so the result grid can highlight it without searching the titles again.
+ * Offsets line up with the result list they came with. Immutable.
+ */
+public class SearchHighlights {
+
+    public static final SearchHighlights NONE = new SearchHighlights("", new int[0], 0);
+
+    private final String query;
+    private final int[] titleStarts;
+    private final int length;
+
+    /**
+     * @param titleStarts per result, where the match starts in its title, or -1
+     * @param length      length of the match in every title
+     */
+    public SearchHighlights(String query, int[] titleStarts, int length) {
+        this.query = query;
+        this.titleStarts = titleStarts;
+        this.length = length;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Start of the match in the title of the result at index, or -1 if the title didn't match
+     */
+    public int getTitleStart(int index) {
+        return index >= 0 && index < titleStarts.length ? titleStarts[index] : -1;
+    }
+}
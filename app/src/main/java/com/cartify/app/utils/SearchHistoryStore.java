@@ -0,0 +1,284 @@
+package com.cartify.app.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * The one search history of the app: the most recent distinct queries, newest first.
+ * Entries sit in a fixed ring of slots with a hash index from query to slot, so re-searching
+ * a query just moves it to the front. Each add is also appended to a small log file on a
+ * background thread; the log is replayed on startup and rewritten once it grows too long.
+ */
+public class SearchHistoryStore {
+
+    public static final int CAPACITY = 10;
+
+    private static final String LOG_FILE = "search_history.log";
+    // Rewrite the log once it holds this many records
+    private static final int COMPACT_AFTER_RECORDS = CAPACITY * 8;
+
+    // Where history used to live, imported once on first run
+    private static final String LEGACY_SUGGESTIONS_PREFS = "search_suggestions";
+    private static final String LEGACY_KEY_SEARCH_HISTORY = "search_history";
+    private static final String LEGACY_USER_DATA_PREFS = "CartifyUserData";
+    private static final String LEGACY_KEY_RECENT_SEARCHES = "recent_searches";
+
+    private static SearchHistoryStore instance;
+
+    private final File logFile;
+    private final Executor writer;
+
+    // Slot of sequence number s is s % ring.length; a slot is live while the index maps its
+    // query back to that sequence number. Twice the capacity leaves room for moved entries.
+    private final String[] ring = new String[CAPACITY * 2];
+    private final Map<String, Long> index = new HashMap<>();
+    private long head; // next sequence number
+    private long tail; // oldest sequence number that may still be live
+    private int size;
+    private int logRecords;
+
+    /**
+     * A store backed by the given log file; the app uses the shared instance from getInstance
+     */
+    public SearchHistoryStore(File logFile, Executor writer) {
+        this.logFile = logFile;
+        this.writer = writer;
+        replayLog();
+    }
+
+    public static synchronized SearchHistoryStore getInstance(Context context) {
+        if (instance == null) {
+            Context appContext = context.getApplicationContext();
+            File logFile = new File(appContext.getFilesDir(), LOG_FILE);
+            boolean firstRun = !logFile.exists();
+            instance = new SearchHistoryStore(logFile, Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "SearchHistory");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            if (firstRun) {
+                instance.importLegacy(appContext);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Moves the query to the front of the history, adding it if needed.
+     * Returns false if the query was blank or already the newest entry.
+     */
+    public synchronized boolean add(String query) {
+        String normalized = query != null ? normalize(query) : "";
+        if (normalized.isEmpty() || !put(normalized)) {
+            return false;
+        }
+        if (++logRecords > COMPACT_AFTER_RECORDS) {
+            rewriteLog();
+        } else {
+            writer.execute(() -> appendToLog(normalized));
+        }
+        return true;
+    }
+
+    public synchronized List<String> getNewestFirst() {
+        List<String> entries = new ArrayList<>(size);
+        for (long seq = head - 1; seq >= tail; seq--) {
+            String query = ring[slot(seq)];
+            if (isLive(query, seq)) {
+                entries.add(query);
+            }
+        }
+        return entries;
+    }
+
+    public synchronized boolean contains(String query) {
+        return query != null && index.containsKey(normalize(query));
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        clearEntries();
+        rewriteLog();
+    }
+
+    /**
+     * Trimmed, lower-cased, with runs of whitespace collapsed to single spaces
+     */
+    public static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) normalized.append(' ');
+                pendingSpace = false;
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    // In-memory ring
+
+    private boolean put(String query) {
+        Long previous = index.get(query);
+        if (previous != null && previous == head - 1) return false;
+        if (head - tail == ring.length) {
+            compactRing();
+            previous = index.get(query);
+        }
+        if (previous != null) {
+            // Its old slot turns into a gap once the index points elsewhere
+            size--;
+        }
+        ring[slot(head)] = query;
+        index.put(query, head++);
+        size++;
+
+        if (size > CAPACITY) {
+            // Evict the oldest live entry
+            while (!isLive(ring[slot(tail)], tail)) tail++;
+            index.remove(ring[slot(tail)]);
+            ring[slot(tail++)] = null;
+            size--;
+        }
+        return true;
+    }
+
+    /**
+     * Packs the live entries together, oldest first. Only needed when moves have left the ring
+     * full of gaps, and then frees at least CAPACITY slots, so it runs rarely.
+     */
+    private void compactRing() {
+        List<String> live = getNewestFirst();
+        clearEntries();
+        for (int i = live.size() - 1; i >= 0; i--) {
+            ring[slot(head)] = live.get(i);
+            index.put(live.get(i), head++);
+            size++;
+        }
+    }
+
+    private void clearEntries() {
+        Arrays.fill(ring, null);
+        index.clear();
+        head = 0;
+        tail = 0;
+        size = 0;
+    }
+
+    private boolean isLive(String query, long seq) {
+        if (query == null) return false;
+        Long current = index.get(query);
+        return current != null && current == seq;
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % ring.length);
+    }
+
+    // Log file
+
+    private void replayLog() {
+        if (!logFile.exists()) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(logFile)))) {
+            while (true) {
+                String query = in.readUTF();
+                put(query);
+                logRecords++;
+            }
+        } catch (EOFException e) {
+            // End of log, or a record cut short by a crash; keep what was read
+        } catch (IOException e) {
+            // Unreadable log; start from whatever was read
+        }
+        if (logRecords > COMPACT_AFTER_RECORDS) {
+            rewriteLog();
+        }
+    }
+
+    private void appendToLog(String query) {
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(logFile, true))) {
+            out.writeUTF(query);
+        } catch (IOException e) {
+            // History is a convenience; the in-memory copy still works
+        }
+    }
+
+    private void rewriteLog() {
+        List<String> newestFirst = getNewestFirst();
+        logRecords = newestFirst.size();
+        writer.execute(() -> {
+            File temp = new File(logFile.getPath() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                for (int i = newestFirst.size() - 1; i >= 0; i--) {
+                    out.writeUTF(newestFirst.get(i));
+                }
+            } catch (IOException e) {
+                temp.delete();
+                return;
+            }
+            if (!temp.renameTo(logFile)) {
+                temp.delete();
+            }
+        });
+    }
+
+    /**
+     * Imports the two older stores: the suggestions' unordered set, then the ordered list
+     * from LocalStorageManager so its recency order wins. Both are removed afterwards.
+     */
+    private synchronized void importLegacy(Context context) {
+        SharedPreferences suggestionsPrefs = context.getSharedPreferences(LEGACY_SUGGESTIONS_PREFS, Context.MODE_PRIVATE);
+        SharedPreferences userDataPrefs = context.getSharedPreferences(LEGACY_USER_DATA_PREFS, Context.MODE_PRIVATE);
+
+        Set<String> unordered = suggestionsPrefs.getStringSet(LEGACY_KEY_SEARCH_HISTORY, Collections.emptySet());
+        for (String query : unordered) {
+            String normalized = normalize(query);
+            if (!normalized.isEmpty()) put(normalized);
+        }
+        String json = userDataPrefs.getString(LEGACY_KEY_RECENT_SEARCHES, "");
+        if (!json.isEmpty()) {
+            try {
+                List<String> newestFirst = new Gson().fromJson(json, new TypeToken<List<String>>(){}.getType());
+                for (int i = newestFirst.size() - 1; i >= 0; i--) {
+                    String query = normalize(newestFirst.get(i));
+                    if (!query.isEmpty()) put(query);
+                }
+            } catch (RuntimeException e) {
+                // Unreadable legacy list; skip it
+            }
+        }
+
+        rewriteLog();
+        suggestionsPrefs.edit().remove(LEGACY_KEY_SEARCH_HISTORY).apply();
+        userDataPrefs.edit().remove(LEGACY_KEY_RECENT_SEARCHES).apply();
+    }
+}
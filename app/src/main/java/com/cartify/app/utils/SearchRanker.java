@@ -0,0 +1,298 @@
+package com.cartify.app.utils;
+
+import com.cartify.app.models.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders search matches by relevance.
+ * At build time every product's title and description are reduced to sorted term ids with a
+ * BM25 term-frequency weight per term (quantized to a byte), and each term gets an idf per
+ * field. A match's score is its title weight (boosted) plus its description weight for the
+ * query terms, plus a small prior from its rating and review count. Only the best few matches
+ * are ordered, through a bounded heap; the rest keep list order. Immutable; rebuild it when
+ * the products or descriptions change.
+ */
+public class SearchRanker {
+
+    // BM25 parameters
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final float TITLE_BOOST = 3f;
+    private static final float DESCRIPTION_BOOST = 1f;
+    // A word the last query term only starts counts for a bit less than the word itself
+    private static final float PREFIX_FACTOR = 0.8f;
+    // Priors stay below one title term, so they mostly break ties
+    private static final float RATING_PRIOR = 0.5f;
+    private static final float REVIEW_PRIOR = 0.5f;
+    // Reviews needed before a product's own rating outweighs the catalog average
+    private static final int RATING_CONFIDENCE_REVIEWS = 10;
+
+    private static final int TITLE = 0;
+    private static final int DESCRIPTION = 1;
+    private static final float[] BOOSTS = {TITLE_BOOST, DESCRIPTION_BOOST};
+
+    // Sorted, so the words starting with a prefix have consecutive ids
+    private final String[] vocabulary;
+    // [field][term id]
+    private final float[][] idf = new float[2][];
+    // [field][position]: ascending term ids and their weights
+    private final int[][][] terms = new int[2][][];
+    private final byte[][][] weights = new byte[2][][];
+    private final float[] priors;
+
+    /**
+     * @param descriptions descriptions by product id, for products that come without one
+     */
+    public SearchRanker(List<Product> products, Map<String, String> descriptions) {
+        int count = products.size();
+        Map<String, Integer> provisionalIds = new HashMap<>();
+        List<String> words = new ArrayList<>();
+        // Provisional term id << 8 | frequency, per field and product
+        int[][][] packed = new int[2][count][];
+        int[][] lengths = new int[2][count];
+
+        double ratingSum = 0;
+        int maxReviews = 0;
+        for (int position = 0; position < count; position++) {
+            Product product = products.get(position);
+            String description = product.getDescription() != null
+                ? product.getDescription() : descriptions.get(product.getId());
+            String[] fields = {product.getTitle(), description};
+            for (int field = TITLE; field <= DESCRIPTION; field++) {
+                List<String> tokens = tokenize(fields[field]);
+                lengths[field][position] = tokens.size();
+                int[] ids = new int[tokens.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    Integer id = provisionalIds.get(tokens.get(i));
+                    if (id == null) {
+                        id = words.size();
+                        provisionalIds.put(tokens.get(i), id);
+                        words.add(tokens.get(i));
+                    }
+                    ids[i] = id;
+                }
+                packed[field][position] = countTerms(ids);
+            }
+            ratingSum += product.getRating();
+            maxReviews = Math.max(maxReviews, product.getReview());
+        }
+
+        // Renumber terms in sorted order
+        Integer[] order = new Integer[words.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> words.get(a).compareTo(words.get(b)));
+        vocabulary = new String[order.length];
+        int[] sortedId = new int[order.length];
+        for (int rank = 0; rank < order.length; rank++) {
+            vocabulary[rank] = words.get(order[rank]);
+            sortedId[order[rank]] = rank;
+        }
+
+        for (int field = TITLE; field <= DESCRIPTION; field++) {
+            int[] documentFrequency = new int[vocabulary.length];
+            long totalLength = 0;
+            for (int position = 0; position < count; position++) {
+                int[] entries = packed[field][position];
+                for (int i = 0; i < entries.length; i++) {
+                    int id = sortedId[entries[i] >>> 8];
+                    entries[i] = (id << 8) | (entries[i] & 0xFF);
+                    documentFrequency[id]++;
+                }
+                Arrays.sort(entries);
+                totalLength += lengths[field][position];
+            }
+
+            idf[field] = new float[vocabulary.length];
+            for (int id = 0; id < vocabulary.length; id++) {
+                double df = documentFrequency[id];
+                idf[field][id] = (float) Math.log(1 + (count - df + 0.5) / (df + 0.5));
+            }
+
+            float averageLength = count > 0 ? Math.max(1f, (float) totalLength / count) : 1f;
+            terms[field] = new int[count][];
+            weights[field] = new byte[count][];
+            for (int position = 0; position < count; position++) {
+                int[] entries = packed[field][position];
+                float norm = K1 * (1 - B + B * lengths[field][position] / averageLength);
+                int[] ids = new int[entries.length];
+                byte[] termWeights = new byte[entries.length];
+                for (int i = 0; i < entries.length; i++) {
+                    int frequency = entries[i] & 0xFF;
+                    ids[i] = entries[i] >>> 8;
+                    // Saturating tf part of BM25, in (0, K1 + 1), stored as 1..255
+                    float saturation = frequency * (K1 + 1) / (frequency + norm);
+                    termWeights[i] = (byte) Math.max(1, Math.round(saturation / (K1 + 1) * 255));
+                }
+                terms[field][position] = ids;
+                weights[field][position] = termWeights;
+            }
+            packed[field] = null;
+        }
+
+        float averageRating = count > 0 ? (float) (ratingSum / count) : 0;
+        double reviewScale = Math.log1p(Math.max(1, maxReviews));
+        priors = new float[count];
+        for (int position = 0; position < count; position++) {
+            Product product = products.get(position);
+            int reviews = Math.max(0, product.getReview());
+            // Few reviews pull the rating towards the catalog average
+            double rating = (product.getRating() * reviews + averageRating * RATING_CONFIDENCE_REVIEWS)
+                / (reviews + RATING_CONFIDENCE_REVIEWS);
+            priors[position] = (float) (RATING_PRIOR * Math.max(0, Math.min(rating, 5)) / 5
+                + REVIEW_PRIOR * Math.log1p(reviews) / reviewScale);
+        }
+    }
+
+    /**
+     * Orders the matches at the given ascending positions: the best limit of them by score
+     * first, then the others in list order. Fills order with indexes into positions.
+     * The last query word also matches words it only starts, since it may still be being typed.
+     */
+    public void rank(int[] positions, int count, String query, int limit, int[] order) {
+        List<String> queryTerms = tokenize(query);
+        // Per query term: the range of term ids it matches, and the id of the word itself or -1
+        int[] low = new int[queryTerms.size()];
+        int[] high = new int[queryTerms.size()];
+        int[] exact = new int[queryTerms.size()];
+        for (int t = 0; t < low.length; t++) {
+            String term = queryTerms.get(t);
+            low[t] = lowerBound(term);
+            exact[t] = low[t] < vocabulary.length && vocabulary[low[t]].equals(term) ? low[t] : -1;
+            high[t] = t == low.length - 1 ? lowerBound(term + Character.MAX_VALUE)
+                : (exact[t] >= 0 ? low[t] + 1 : low[t]);
+        }
+
+        // Min-heap of score bits << 32 | (MAX_VALUE - index): ties go to the earlier product
+        long[] heap = new long[Math.min(limit, count)];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int position = positions[i];
+            float score = priors[position];
+            for (int field = TITLE; field <= DESCRIPTION; field++) {
+                score += BOOSTS[field] * fieldScore(field, position, low, high, exact);
+            }
+            long key = ((long) Float.floatToIntBits(score) << 32) | (Integer.MAX_VALUE - i);
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(heap, size++);
+            } else if (size > 0 && key > heap[0]) {
+                heap[0] = key;
+                siftDown(heap, 0, size);
+            }
+        }
+
+        Arrays.sort(heap, 0, size);
+        int[] top = new int[size];
+        for (int i = 0; i < size; i++) {
+            top[i] = Integer.MAX_VALUE - (int) heap[size - 1 - i];
+            order[i] = top[i];
+        }
+        Arrays.sort(top);
+        int next = size;
+        for (int i = 0, t = 0; i < count; i++) {
+            while (t < top.length && top[t] < i) t++;
+            if (t < top.length && top[t] == i) continue;
+            order[next++] = i;
+        }
+    }
+
+    private float fieldScore(int field, int position, int[] low, int[] high, int[] exact) {
+        int[] ids = terms[field][position];
+        byte[] termWeights = weights[field][position];
+        float score = 0;
+        for (int t = 0; t < low.length; t++) {
+            float best = 0;
+            int i = Arrays.binarySearch(ids, low[t]);
+            for (i = i >= 0 ? i : -i - 1; i < ids.length && ids[i] < high[t]; i++) {
+                float weight = idf[field][ids[i]] * (termWeights[i] & 0xFF) / 255f * (K1 + 1);
+                if (ids[i] != exact[t]) weight *= PREFIX_FACTOR;
+                best = Math.max(best, weight);
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private int lowerBound(String term) {
+        int lo = 0;
+        int hi = vocabulary.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (vocabulary[mid].compareTo(term) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Distinct ids of a field's tokens, each packed as id << 8 | frequency (capped at 255)
+     */
+    private static int[] countTerms(int[] ids) {
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) distinct++;
+        }
+        int[] entries = new int[distinct];
+        int e = -1;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                entries[++e] = (ids[i] << 8) | 1;
+            } else if ((entries[e] & 0xFF) < 0xFF) {
+                entries[e]++;
+            }
+        }
+        return entries;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        int start = -1;
+        for (int i = 0, length = text.length(); i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= heap[i]) break;
+            long swap = heap[parent];
+            heap[parent] = heap[i];
+            heap[i] = swap;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int i, int size) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && heap[left] < heap[smallest]) smallest = left;
+            if (right < size && heap[right] < heap[smallest]) smallest = right;
+            if (smallest == i) return;
+            long swap = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = swap;
+            i = smallest;
+        }
+    }
+}
@@ -2,117 +2,303 @@ package com.cartify.app.utils;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.util.Base64;
+
+import com.cartify.app.models.Product;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
- * Helper class for managing search suggestions and history
+ * Helper class for managing search suggestions and history.
+ * Suggestions come from one weighted prefix trie over search history, popular searches,
+ * product titles and the words in them. The trie is shared by every screen and kept up to
+ * date incrementally as the history and the catalog change.
+ * Popular searches are the most frequent submitted queries, tracked in fixed memory by a
+ * decaying PopularityTracker that is saved every few searches and when the screen pauses.
  */
 public class SearchSuggestionsHelper {
-    
+
     private static final String PREFS_NAME = "search_suggestions";
-    private static final String KEY_SEARCH_HISTORY = "search_history";
     private static final String KEY_POPULAR_SEARCHES = "popular_searches";
-    private static final int MAX_HISTORY_SIZE = 10;
-    
+    public static final int DEFAULT_SUGGESTION_LIMIT = 8;
+
+    // History outranks popular searches, which outrank catalog vocabulary; within the first
+    // two, more recent or more frequent ranks higher
+    private static final int WEIGHT_HISTORY = 1_000_000;
+    private static final int WEIGHT_POPULAR = 10_000;
+    private static final int WEIGHT_TITLE = 2;
+    private static final int WEIGHT_WORD = 1; // per product title containing the word
+    private static final int MIN_WORD_LENGTH = 2;
+
+    // Popularity: 4 x 512 counters (8 KB) and the top 32 queries, fading with a one-week half-life
+    private static final int POPULAR_LIMIT = 8;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 512;
+    private static final int TRACKED_QUERIES = 32;
+    private static final long POPULARITY_HALF_LIFE_MS = 7L * 24 * 60 * 60 * 1000;
+    // A query counts as popular once it has been searched about twice recently
+    private static final double MIN_POPULAR_COUNT = 2;
+    private static final int SAVE_EVERY_SEARCHES = 10;
+
+    // Shown until enough searches have been seen
+    private static final List<String> DEFAULT_POPULAR_SEARCHES = Collections.unmodifiableList(Arrays.asList(
+        "shoes", "t-shirt", "blazer", "men", "women", "casual", "formal", "winter"));
+
+    // Shared index, guarded by its own lock
+    private static final SuggestionTrie trie = new SuggestionTrie(4096);
+    private static final Map<String, String> indexedTitles = new HashMap<>();
+    private static final Map<String, Integer> indexedPopular = new HashMap<>();
+    private static final Map<String, Integer> indexedHistory = new HashMap<>();
+    private static boolean historyIndexed;
+    private static PopularityTracker popularity;
+    private static int unsavedSearches;
+
     private SharedPreferences prefs;
-    
+    private final SearchHistoryStore history;
+
     public SearchSuggestionsHelper(Context context) {
         prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        history = SearchHistoryStore.getInstance(context);
     }
-    
+
     /**
-     * Add a search query to history
+     * Add a submitted search query to history and to the popularity counts
      */
     public void addToHistory(String query) {
         if (query == null || query.trim().isEmpty()) {
             return;
         }
-        
-        query = query.trim().toLowerCase();
-        Set<String> history = getSearchHistory();
-        
-        // Remove if already exists to avoid duplicates
-        history.remove(query);
-        
-        // Add to beginning
-        List<String> historyList = new ArrayList<>(history);
-        historyList.add(0, query);
-        
-        // Keep only recent searches
-        if (historyList.size() > MAX_HISTORY_SIZE) {
-            historyList = historyList.subList(0, MAX_HISTORY_SIZE);
+
+        query = SearchHistoryStore.normalize(query);
+        history.add(query);
+        synchronized (trie) {
+            ensureLoaded();
+            indexHistory();
+            popularity.record(query, System.currentTimeMillis());
+            if (++unsavedSearches >= SAVE_EVERY_SEARCHES) {
+                savePopularity();
+            }
+            indexPopular();
+        }
+    }
+
+    /**
+     * Writes out popularity counts not saved yet; call when the search screen goes away
+     */
+    public void flush() {
+        synchronized (trie) {
+            if (popularity != null && unsavedSearches > 0) {
+                savePopularity();
+            }
         }
-        
-        // Save back to preferences
-        prefs.edit()
-            .putStringSet(KEY_SEARCH_HISTORY, new HashSet<>(historyList))
-            .apply();
     }
-    
+
     /**
-     * Get search history
+     * Get search history, newest first
      */
-    public Set<String> getSearchHistory() {
-        return prefs.getStringSet(KEY_SEARCH_HISTORY, new HashSet<>());
+    public List<String> getSearchHistory() {
+        return history.getNewestFirst();
     }
-    
+
     /**
      * Clear search history
      */
     public void clearHistory() {
-        prefs.edit()
-            .remove(KEY_SEARCH_HISTORY)
-            .apply();
+        history.clear();
+        synchronized (trie) {
+            indexHistory();
+        }
     }
-    
+
     /**
-     * Get popular search suggestions
+     * Get popular search suggestions: the most searched queries lately, topped up with
+     * defaults while there is little search traffic yet
      */
     public List<String> getPopularSearches() {
-        List<String> popular = new ArrayList<>();
-        popular.add("shoes");
-        popular.add("t-shirt");
-        popular.add("blazer");
-        popular.add("men");
-        popular.add("women");
-        popular.add("casual");
-        popular.add("formal");
-        popular.add("winter");
-        return popular;
+        synchronized (trie) {
+            ensureLoaded();
+            return popularSearches();
+        }
     }
-    
+
     /**
      * Get search suggestions based on query
      */
     public List<String> getSuggestions(String query) {
+        return getSuggestions(query, DEFAULT_SUGGESTION_LIMIT);
+    }
+
+    /**
+     * Up to limit completions of the query, heaviest first. An empty query returns the
+     * history followed by the popular searches. When the whole query has too few
+     * completions, its last word is completed on its own.
+     */
+    public List<String> getSuggestions(String query, int limit) {
         List<String> suggestions = new ArrayList<>();
-        
-        if (query == null || query.trim().isEmpty()) {
+        String normalized = query != null ? SearchHistoryStore.normalize(query) : "";
+
+        if (normalized.isEmpty()) {
             // Return recent searches and popular searches
-            suggestions.addAll(getSearchHistory());
-            suggestions.addAll(getPopularSearches());
-        } else {
-            query = query.toLowerCase();
-            
-            // Add matching history items
-            for (String historyItem : getSearchHistory()) {
-                if (historyItem.contains(query)) {
-                    suggestions.add(historyItem);
-                }
+            for (String item : getSearchHistory()) {
+                if (suggestions.size() < limit) suggestions.add(item);
             }
-            
-            // Add matching popular searches
             for (String popular : getPopularSearches()) {
-                if (popular.contains(query) && !suggestions.contains(popular)) {
-                    suggestions.add(popular);
+                if (suggestions.size() < limit && !suggestions.contains(popular)) suggestions.add(popular);
+            }
+            return suggestions;
+        }
+
+        synchronized (trie) {
+            ensureLoaded();
+            trie.topK(normalized, limit, suggestions);
+
+            int lastSpace = normalized.lastIndexOf(' ');
+            if (suggestions.size() < limit && lastSpace > 0) {
+                String typed = normalized.substring(0, lastSpace + 1);
+                List<String> words = new ArrayList<>();
+                trie.topK(normalized.substring(lastSpace + 1), limit, words);
+                for (String word : words) {
+                    if (suggestions.size() == limit) break;
+                    String suggestion = typed + word;
+                    if (word.indexOf(' ') < 0 && !suggestions.contains(suggestion)) {
+                        suggestions.add(suggestion);
+                    }
                 }
             }
         }
-        
         return suggestions;
     }
-}
\ No newline at end of file
+
+    /**
+     * Keeps the catalog part of the index in step with the products node. Only titles that
+     * were added, changed or removed are re-indexed.
+     */
+    public void onCatalogChanged(List<Product> items, CatalogSyncEngine.ChangeSet<Product> changes) {
+        synchronized (trie) {
+            if (changes.isFullReload()) {
+                Set<String> seen = new HashSet<>();
+                for (Product product : items) {
+                    seen.add(product.getId());
+                    indexTitle(product.getId(), product.getTitle());
+                }
+                for (String key : new ArrayList<>(indexedTitles.keySet())) {
+                    if (!seen.contains(key)) indexTitle(key, null);
+                }
+                return;
+            }
+            for (CatalogSyncEngine.Change<Product> change : changes.getChanges()) {
+                switch (change.type) {
+                    case ADDED:
+                    case CHANGED:
+                        indexTitle(change.key, change.item.getTitle());
+                        break;
+                    case REMOVED:
+                        indexTitle(change.key, null);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
+    // Index maintenance, with the trie lock held
+
+    private void ensureLoaded() {
+        if (!historyIndexed) {
+            indexHistory();
+        }
+        if (popularity == null) {
+            byte[] saved = null;
+            String encoded = prefs.getString(KEY_POPULAR_SEARCHES, null);
+            if (encoded != null) {
+                try {
+                    saved = Base64.decode(encoded, Base64.NO_WRAP);
+                } catch (IllegalArgumentException e) {
+                    // Corrupt value; start over
+                }
+            }
+            popularity = PopularityTracker.fromBytes(saved, SKETCH_DEPTH, SKETCH_WIDTH, TRACKED_QUERIES,
+                POPULARITY_HALF_LIFE_MS, System.currentTimeMillis());
+            indexPopular();
+        }
+    }
+
+    private void savePopularity() {
+        unsavedSearches = 0;
+        prefs.edit()
+            .putString(KEY_POPULAR_SEARCHES, Base64.encodeToString(popularity.toBytes(), Base64.NO_WRAP))
+            .apply();
+    }
+
+    private static List<String> popularSearches() {
+        List<String> popular = new ArrayList<>(POPULAR_LIMIT);
+        popularity.top(POPULAR_LIMIT, MIN_POPULAR_COUNT, System.currentTimeMillis(), popular);
+        for (String fallback : DEFAULT_POPULAR_SEARCHES) {
+            if (popular.size() == POPULAR_LIMIT) break;
+            if (!popular.contains(fallback)) popular.add(fallback);
+        }
+        return popular;
+    }
+
+    private static void indexPopular() {
+        indexRanked(indexedPopular, popularSearches(), WEIGHT_POPULAR);
+    }
+
+    private void indexHistory() {
+        historyIndexed = true;
+        indexRanked(indexedHistory, history.getNewestFirst(), WEIGHT_HISTORY);
+    }
+
+    /**
+     * Weights a ranked list in the trie by position, only touching terms whose weight changed
+     */
+    private static void indexRanked(Map<String, Integer> indexed, List<String> ranked, int baseWeight) {
+        Map<String, Integer> updated = new HashMap<>();
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            updated.put(ranked.get(rank), baseWeight + ranked.size() - rank);
+        }
+        for (Map.Entry<String, Integer> entry : indexed.entrySet()) {
+            Integer weight = updated.get(entry.getKey());
+            trie.add(entry.getKey(), (weight != null ? weight : 0) - entry.getValue());
+        }
+        for (Map.Entry<String, Integer> entry : updated.entrySet()) {
+            if (!indexed.containsKey(entry.getKey())) trie.add(entry.getKey(), entry.getValue());
+        }
+        indexed.clear();
+        indexed.putAll(updated);
+    }
+
+    private static void indexTitle(String key, String title) {
+        if (key == null) return;
+        String updated = title != null ? SearchHistoryStore.normalize(title) : null;
+        String previous = updated != null ? indexedTitles.put(key, updated) : indexedTitles.remove(key);
+        if (updated != null && updated.equals(previous)) return;
+        if (previous != null) addTitle(previous, -1);
+        if (updated != null) addTitle(updated, 1);
+    }
+
+    private static void addTitle(String title, int sign) {
+        if (title.isEmpty()) return;
+        trie.add(title, sign * WEIGHT_TITLE);
+        int start = -1;
+        for (int i = 0, length = title.length(); i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(title.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= MIN_WORD_LENGTH) {
+                    trie.add(title.substring(start, i), sign * WEIGHT_WORD);
+                }
+                start = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.cartify.app.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Weighted prefix trie for autocomplete.
+ * Nodes live in parallel primitive arrays (label, parent, first child, next sibling, weight),
+ * and every node also keeps the highest term weight in its subtree. A top-k query walks to the
+ * prefix node and then expands the most promising subtrees first, so it touches roughly k paths
+ * no matter how large the vocabulary is. Weights can be raised or lowered at any time.
+ * Not thread-safe; callers synchronize.
+ */
+public class SuggestionTrie {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final long TERM_FLAG = 1L << 31;
+
+    private char[] labels;
+    private int[] parents;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] weights;
+    private int[] maxWeights;
+    private int nodeCount;
+    private int termCount;
+
+    // Search scratch space, reused between queries
+    private long[] heap = new long[64];
+    private int heapSize;
+    private final StringBuilder termBuilder = new StringBuilder();
+
+    public SuggestionTrie() {
+        this(256);
+    }
+
+    public SuggestionTrie(int initialNodes) {
+        int capacity = Math.max(initialNodes, 1);
+        labels = new char[capacity];
+        parents = new int[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        weights = new int[capacity];
+        maxWeights = new int[capacity];
+        clear();
+    }
+
+    /**
+     * Adds delta to a term's weight, creating the term if needed. A term whose weight
+     * drops to zero or below stops being suggested.
+     */
+    public void add(CharSequence term, int delta) {
+        if (term == null || term.length() == 0 || delta == 0) return;
+
+        int node = ROOT;
+        for (int i = 0, length = term.length(); i < length && node != NONE; i++) {
+            node = delta > 0 ? childOrCreate(node, term.charAt(i)) : child(node, term.charAt(i));
+        }
+        if (node == NONE) return;
+
+        int old = weights[node];
+        int updated = (int) Math.max(0, Math.min(Integer.MAX_VALUE, (long) old + delta));
+        if (updated == old) return;
+        weights[node] = updated;
+        if (old == 0) termCount++;
+        else if (updated == 0) termCount--;
+
+        if (updated > old) {
+            for (int n = node; n != NONE && maxWeights[n] < updated; n = parents[n]) {
+                maxWeights[n] = updated;
+            }
+        } else {
+            // Recompute upwards until an ancestor's maximum comes from elsewhere
+            for (int n = node; n != NONE; n = parents[n]) {
+                int max = subtreeMax(n);
+                if (max == maxWeights[n]) break;
+                maxWeights[n] = max;
+            }
+        }
+    }
+
+    public int weightOf(CharSequence term) {
+        int node = find(term);
+        return node == NONE ? 0 : weights[node];
+    }
+
+    /**
+     * Appends up to limit terms starting with prefix to out, heaviest first, and returns how many.
+     * On equal weights a term comes before the longer terms it prefixes.
+     */
+    public int topK(CharSequence prefix, int limit, List<String> out) {
+        int start = find(prefix);
+        if (start == NONE || maxWeights[start] == 0 || limit <= 0) return 0;
+
+        heapSize = 0;
+        push(entry(maxWeights[start], start, false));
+        int found = 0;
+        while (heapSize > 0 && found < limit) {
+            long top = pop();
+            int node = (int) (top & Integer.MAX_VALUE);
+            if ((top & TERM_FLAG) != 0) {
+                out.add(termAt(node));
+                found++;
+                continue;
+            }
+            if (weights[node] > 0) {
+                push(entry(weights[node], node, true));
+            }
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (maxWeights[child] > 0) {
+                    push(entry(maxWeights[child], child, false));
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Number of terms with a positive weight
+     */
+    public int size() {
+        return termCount;
+    }
+
+    /**
+     * Allocated nodes, including ones left behind by terms whose weight dropped to zero
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public void clear() {
+        nodeCount = 1;
+        termCount = 0;
+        parents[ROOT] = NONE;
+        firstChild[ROOT] = NONE;
+        nextSibling[ROOT] = NONE;
+        weights[ROOT] = 0;
+        maxWeights[ROOT] = 0;
+    }
+
+    private int find(CharSequence term) {
+        int node = ROOT;
+        for (int i = 0, length = term.length(); i < length && node != NONE; i++) {
+            node = child(node, term.charAt(i));
+        }
+        return node;
+    }
+
+    private int child(int node, char label) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (labels[child] == label) return child;
+        }
+        return NONE;
+    }
+
+    private int childOrCreate(int node, char label) {
+        int existing = child(node, label);
+        if (existing != NONE) return existing;
+
+        if (nodeCount == labels.length) {
+            grow();
+        }
+        int created = nodeCount++;
+        labels[created] = label;
+        parents[created] = node;
+        firstChild[created] = NONE;
+        nextSibling[created] = firstChild[node];
+        weights[created] = 0;
+        maxWeights[created] = 0;
+        firstChild[node] = created;
+        return created;
+    }
+
+    private int subtreeMax(int node) {
+        int max = weights[node];
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            max = Math.max(max, maxWeights[child]);
+        }
+        return max;
+    }
+
+    private String termAt(int node) {
+        termBuilder.setLength(0);
+        for (int n = node; n != ROOT; n = parents[n]) {
+            termBuilder.append(labels[n]);
+        }
+        return termBuilder.reverse().toString();
+    }
+
+    private void grow() {
+        int capacity = labels.length * 2;
+        labels = Arrays.copyOf(labels, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        maxWeights = Arrays.copyOf(maxWeights, capacity);
+    }
+
+    // Heap entries pack weight(31) | term flag(1) | node(31), so on equal weights a term
+    // is emitted before any subtree still waiting to be expanded
+
+    private static long entry(int weight, int node, boolean term) {
+        return ((long) weight << 32) | (term ? TERM_FLAG : 0) | node;
+    }
+
+    private void push(long entry) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] >= entry) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heap[child + 1] > heap[child]) child++;
+            if (last >= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+}
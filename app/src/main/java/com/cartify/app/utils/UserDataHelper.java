@@ -2,6 +2,7 @@ package com.cartify.app.utils;
 
 import android.content.Context;
 import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Money;
 import com.cartify.app.models.UserProfile;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
@@ -116,12 +117,16 @@ public class UserDataHelper {
     }
     
     public double getCartTotal() {
+        return Money.toMajorUnits(getCartTotalCents());
+    }
+
+    public long getCartTotalCents() {
         List<CartItem> cartItems = getCartItems();
-        double total = 0.0;
+        long totalCents = 0;
         for (CartItem item : cartItems) {
-            total += item.getPrice() * item.getQuantity();
+            totalCents = Money.add(totalCents, item.getTotalPriceCents());
         }
-        return total;
+        return totalCents;
     }
     
     public void clearCart() {
@@ -0,0 +1,67 @@
+package com.cartify.app;
+
+import com.cartify.app.models.AttributePool;
+import com.cartify.app.models.Product;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for AttributePool interning and the compact Product attribute lists
+ */
+public class AttributePoolTest {
+
+    @Test
+    public void testEqualListsShareOneInstance() {
+        AttributePool pool = new AttributePool();
+        List<String> first = pool.intern(new ArrayList<>(Arrays.asList("S", "M", "L")));
+        List<String> second = pool.intern(new ArrayList<>(Arrays.asList(new String("S"), "M", "L")));
+
+        assertSame(first, second);
+        assertEquals(Arrays.asList("S", "M", "L"), first);
+        assertEquals(Arrays.asList("S", "M", "L").hashCode(), first.hashCode());
+        assertEquals(3, pool.valueCount());
+        assertEquals(1, pool.listCount());
+
+        pool.intern(Arrays.asList("M", "L"));
+        assertEquals(3, pool.valueCount());
+        assertEquals(2, pool.listCount());
+    }
+
+    @Test
+    public void testListsAreImmutableAndKeepNulls() {
+        AttributePool pool = new AttributePool();
+        List<String> sizes = pool.intern(Arrays.asList("S", "M"));
+        try {
+            sizes.add("XL");
+            fail("Interned lists must be immutable");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+
+        List<String> withNull = pool.intern(Arrays.asList("S", null));
+        assertEquals(Arrays.asList("S", null), withNull);
+        assertNull(pool.intern(null));
+        assertTrue(pool.intern(new ArrayList<>()).isEmpty());
+    }
+
+    @Test
+    public void testProductsShareAttributeLists() {
+        Product a = new Product();
+        Product b = new Product();
+        a.setSize(new ArrayList<>(Arrays.asList("40", "41", "42")));
+        b.setSize(new ArrayList<>(Arrays.asList("40", "41", "42")));
+        a.setColor(new ArrayList<>(Arrays.asList("#000000", "#ffffff")));
+        b.setColor(new ArrayList<>(Arrays.asList("#000000", "#ffffff")));
+
+        assertSame(a.getSize(), b.getSize());
+        assertSame(a.getColor(), b.getColor());
+
+        a.setPicUrl(new ArrayList<>(Arrays.asList("a.jpg")));
+        assertEquals(Arrays.asList("a.jpg"), a.getPicUrl());
+    }
+}
@@ -0,0 +1,52 @@
+package com.cartify.app;
+
+import com.cartify.app.models.Product;
+import com.cartify.app.utils.FuzzyTitleIndex;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for typo-tolerant title search
+ */
+public class FuzzyTitleIndexTest {
+
+    private static FuzzyTitleIndex index(String... titles) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < titles.length; i++) {
+            products.add(new Product(String.valueOf(i), titles[i], null, 10, 0, 4, 1, null, null, null));
+        }
+        return new FuzzyTitleIndex(products);
+    }
+
+    @Test
+    public void testFindsTitlesDespiteTypos() {
+        FuzzyTitleIndex index = index("Casual Shoes for Men", "Stylish Plaid Coat", "Slim Fit Blazer");
+
+        assertArrayEquals(new int[] {0}, index.search("casual shose"));
+        assertArrayEquals(new int[] {2}, index.search("blazr"));
+        assertArrayEquals(new int[] {1}, index.search("stylsih plaid"));
+        // Short words are looked up among words of nearby lengths
+        assertArrayEquals(new int[] {1}, index.search("caot"));
+        // Two typos need a word of nine letters or more
+        assertArrayEquals(new int[0], index.search("stylushh"));
+        assertArrayEquals(new int[] {0}, index("Waterproof Boots").search("wateprooff"));
+        // Every query word needs a match
+        assertArrayEquals(new int[0], index.search("shoes coat"));
+        // Short words aren't fuzzed
+        assertArrayEquals(new int[0], index.search("cot"));
+    }
+
+    @Test
+    public void testRanksExactThenPrefixThenTypos() {
+        FuzzyTitleIndex index = index("Boots for Kids", "Boot Cuff Jeans", "Bootcut Trousers", "Boat Shoes");
+
+        int[] results = index.search("boot");
+        // "boot" itself, then words starting with it, then one edit away
+        assertArrayEquals(new int[] {1, 0, 2, 3}, results);
+        assertEquals(10, index.vocabularySize());
+    }
+}
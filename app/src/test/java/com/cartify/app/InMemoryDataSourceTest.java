@@ -0,0 +1,230 @@
+package com.cartify.app;
+
+import com.cartify.app.data.CartDataSource;
+import com.cartify.app.data.CatalogDataSource;
+import com.cartify.app.data.DataCallback;
+import com.cartify.app.data.DataSourceException;
+import com.cartify.app.data.InMemoryDataSource;
+import com.cartify.app.data.ReadPolicy;
+import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Order;
+import com.cartify.app.models.Product;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the in-memory data source seeded from database/database.json
+ */
+public class InMemoryDataSourceTest {
+
+    private static final String SEED_PATH = "../database/database.json";
+    private static final String USER_ID = "test-user";
+
+    private InMemoryDataSource dataSource;
+
+    @Before
+    public void setUp() throws IOException {
+        dataSource = create(42);
+    }
+
+    @After
+    public void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    public void testCatalogLoadsSeedProducts() throws Exception {
+        CompletableFuture<List<String>> keys = new CompletableFuture<>();
+        List<String> received = new ArrayList<>();
+
+        dataSource.observeChildren(CatalogDataSource.Node.PRODUCTS, Product.class,
+            new CatalogDataSource.ChildObserver<Product>() {
+                @Override
+                public void onChildAdded(String key, Product item, String previousKey) {
+                    assertNotNull(item.getTitle());
+                    received.add(key);
+                }
+                @Override public void onChildChanged(String key, Product item) {}
+                @Override public void onChildRemoved(String key) {}
+                @Override public void onChildMoved(String key, String previousKey) {}
+                @Override public void onInitialLoadComplete() { keys.complete(received); }
+                @Override public void onError(String errorMessage) { keys.completeExceptionally(new Exception(errorMessage)); }
+            });
+
+        List<String> loaded = keys.get(5, TimeUnit.SECONDS);
+        assertEquals(5, loaded.size());
+        assertEquals("0", loaded.get(0));
+
+        Product product = await(callback -> dataSource.getProduct("1", callback));
+        assertEquals("1", product.getId());
+        assertNull(this.<Product>await(callback -> dataSource.getProduct("missing", callback)));
+    }
+
+    @Test
+    public void testSummariesLeaveDetailsToTheFullPayload() throws Exception {
+        List<Product> summaries = loadSummaries(dataSource);
+        assertEquals(5, summaries.size());
+        for (Product summary : summaries) {
+            assertNotNull(summary.getTitle());
+            assertNull(summary.getDescription());
+            assertEquals(1, summary.getPicUrl().size());
+            assertEquals(1, summary.getSize().size());
+        }
+
+        Map<String, String> descriptions = await(dataSource::getProductDescriptions);
+        assertEquals(5, descriptions.size());
+        assertTrue(descriptions.get("2").startsWith("Lorem ipsum"));
+
+        // Seeds without an ItemSummaries node get one derived from Items
+        InMemoryDataSource derived = new InMemoryDataSource(new StringReader(
+            "{\"Items\": [{\"title\": \"Coat\", \"description\": \"Warm\", \"price\": 20,"
+                + " \"picUrl\": [\"a.png\", \"b.png\"], \"color\": [\"#000000\", \"#ffffff\"]}]}"),
+            1, Runnable::run);
+        try {
+            Product summary = loadSummaries(derived).get(0);
+            assertEquals("Coat", summary.getTitle());
+            assertEquals(20, summary.getPrice(), 0);
+            assertNull(summary.getDescription());
+            assertEquals(1, summary.getPicUrl().size());
+            assertEquals("#000000", summary.getColor().get(0));
+            assertEquals(1, summary.getColor().size());
+        } finally {
+            derived.shutdown();
+        }
+    }
+
+    @Test
+    public void testAddToCartIsIdempotentPerMutation() throws Exception {
+        CartItem item = new CartItem("0", "Shoes", 35.0, "", 1, null, null);
+
+        this.<Void>await(callback -> dataSource.addToCart(USER_ID, item, 2, "mutation-1", callback));
+        // Replaying the same mutation must not add again
+        this.<Void>await(callback -> dataSource.addToCart(USER_ID, item, 2, "mutation-1", callback));
+        this.<Void>await(callback -> dataSource.addToCart(USER_ID, item, 3, "mutation-2", callback));
+
+        List<CartItem> cart = await(callback -> dataSource.getCart(USER_ID, ReadPolicy.SERVER_FIRST, callback));
+        assertEquals(1, cart.size());
+        assertEquals(5, cart.get(0).getQuantity());
+    }
+
+    @Test
+    public void testPlacingAnOrderOnlyTakesTheOrderedQuantities() throws Exception {
+        CartItem item = new CartItem("0", "Shoes", 35.0, "", 1, null, null);
+        this.<Void>await(callback -> dataSource.addToCart(USER_ID, item, 2, "mutation-1", callback));
+        // Added again while the order was still waiting to be sent
+        this.<Void>await(callback -> dataSource.addToCart(USER_ID, item, 1, "mutation-2", callback));
+
+        Order order = new Order();
+        order.setOrderId("order-1");
+        order.setItems(Collections.singletonList(new CartItem("0", "Shoes", 35.0, "", 2, null, null)));
+        this.<Void>await(callback -> dataSource.placeOrder(USER_ID, order, callback));
+        List<CartItem> cart = await(callback -> dataSource.getCart(USER_ID, ReadPolicy.SERVER_FIRST, callback));
+        assertEquals(1, cart.get(0).getQuantity());
+
+        // Replaying the order after a lost response leaves the cart alone
+        this.<Void>await(callback -> dataSource.addToCart(USER_ID, item, 1, "mutation-3", callback));
+        this.<Void>await(callback -> dataSource.placeOrder(USER_ID, order, callback));
+        cart = await(callback -> dataSource.getCart(USER_ID, ReadPolicy.SERVER_FIRST, callback));
+        assertEquals(2, cart.get(0).getQuantity());
+    }
+
+    @Test
+    public void testAddToCartRejectsQuantityAboveLimit() throws Exception {
+        CartItem item = new CartItem("0", "Shoes", 35.0, "", 1, null, null);
+        this.<Void>await(callback -> dataSource.addToCart(USER_ID, item,
+            CartDataSource.MAX_QUANTITY_PER_LINE, "mutation-1", callback));
+
+        try {
+            this.<Void>await(callback -> dataSource.addToCart(USER_ID, item, 1, "mutation-2", callback));
+            fail("Expected the add to be rejected");
+        } catch (DataSourceException e) {
+            assertFalse(e.isRetryable());
+        }
+    }
+
+    @Test
+    public void testFailureInjectionIsDeterministicForSeed() throws Exception {
+        assertEquals(failurePattern(7), failurePattern(7));
+    }
+
+    private List<Boolean> failurePattern(long seed) throws Exception {
+        InMemoryDataSource source = create(seed);
+        source.setFailureRate(0.5);
+        List<Boolean> pattern = new ArrayList<>();
+        try {
+            for (int i = 0; i < 20; i++) {
+                try {
+                    this.<List<CartItem>>await(callback -> source.getCart(USER_ID, ReadPolicy.SERVER_FIRST, callback));
+                    pattern.add(false);
+                } catch (DataSourceException e) {
+                    assertTrue(e.isRetryable());
+                    pattern.add(true);
+                }
+            }
+        } finally {
+            source.shutdown();
+        }
+        assertTrue(pattern.contains(true));
+        assertTrue(pattern.contains(false));
+        return pattern;
+    }
+
+    private List<Product> loadSummaries(InMemoryDataSource source) throws Exception {
+        CompletableFuture<List<Product>> loaded = new CompletableFuture<>();
+        List<Product> received = new ArrayList<>();
+        source.observeChildren(CatalogDataSource.Node.PRODUCT_SUMMARIES, Product.class,
+            new CatalogDataSource.ChildObserver<Product>() {
+                @Override public void onChildAdded(String key, Product item, String previousKey) { received.add(item); }
+                @Override public void onChildChanged(String key, Product item) {}
+                @Override public void onChildRemoved(String key) {}
+                @Override public void onChildMoved(String key, String previousKey) {}
+                @Override public void onInitialLoadComplete() { loaded.complete(received); }
+                @Override public void onError(String errorMessage) { loaded.completeExceptionally(new Exception(errorMessage)); }
+            });
+        return loaded.get(5, TimeUnit.SECONDS);
+    }
+
+    private InMemoryDataSource create(long seed) throws IOException {
+        try (Reader reader = new FileReader(SEED_PATH)) {
+            return new InMemoryDataSource(reader, seed, Runnable::run);
+        }
+    }
+
+    private interface Request<T> {
+        void start(DataCallback<T> callback);
+    }
+
+    private <T> T await(Request<T> request) throws Exception {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        request.start(new DataCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                future.complete(result);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        try {
+            return future.get(5, TimeUnit.SECONDS);
+        } catch (java.util.concurrent.ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+}
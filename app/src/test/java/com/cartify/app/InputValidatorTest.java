@@ -1,7 +1,12 @@
 package com.cartify.app;
 
+import com.cartify.app.models.CartItem;
 import com.cartify.app.utils.InputValidator;
 import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.Assert.*;
 
 /**
@@ -95,6 +100,43 @@ public class InputValidatorTest {
         assertFalse(InputValidator.validatePrice("abc").isValid());
     }
 
+    @Test
+    public void testTypedNumberValidationMatchesStrings() {
+        assertTrue(InputValidator.validateQuantity(1).isValid());
+        assertTrue(InputValidator.validateQuantity(999).isValid());
+        assertFalse(InputValidator.validateQuantity(0).isValid());
+        assertEquals(InputValidator.validateQuantity("1000").getErrorMessage(),
+            InputValidator.validateQuantity(1000).getErrorMessage());
+
+        assertTrue(InputValidator.validatePrice(10.99).isValid());
+        assertTrue(InputValidator.validatePrice(999999.99).isValid());
+        assertTrue(InputValidator.validatePrice(0.1 + 0.2).isValid()); // Binary rounding only
+        assertFalse(InputValidator.validatePrice(10.999).isValid());
+        assertFalse(InputValidator.validatePrice(-10.99).isValid());
+        assertFalse(InputValidator.validatePrice(1000000.00).isValid());
+        assertFalse(InputValidator.validatePrice(Double.NaN).isValid());
+    }
+
+    @Test
+    public void testCartValidation() {
+        List<CartItem> cart = new ArrayList<>();
+        cart.add(new CartItem("1", "Shoes", 35.50, "", 2, null, null));
+        cart.add(new CartItem("2", "Hat", 10.00, "", 1, null, null));
+
+        InputValidator.CartValidationResult result = InputValidator.validateCart(cart);
+        assertTrue(result.isValid());
+        assertEquals(81.00, result.getTotal(), 0.001);
+
+        CartItem tooMany = new CartItem("3", "Socks", 2.00, "", 1000, null, null);
+        cart.add(tooMany);
+        result = InputValidator.validateCart(cart);
+        assertFalse(result.isValid());
+        assertSame(tooMany, result.getInvalidItem());
+        assertEquals("Invalid quantity for Socks: Quantity cannot exceed 999", result.getErrorMessage());
+
+        assertFalse(InputValidator.validateCart(new ArrayList<>()).isValid());
+    }
+
     @Test
     public void testSearchQueryValidation() {
         // Valid search queries
@@ -119,6 +161,12 @@ public class InputValidatorTest {
         // Test whitespace trimming
         assertEquals("test", InputValidator.sanitizeInput("  test  "));
         assertEquals("", InputValidator.sanitizeInput("   "));
+
+        // Mixed input is escaped in one pass, clean input is returned as is
+        assertEquals("&lt;b&gt;men&#x27;s &#x2F; women&#x27;s&lt;&#x2F;b&gt;",
+            InputValidator.sanitizeInput(" <b>men's / women's</b> "));
+        String clean = "Running shoes";
+        assertSame(clean, InputValidator.sanitizeInput(clean));
     }
 
     @Test
@@ -0,0 +1,62 @@
+package com.cartify.app;
+
+import com.cartify.app.utils.LatencyHistogram;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for LatencyHistogram
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(100000, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(100000, histogram.getMax());
+        assertEquals(50000.5, histogram.getMean(), 0.001);
+        assertWithin(50000, histogram.valueAtPercentile(50), 0.035);
+        assertWithin(90000, histogram.valueAtPercentile(90), 0.035);
+        assertWithin(99000, histogram.valueAtPercentile(99), 0.035);
+        assertEquals(100000, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(7);
+        histogram.record(31);
+
+        assertEquals(3, histogram.valueAtPercentile(0));
+        assertEquals(7, histogram.valueAtPercentile(50));
+        assertEquals(31, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    public void testEmptyAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.valueAtPercentile(99));
+        assertEquals(0, histogram.getMin());
+
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getMin());
+        assertTrue(histogram.getMax() > 0);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    private static void assertWithin(long expected, long actual, double relativeError) {
+        assertTrue("expected ~" + expected + " but was " + actual,
+            Math.abs(actual - expected) <= expected * relativeError);
+    }
+}
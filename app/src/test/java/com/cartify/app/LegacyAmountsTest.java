@@ -0,0 +1,84 @@
+package com.cartify.app;
+
+import com.cartify.app.data.LegacyAmounts;
+import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Order;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for reading amounts from documents written before amounts moved to cents
+ */
+public class LegacyAmountsTest {
+
+    // What toObject leaves behind for a legacy document: every field but the decimal amount
+    private static CartItem mappedItem(String productId, int quantity) {
+        CartItem item = new CartItem();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private static Map<String, Object> itemData(String productId, Object price, int quantity) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("productId", productId);
+        data.put("price", price);
+        data.put("quantity", (long) quantity);
+        return data;
+    }
+
+    @Test
+    public void testLegacyCartItemPriceIsRead() {
+        CartItem item = LegacyAmounts.cartItem(mappedItem("1", 2), itemData("1", 19.99, 2));
+        assertEquals(1999, item.getPriceCents());
+        assertEquals(3998, item.getTotalPriceCents());
+
+        // Whole-number prices come back from Firestore as longs
+        assertEquals(3500, LegacyAmounts.cartItem(mappedItem("2", 1), itemData("2", 35L, 1)).getPriceCents());
+
+        // A document that already has cents keeps them
+        CartItem current = new CartItem("3", "Socks", 4.5, "", 1, null, null);
+        Map<String, Object> data = itemData("3", 9.99, 1);
+        data.put("priceCents", 450L);
+        assertEquals(450, LegacyAmounts.cartItem(current, data).getPriceCents());
+
+        assertNull(LegacyAmounts.cartItem(null, data));
+    }
+
+    @Test
+    public void testLegacyOrderTotalAndNestedItemsAreRead() {
+        List<CartItem> items = new ArrayList<>();
+        items.add(mappedItem("1", 2));
+        items.add(mappedItem("2", 1));
+        Order order = new Order();
+        order.setOrderId("o1");
+        order.setItems(items);
+
+        List<Object> itemData = new ArrayList<>();
+        itemData.add(itemData("1", 19.99, 2));
+        itemData.add(itemData("2", 41.02, 1));
+        Map<String, Object> data = new HashMap<>();
+        data.put("orderId", "o1");
+        data.put("totalAmount", 81.0);
+        data.put("items", itemData);
+
+        LegacyAmounts.order(order, data);
+        assertEquals(8100, order.getTotalAmountCents());
+        assertEquals(1999, order.getItems().get(0).getPriceCents());
+        assertEquals(4102, order.getItems().get(1).getPriceCents());
+
+        // Current documents are left as mapped
+        Order current = new Order("o2", "u", Collections.emptyList(), 8100, null, null, null);
+        Map<String, Object> currentData = new HashMap<>();
+        currentData.put("totalAmountCents", 8100L);
+        currentData.put("totalAmount", 1.0);
+        assertEquals(8100, LegacyAmounts.order(current, currentData).getTotalAmountCents());
+    }
+}
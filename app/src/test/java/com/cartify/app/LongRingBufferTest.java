@@ -0,0 +1,60 @@
+package com.cartify.app;
+
+import com.cartify.app.utils.LongRingBuffer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for LongRingBuffer
+ */
+public class LongRingBufferTest {
+
+    @Test
+    public void testKeepsNewestEntriesOnceFull() {
+        LongRingBuffer ring = new LongRingBuffer(5);
+        assertEquals(8, ring.capacity());
+        assertEquals(0, ring.snapshot().length);
+
+        for (long i = 1; i <= 20; i++) {
+            ring.add(i);
+        }
+
+        assertEquals(20, ring.totalAdded());
+        assertArrayEquals(new long[] {13, 14, 15, 16, 17, 18, 19, 20}, ring.snapshot());
+
+        long[] newest = new long[3];
+        assertEquals(3, ring.copyNewestFirst(newest));
+        assertArrayEquals(new long[] {20, 19, 18}, newest);
+    }
+
+    @Test
+    public void testConcurrentWritersLoseNoSlots() throws InterruptedException {
+        LongRingBuffer ring = new LongRingBuffer(4096);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long base = t * 1000L;
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    ring.add(base + i);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        long[] entries = ring.snapshot();
+        assertEquals(4000, entries.length);
+        boolean[] seen = new boolean[4000];
+        for (long entry : entries) {
+            assertFalse(seen[(int) entry]);
+            seen[(int) entry] = true;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.cartify.app;
+
+import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Money;
+import com.cartify.app.models.Order;
+import com.google.gson.Gson;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for Money and the cents-backed cart and order amounts
+ */
+public class MoneyTest {
+
+    @Test
+    public void testMinorUnitConversionAndArithmetic() {
+        assertEquals(1999, Money.toMinorUnits(19.99));
+        assertEquals(3550, Money.toMinorUnits(35.5));
+        assertEquals(-105, Money.toMinorUnits(-1.045));
+        assertEquals(0.3, Money.toMajorUnits(Money.add(10, 20)), 0);
+        assertEquals(5997, Money.lineTotal(1999, 3));
+
+        long price = Money.toMinorUnits(0.1);
+        assertEquals(30, Money.add(Money.add(price, price), price));
+
+        try {
+            Money.lineTotal(Long.MAX_VALUE / 2, 3);
+            fail("Overflow should throw");
+        } catch (ArithmeticException expected) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testCartItemTotalsAreExact() {
+        CartItem item = new CartItem("1", "Socks", 0.1, "", 3, null, null);
+        assertEquals(10, item.getPriceCents());
+        assertEquals(30, item.getTotalPriceCents());
+        assertEquals(0.3, item.getTotalPrice(), 0);
+    }
+
+    @Test
+    public void testLegacyDecimalJsonIsStillRead() {
+        Gson gson = new Gson();
+        CartItem item = gson.fromJson("{\"productId\":\"1\",\"price\":19.99,\"quantity\":2}", CartItem.class);
+        assertEquals(1999, item.getPriceCents());
+        assertEquals(3998, item.getTotalPriceCents());
+
+        // Re-saved items carry only the cents field
+        String json = gson.toJson(item);
+        assertTrue(json.contains("\"priceCents\":1999"));
+        assertFalse(json.contains("\"price\":"));
+
+        Order order = gson.fromJson("{\"orderId\":\"o1\",\"totalAmount\":81.0}", Order.class);
+        assertEquals(8100, order.getTotalAmountCents());
+        assertEquals(8100, new Order("o2", "u", Collections.emptyList(), 8100, null, null, null)
+            .getTotalAmountCents());
+    }
+}
@@ -0,0 +1,63 @@
+package com.cartify.app;
+
+import com.cartify.app.utils.PopularityTracker;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for PopularityTracker counting, decay and persistence
+ */
+public class PopularityTrackerTest {
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    @Test
+    public void testKeepsMostFrequentTermsInFixedSpace() {
+        PopularityTracker tracker = new PopularityTracker(4, 256, 3, 7 * DAY, 0);
+        for (int i = 0; i < 5; i++) tracker.record("shoes", 0);
+        for (int i = 0; i < 3; i++) tracker.record("blazer", 0);
+        for (int i = 0; i < 100; i++) tracker.record("rare query " + i, 0);
+        for (int i = 0; i < 4; i++) tracker.record("winter coat", 0);
+
+        assertEquals(3, tracker.size());
+        assertTrue(tracker.estimate("shoes", 0) >= 5);
+
+        List<String> top = new ArrayList<>();
+        tracker.top(2, 2, 0, top);
+        assertEquals(Arrays.asList("shoes", "winter coat"), top);
+    }
+
+    @Test
+    public void testOldSearchesFade() {
+        PopularityTracker tracker = new PopularityTracker(4, 256, 8, DAY, 0);
+        for (int i = 0; i < 8; i++) tracker.record("sandals", 0);
+        for (int i = 0; i < 3; i++) tracker.record("boots", 30 * DAY);
+
+        assertEquals(0, tracker.estimate("sandals", 30 * DAY), 0.001);
+        assertEquals(3, tracker.estimate("boots", 30 * DAY), 0.001);
+
+        List<String> top = new ArrayList<>();
+        tracker.top(5, 1, 30 * DAY, top);
+        assertEquals(Arrays.asList("boots"), top);
+    }
+
+    @Test
+    public void testRoundTripsThroughBytes() {
+        PopularityTracker tracker = new PopularityTracker(4, 256, 8, DAY, 0);
+        tracker.record("shoes", 0);
+        tracker.record("shoes", DAY);
+
+        PopularityTracker restored = PopularityTracker.fromBytes(tracker.toBytes(), 4, 256, 8, DAY, DAY);
+        assertEquals(tracker.estimate("shoes", DAY), restored.estimate("shoes", DAY), 0.001);
+        assertEquals(1, restored.size());
+
+        // A different sketch shape or garbage starts empty
+        assertEquals(0, PopularityTracker.fromBytes(tracker.toBytes(), 4, 512, 8, DAY, DAY).size());
+        assertEquals(0, PopularityTracker.fromBytes(new byte[] {1, 2}, 4, 256, 8, DAY, DAY).size());
+    }
+}
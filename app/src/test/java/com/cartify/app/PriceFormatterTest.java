@@ -0,0 +1,67 @@
+package com.cartify.app;
+
+import com.cartify.app.utils.LongLruCache;
+import com.cartify.app.utils.PriceFormatter;
+import com.cartify.app.utils.PriceUtils;
+import org.junit.Test;
+
+import java.util.Currency;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for PriceFormatter, its LRU cache and the cached discount labels
+ */
+public class PriceFormatterTest {
+
+    @Test
+    public void testFormatsByCurrencyAndCachesByMinorUnits() {
+        PriceFormatter usd = new PriceFormatter(Currency.getInstance("USD"), Locale.US);
+        assertEquals("$35.00", usd.format(35));
+        assertEquals("$1,234.50", usd.format(1234.5));
+        assertEquals(3550, usd.toMinorUnits(35.5));
+        // Same cents, same cached instance
+        assertSame(usd.format(19.99), usd.format(19.990000001));
+
+        PriceFormatter yen = new PriceFormatter(Currency.getInstance("JPY"), Locale.US);
+        assertEquals(1235, yen.toMinorUnits(1234.5));
+        assertTrue(yen.format(1234.5).endsWith("1,235"));
+    }
+
+    @Test
+    public void testLruCacheEvictsLeastRecentlyUsed() {
+        LongLruCache<String> cache = new LongLruCache<>(3);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+        assertEquals("one", cache.get(1)); // 2 is now the least recently used
+        cache.put(4, "four");
+
+        assertNull(cache.get(2));
+        assertEquals("one", cache.get(1));
+        assertEquals("three", cache.get(3));
+        assertEquals("four", cache.get(4));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testLruCacheSurvivesManyEvictions() {
+        LongLruCache<Long> cache = new LongLruCache<>(64);
+        for (long key = 0; key < 10_000; key++) {
+            cache.put(key * 100, key);
+            assertEquals(Long.valueOf(key), cache.get(key * 100));
+        }
+        for (long key = 10_000 - 64; key < 10_000; key++) {
+            assertEquals(Long.valueOf(key), cache.get(key * 100));
+        }
+        assertNull(cache.get((10_000 - 65) * 100));
+    }
+
+    @Test
+    public void testDiscountTextIsShared() {
+        assertEquals("30% OFF", PriceUtils.getDiscountText(50, 35));
+        assertSame(PriceUtils.getDiscountText(50, 35), PriceUtils.getDiscountText(100, 70));
+        assertNull(PriceUtils.getDiscountText(35, 35));
+    }
+}
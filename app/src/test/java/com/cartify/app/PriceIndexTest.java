@@ -0,0 +1,90 @@
+package com.cartify.app;
+
+import com.cartify.app.models.Product;
+import com.cartify.app.utils.PriceIndex;
+import com.cartify.app.utils.PriceQuery;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for price intent parsing and the sorted price index
+ */
+public class PriceIndexTest {
+
+    @Test
+    public void testParsesPriceIntents() {
+        PriceQuery under = PriceQuery.parse("shoes under 50");
+        assertEquals(0, under.minCents);
+        assertEquals(5000, under.maxCents);
+        assertEquals("shoes", under.text);
+        assertFalse(under.bare);
+
+        PriceQuery range = PriceQuery.parse("30-60.5");
+        assertEquals(3000, range.minCents);
+        assertEquals(6050, range.maxCents);
+        assertEquals("", range.text);
+
+        PriceQuery between = PriceQuery.parse("between 60 and 30 blazer");
+        assertEquals(3000, between.minCents);
+        assertEquals(6000, between.maxCents);
+        assertEquals("blazer", between.text);
+
+        assertEquals(10000, PriceQuery.parse("more than 100").minCents);
+        assertEquals(2500, PriceQuery.parse("up to 25 coat").maxCents);
+
+        // A bare number matches prices within $10
+        PriceQuery bare = PriceQuery.parse("45");
+        assertTrue(bare.bare);
+        assertTrue(bare.contains(54.99));
+        assertFalse(bare.contains(55));
+        assertTrue(bare.contains(35.01));
+
+        assertNull(PriceQuery.parse("t-shirt"));
+        assertNull(PriceQuery.parse("under armour"));
+        assertNull(PriceQuery.parse("12.345"));
+    }
+
+    @Test
+    public void testNameLikeQueriesNeedACurrencySign() {
+        // Words that appear in product names stay text unless the number is written as a price
+        assertNull(PriceQuery.parse("air max 90"));
+        assertNull(PriceQuery.parse("from 2020 collection"));
+        assertNull(PriceQuery.parse("min 3 pack socks"));
+
+        PriceQuery max = PriceQuery.parse("air max $90");
+        assertEquals(0, max.minCents);
+        assertEquals(9000, max.maxCents);
+        assertEquals("air", max.text);
+
+        PriceQuery from = PriceQuery.parse("from $20 to 40 scarf");
+        assertEquals(2000, from.minCents);
+        assertEquals(4000, from.maxCents);
+        assertEquals("scarf", from.text);
+
+        // Unambiguous words take either form
+        assertEquals(8000, PriceQuery.parse("shoes under $80").maxCents);
+        assertEquals(8000, PriceQuery.parse("shoes under 80").maxCents);
+        assertNull(PriceQuery.parse("$"));
+    }
+
+    @Test
+    public void testRangeQueriesReturnListPositions() {
+        List<Product> products = new ArrayList<>();
+        double[] prices = {40, 12.5, 99.99, 40, Double.NaN, 60, 0};
+        for (int i = 0; i < prices.length; i++) {
+            products.add(new Product(String.valueOf(i), "Item " + i, null, prices[i], 0, 4, 1, null, null, null));
+        }
+        PriceIndex index = new PriceIndex(products);
+
+        assertEquals(6, index.size());
+        assertArrayEquals(new int[] {0, 3, 5}, index.positionsBetween(4000, 6000));
+        assertArrayEquals(new int[] {1, 6}, index.positionsBetween(0, 1250));
+        assertArrayEquals(new int[] {2}, index.positionsBetween(9000, Long.MAX_VALUE));
+        assertArrayEquals(new int[0], index.positionsBetween(6001, 9998));
+        assertArrayEquals(new int[0], index.positionsBetween(50, 10));
+    }
+}
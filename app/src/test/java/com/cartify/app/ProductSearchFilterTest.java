@@ -0,0 +1,54 @@
+package com.cartify.app;
+
+import com.cartify.app.models.Product;
+import com.cartify.app.utils.ProductSearchFilter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for matching products against search queries
+ */
+public class ProductSearchFilterTest {
+
+    private static List<String> search(String query, Product... products) {
+        List<Product> results = new ArrayList<>();
+        new ProductSearchFilter().filter(Arrays.asList(products), query, results);
+        List<String> ids = new ArrayList<>();
+        for (Product product : results) ids.add(product.getId());
+        return ids;
+    }
+
+    private static Product product(String id, String title, double price) {
+        return new Product(id, title, null, price, 0, 4, 1, null, null, null);
+    }
+
+    @Test
+    public void testCurrencySignedPriceQueries() {
+        Product cheapShoes = product("cheap", "Running Shoes", 60);
+        Product dearShoes = product("dear", "Leather Shoes", 120);
+        Product airMax = product("air", "Air Max 90", 150);
+        Product scarf = product("scarf", "Wool Scarf", 30);
+
+        assertEquals(Collections.singletonList("cheap"),
+            search("shoes under $80", cheapShoes, dearShoes, airMax, scarf));
+        assertEquals(Collections.singletonList("air"),
+            search("air max $200", cheapShoes, dearShoes, airMax, scarf));
+        assertEquals(Collections.singletonList("scarf"),
+            search("from $20 to 40", cheapShoes, dearShoes, airMax, scarf));
+    }
+
+    @Test
+    public void testNameLikeQueriesMatchTitles() {
+        Product airMax = product("air", "Air Max 90", 150);
+        Product cap = product("cap", "Air Cap", 20);
+
+        // No sign, so "max 90" is part of the name rather than a $90 cap
+        assertEquals(Collections.singletonList("air"), search("air max 90", airMax, cap));
+    }
+}
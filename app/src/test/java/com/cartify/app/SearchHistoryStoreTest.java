@@ -0,0 +1,73 @@
+package com.cartify.app;
+
+import com.cartify.app.utils.SearchHistoryStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for SearchHistoryStore ordering, dedupe and log replay
+ */
+public class SearchHistoryStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testKeepsDistinctQueriesNewestFirst() throws IOException {
+        SearchHistoryStore store = new SearchHistoryStore(folder.newFile(), Runnable::run);
+        assertTrue(store.add("Shoes"));
+        assertTrue(store.add("blazer"));
+        assertTrue(store.add("  shoes "));
+        assertFalse(store.add("shoes"));
+        assertFalse(store.add("   "));
+
+        assertEquals(Arrays.asList("shoes", "blazer"), store.getNewestFirst());
+        assertTrue(store.contains("BLAZER"));
+    }
+
+    @Test
+    public void testEvictsOldestBeyondCapacity() throws IOException {
+        SearchHistoryStore store = new SearchHistoryStore(folder.newFile(), Runnable::run);
+        List<String> expected = new ArrayList<>();
+        // Re-searching old queries leaves gaps in the ring, forcing it to compact
+        for (int i = 0; i < 50; i++) {
+            store.add("query " + (i % 13));
+            store.add("query 0");
+        }
+        for (int i = 49; expected.size() < SearchHistoryStore.CAPACITY - 1; i--) {
+            String query = "query " + (i % 13);
+            if (!query.equals("query 0") && !expected.contains(query)) expected.add(query);
+        }
+        expected.add(0, "query 0");
+
+        assertEquals(SearchHistoryStore.CAPACITY, store.size());
+        assertEquals(expected, store.getNewestFirst());
+    }
+
+    @Test
+    public void testReplaysLogAfterRestart() throws IOException {
+        File log = new File(folder.getRoot(), "history.log");
+        SearchHistoryStore store = new SearchHistoryStore(log, Runnable::run);
+        for (int i = 0; i < 200; i++) {
+            store.add("query " + (i % 20));
+        }
+        store.add("query 3");
+
+        SearchHistoryStore restored = new SearchHistoryStore(log, Runnable::run);
+        assertEquals(store.getNewestFirst(), restored.getNewestFirst());
+        // The log was compacted along the way instead of keeping every record
+        assertTrue(log.length() < 200 * 10);
+
+        restored.clear();
+        assertTrue(new SearchHistoryStore(log, Runnable::run).getNewestFirst().isEmpty());
+    }
+}
@@ -0,0 +1,74 @@
+package com.cartify.app;
+
+import com.cartify.app.models.Product;
+import com.cartify.app.utils.SearchRanker;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for search relevance ranking
+ */
+public class SearchRankerTest {
+
+    private static Product product(String id, String title, String description, double rating, int review) {
+        return new Product(id, title, description, 10, 0, rating, review, null, null, null);
+    }
+
+    private static List<String> rankedIds(List<Product> products, String query, int limit) {
+        int[] positions = new int[products.size()];
+        for (int i = 0; i < positions.length; i++) positions[i] = i;
+        int[] order = new int[positions.length];
+        new SearchRanker(products, Collections.emptyMap())
+            .rank(positions, positions.length, query, limit, order);
+        List<String> ids = new ArrayList<>();
+        for (int index : order) ids.add(products.get(positions[index]).getId());
+        return ids;
+    }
+
+    @Test
+    public void testTitleMatchesOutrankDescriptionMatches() {
+        List<Product> products = new ArrayList<>();
+        products.add(product("a", "Slim Fit Blazer", "Pairs well with leather shoes", 5, 500));
+        products.add(product("b", "Leather Shoes", "Classic shoes for work", 3, 2));
+        products.add(product("c", "Canvas Shoes", "Light and breathable", 4, 40));
+
+        List<String> ids = rankedIds(products, "shoes", 10);
+        // A strong rating doesn't lift a description-only hit over title hits
+        assertEquals("a", ids.get(2));
+        // Both titles name the word; the one repeating it in the description goes first
+        assertEquals("b", ids.get(0));
+    }
+
+    @Test
+    public void testPriorsBreakTiesAndPrefixesMatchWhileTyping() {
+        List<Product> products = new ArrayList<>();
+        products.add(product("few", "Wool Scarf", null, 5, 1));
+        products.add(product("many", "Wool Scarf", null, 4.6, 900));
+        products.add(product("other", "Silk Tie", null, 5, 900));
+
+        assertEquals("many", rankedIds(products, "sca", 10).get(0));
+        assertEquals("other", rankedIds(products, "", 10).get(0));
+    }
+
+    @Test
+    public void testOnlyTheTopResultsAreReordered() {
+        List<Product> products = new ArrayList<>();
+        products.add(product("0", "Denim Jacket", null, 4, 10));
+        products.add(product("1", "Rain Coat", null, 4, 10));
+        products.add(product("2", "Denim Coat", null, 4, 10));
+        products.add(product("3", "Wool Coat", null, 4, 10));
+
+        // The single ranked slot goes to the two-term match; the rest stay in list order
+        List<String> ids = rankedIds(products, "denim coat", 1);
+        assertEquals(4, ids.size());
+        assertEquals("2", ids.get(0));
+        assertEquals("0", ids.get(1));
+        assertEquals("1", ids.get(2));
+        assertEquals("3", ids.get(3));
+    }
+}
@@ -0,0 +1,62 @@
+package com.cartify.app;
+
+import com.cartify.app.utils.SuggestionTrie;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for SuggestionTrie ranking and incremental weight updates
+ */
+public class SuggestionTrieTest {
+
+    @Test
+    public void testTopKOrdersByWeight() {
+        SuggestionTrie trie = new SuggestionTrie(4);
+        trie.add("shoes", 5);
+        trie.add("shirt", 10);
+        trie.add("shorts", 1);
+        trie.add("sh", 5);
+        trie.add("blazer", 50);
+
+        List<String> out = new ArrayList<>();
+        assertEquals(3, trie.topK("sh", 3, out));
+        // Equal weights go to the shorter term
+        assertEquals(Arrays.asList("shirt", "sh", "shoes"), out);
+
+        out.clear();
+        assertEquals(0, trie.topK("x", 3, out));
+        assertEquals(0, trie.topK("shoesx", 3, out));
+        assertEquals(5, trie.size());
+    }
+
+    @Test
+    public void testWeightsUpdateIncrementally() {
+        SuggestionTrie trie = new SuggestionTrie();
+        trie.add("winter coat", 3);
+        trie.add("winter", 2);
+        trie.add("winter coat", -3);
+
+        List<String> out = new ArrayList<>();
+        trie.topK("wi", 5, out);
+        assertEquals(Arrays.asList("winter"), out);
+        assertEquals(0, trie.weightOf("winter coat"));
+        assertEquals(1, trie.size());
+
+        // Removing something that was never added is a no-op
+        trie.add("wool", -1);
+        assertEquals(1, trie.size());
+
+        trie.add("winter", -2);
+        out.clear();
+        assertEquals(0, trie.topK("", 5, out));
+
+        trie.add("wool", 1);
+        trie.topK("w", 5, out);
+        assertEquals(Arrays.asList("wool"), out);
+    }
+}
@@ -0,0 +1,67 @@
+// JVM microbenchmarks for the app's pure-Java hot paths
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+sourceSets {
+    main {
+        java {
+            // The app code under test is compiled straight from the app module, so the
+            // benchmarks always measure the current sources. Only classes that run on a
+            // plain JVM are included; src/main/java adds the few Android shims they need.
+            srcDir("../app/src/main/java")
+            include(
+                "android/**",
+                "com/google/firebase/firestore/**",
+                "com/cartify/benchmark/**",
+                "com/cartify/app/models/**",
+                "com/cartify/app/utils/FuzzyTitleIndex.java",
+                "com/cartify/app/utils/InputValidator.java",
+                "com/cartify/app/utils/LongLruCache.java",
+                "com/cartify/app/utils/PriceFormatter.java",
+                "com/cartify/app/utils/PriceIndex.java",
+                "com/cartify/app/utils/PriceQuery.java",
+                "com/cartify/app/utils/PriceUtils.java",
+                "com/cartify/app/utils/ProductSearchFilter.java",
+                "com/cartify/app/utils/SearchHighlights.java",
+                "com/cartify/app/utils/SearchRanker.java",
+                "com/cartify/app/utils/SuggestionTrie.java"
+            )
+        }
+    }
+}
+
+dependencies {
+    implementation(libs.gson)
+
+    jmh(project(":synthetic"))
+    jmh(libs.gson)
+}
+
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    resultFormat.set("JSON")
+    resultsFile.set(jmhResults)
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // e.g. ./gradlew :benchmark:jmh -Pbenchmarks=Search
+    (project.findProperty("benchmarks") as String?)?.let { includes.set(listOf(it)) }
+}
+
+// Fails the build when a benchmark is slower than its limit in thresholds.json
+tasks.register<JavaExec>("checkBenchmarkRegressions") {
+    group = "verification"
+    dependsOn("jmh")
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.cartify.benchmark.RegressionCheck")
+    args(jmhResults.get().asFile.path, file("thresholds.json").path)
+}
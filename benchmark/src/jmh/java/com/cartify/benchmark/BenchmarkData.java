@@ -0,0 +1,66 @@
+package com.cartify.benchmark;
+
+import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Product;
+import com.cartify.synthetic.CatalogGenerator;
+import com.cartify.synthetic.SessionTraceGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic inputs shared by the benchmarks. A fixed seed keeps runs comparable.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42;
+
+    private BenchmarkData() {}
+
+    /**
+     * Catalog of the given size as the app sees it after loading from the database
+     */
+    static List<Product> catalog(int size) {
+        CatalogGenerator generator = new CatalogGenerator(SEED);
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            CatalogGenerator.Product source = generator.product(i);
+            products.add(new Product(String.valueOf(i), source.title, source.description,
+                source.price, source.oldPrice, source.rating, source.review,
+                source.picUrl, source.size, source.color));
+        }
+        return products;
+    }
+
+    /**
+     * Submitted search queries from synthetic sessions against a catalog of the given size
+     */
+    static List<String> searchQueries(int catalogSize, int count) {
+        SessionTraceGenerator sessions = new SessionTraceGenerator(new CatalogGenerator(SEED), catalogSize, SEED);
+        List<String> queries = new ArrayList<>(count);
+        for (int i = 0; queries.size() < count; i++) {
+            for (SessionTraceGenerator.Event event : sessions.session(i).events) {
+                if (SessionTraceGenerator.SEARCH.equals(event.type) && queries.size() < count) {
+                    queries.add(event.query);
+                }
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Cart with one line per product, as built by the add-to-cart flow
+     */
+    static List<CartItem> cart(int lines) {
+        List<Product> products = catalog(lines);
+        List<CartItem> cart = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Product product = products.get(i);
+            cart.add(new CartItem(product.getId(), product.getTitle(), product.getPrice(),
+                product.getPicUrl().get(0), 1 + i % 3,
+                product.getSize().isEmpty() ? null : product.getSize().get(0),
+                product.getColor().get(0)));
+        }
+        return cart;
+    }
+}
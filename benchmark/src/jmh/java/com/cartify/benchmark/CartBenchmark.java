@@ -0,0 +1,83 @@
+package com.cartify.benchmark;
+
+import com.cartify.app.models.CartItem;
+import com.cartify.app.models.Money;
+import com.cartify.app.utils.InputValidator;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart totals and the Gson round trips UserDataHelper and LocalStorageManager do on every cart change.
+ * The serialization mirrors their code; SharedPreferences itself is left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CartBenchmark {
+
+    private static final Type STRING_LIST_TYPE = new TypeToken<List<String>>(){}.getType();
+
+    @Param({"1", "10", "100"})
+    public int cartLines;
+
+    private final Gson gson = new Gson();
+    private List<CartItem> cart;
+    private String storedCart;
+
+    @Setup
+    public void setUp() {
+        cart = BenchmarkData.cart(cartLines);
+        storedCart = saveCartItems();
+    }
+
+    @Benchmark
+    public long cartTotal() {
+        // CartActivity.updateTotalAmount
+        long totalCents = 0;
+        for (int i = 0, size = cart.size(); i < size; i++) {
+            totalCents = Money.add(totalCents, cart.get(i).getTotalPriceCents());
+        }
+        return totalCents;
+    }
+
+    @Benchmark
+    public boolean validateCart() {
+        // CartActivity.proceedToCheckout
+        return InputValidator.validateCart(cart).isValid();
+    }
+
+    @Benchmark
+    public String saveCartItems() {
+        // UserDataHelper.saveCartItems -> LocalStorageManager.saveCartItems
+        List<String> cartItemsJson = new ArrayList<>();
+        for (CartItem item : cart) {
+            cartItemsJson.add(gson.toJson(item));
+        }
+        return gson.toJson(cartItemsJson);
+    }
+
+    @Benchmark
+    public List<CartItem> getCartItems() {
+        // LocalStorageManager.getCartItems -> UserDataHelper.getCartItems
+        List<String> cartItemsJson = gson.fromJson(storedCart, STRING_LIST_TYPE);
+        List<CartItem> cartItems = new ArrayList<>();
+        for (String json : cartItemsJson) {
+            cartItems.add(gson.fromJson(json, CartItem.class));
+        }
+        return cartItems;
+    }
+}
@@ -0,0 +1,70 @@
+package com.cartify.benchmark;
+
+import com.cartify.app.utils.InputValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation and sanitizing run on every keystroke and form submit
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InputValidatorBenchmark {
+
+    private final String email = "firstname.lastname+orders@example-mail.co.uk";
+    private final String password = "CorrectHorse9Battery";
+    private final String phone = "+44 7700 900 123";
+    private final String address = "221B Baker Street, Flat 2, London NW1 6XE";
+    private final String query = "slim fit denim jacket";
+    private final String plainInput = "Lightweight running shoes for men";
+    private final String markupInput = "<b>\"Shoes\"</b> for men's / women's";
+    private final double price = 1299.99;
+
+    @Benchmark
+    public boolean validateEmail() {
+        return InputValidator.validateEmail(email).isValid();
+    }
+
+    @Benchmark
+    public boolean validatePassword() {
+        return InputValidator.validatePassword(password).isValid();
+    }
+
+    @Benchmark
+    public boolean validatePhone() {
+        return InputValidator.validatePhone(phone).isValid();
+    }
+
+    @Benchmark
+    public boolean validateAddress() {
+        return InputValidator.validateAddress(address).isValid();
+    }
+
+    @Benchmark
+    public boolean validateSearchQuery() {
+        return InputValidator.validateSearchQuery(query).isValid();
+    }
+
+    @Benchmark
+    public boolean validatePrice() {
+        return InputValidator.validatePrice(price).isValid();
+    }
+
+    @Benchmark
+    public String sanitizePlainInput() {
+        return InputValidator.sanitizeInput(plainInput);
+    }
+
+    @Benchmark
+    public String sanitizeMarkupInput() {
+        return InputValidator.sanitizeInput(markupInput);
+    }
+}
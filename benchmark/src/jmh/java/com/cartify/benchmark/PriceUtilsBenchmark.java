@@ -0,0 +1,49 @@
+package com.cartify.benchmark;
+
+import com.cartify.app.models.Product;
+import com.cartify.app.utils.PriceUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price text built for every product card that binds
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PriceUtilsBenchmark {
+
+    private List<Product> products;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkData.catalog(1000);
+    }
+
+    @Benchmark
+    public String formatPrice() {
+        return PriceUtils.formatPrice(nextProduct().getPrice());
+    }
+
+    @Benchmark
+    public String discountText() {
+        Product product = nextProduct();
+        return PriceUtils.getDiscountText(product.getOldPrice(), product.getPrice());
+    }
+
+    private Product nextProduct() {
+        Product product = products.get(next);
+        next = (next + 1) % products.size();
+        return product;
+    }
+}
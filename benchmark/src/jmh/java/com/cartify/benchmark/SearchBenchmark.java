@@ -0,0 +1,118 @@
+package com.cartify.benchmark;
+
+import com.cartify.app.models.Product;
+import com.cartify.app.utils.InputValidator;
+import com.cartify.app.utils.ProductSearchFilter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search as SearchActivity runs it: sanitize the typed text, then filter the whole catalog.
+ * Price intents go through the price index instead of a scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    // Price intents as typed in the search box
+    private static final String[] PRICE_QUERIES = {
+        "under 50", "30-60", "over 200", "shoes under 80", "between 20 and 40", "45"
+    };
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    private List<Product> products;
+    private List<String> queries;
+    private List<String> typoQueries;
+    private final ProductSearchFilter filter = new ProductSearchFilter();
+    private final List<Product> results = new ArrayList<>();
+    private int next;
+    private int nextPrice;
+    private int nextTypo;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkData.catalog(catalogSize);
+        queries = BenchmarkData.searchQueries(catalogSize, 64);
+        typoQueries = new ArrayList<>(queries.size());
+        for (String query : queries) {
+            typoQueries.add(withTypo(query));
+        }
+    }
+
+    @Benchmark
+    public int submittedQuery() {
+        String query = InputValidator.sanitizeInput(nextQuery());
+        filter.filter(products, query, results);
+        return results.size();
+    }
+
+    @Benchmark
+    public int keystroke() {
+        // Typing re-runs the search for every prefix; a two-letter prefix matches broadly
+        String query = nextQuery();
+        filter.filter(products, InputValidator.sanitizeInput(query.substring(0, Math.min(2, query.length()))), results);
+        return results.size();
+    }
+
+    @Benchmark
+    public int priceQuery() {
+        String query = PRICE_QUERIES[nextPrice];
+        nextPrice = (nextPrice + 1) % PRICE_QUERIES.length;
+        filter.filter(products, InputValidator.sanitizeInput(query), results);
+        return results.size();
+    }
+
+    @Benchmark
+    public int typoQuery() {
+        // Nothing matches as typed, so the search falls back to the fuzzy title index
+        String query = typoQueries.get(nextTypo);
+        nextTypo = (nextTypo + 1) % typoQueries.size();
+        filter.filter(products, InputValidator.sanitizeInput(query), results);
+        return results.size();
+    }
+
+    /**
+     * Swaps two letters in the middle of the query's longest word, the most common typo
+     */
+    private static String withTypo(String query) {
+        int start = 0;
+        int longestStart = 0;
+        int longestLength = 0;
+        for (int i = 0; i <= query.length(); i++) {
+            if (i == query.length() || query.charAt(i) == ' ') {
+                if (i - start > longestLength) {
+                    longestStart = start;
+                    longestLength = i - start;
+                }
+                start = i + 1;
+            }
+        }
+        if (longestLength < 4) return query;
+        int swap = longestStart + longestLength / 2;
+        char[] chars = query.toCharArray();
+        char c = chars[swap];
+        chars[swap] = chars[swap - 1];
+        chars[swap - 1] = c;
+        return new String(chars);
+    }
+
+    private String nextQuery() {
+        String query = queries.get(next);
+        next = (next + 1) % queries.size();
+        return query;
+    }
+}
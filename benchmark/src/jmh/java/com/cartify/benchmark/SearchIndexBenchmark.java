@@ -0,0 +1,55 @@
+package com.cartify.benchmark;
+
+import com.cartify.app.models.Product;
+import com.cartify.app.utils.FuzzyTitleIndex;
+import com.cartify.app.utils.PriceIndex;
+import com.cartify.app.utils.SearchRanker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the indexes behind search, as happens in the background after every catalog change.
+ * Searches meanwhile scan the catalog unranked, so this is how long results stay that way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SearchIndexBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkData.catalog(catalogSize);
+    }
+
+    @Benchmark
+    public SearchRanker buildRanker() {
+        // The catalog products carry their descriptions
+        return new SearchRanker(products, Collections.emptyMap());
+    }
+
+    @Benchmark
+    public FuzzyTitleIndex buildFuzzyIndex() {
+        return new FuzzyTitleIndex(products);
+    }
+
+    @Benchmark
+    public PriceIndex buildPriceIndex() {
+        return new PriceIndex(products);
+    }
+}
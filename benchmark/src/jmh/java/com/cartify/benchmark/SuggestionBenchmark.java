@@ -0,0 +1,68 @@
+package com.cartify.benchmark;
+
+import com.cartify.app.models.Product;
+import com.cartify.app.utils.SuggestionTrie;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete lookups against a trie holding every product title and title word,
+ * as SearchSuggestionsHelper indexes the catalog
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuggestionBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    private final SuggestionTrie trie = new SuggestionTrie();
+    private final List<String> suggestions = new ArrayList<>();
+    private List<String> queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (Product product : BenchmarkData.catalog(catalogSize)) {
+            String title = product.getTitle().toLowerCase(Locale.ROOT);
+            trie.add(title, 2);
+            for (String word : title.split("[^\\p{L}\\p{N}]+")) {
+                if (word.length() >= 2) trie.add(word, 1);
+            }
+        }
+        queries = BenchmarkData.searchQueries(catalogSize, 64);
+    }
+
+    @Benchmark
+    public int keystroke() {
+        // Short prefixes have the most completions to rank
+        String query = nextQuery();
+        suggestions.clear();
+        return trie.topK(query.substring(0, Math.min(2, query.length())), 8, suggestions);
+    }
+
+    @Benchmark
+    public int submittedQuery() {
+        suggestions.clear();
+        return trie.topK(nextQuery(), 8, suggestions);
+    }
+
+    private String nextQuery() {
+        String query = queries.get(next);
+        next = (next + 1) % queries.size();
+        return query.toLowerCase(Locale.ROOT);
+    }
+}
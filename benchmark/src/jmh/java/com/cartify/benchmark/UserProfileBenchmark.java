@@ -0,0 +1,37 @@
+package com.cartify.benchmark;
+
+import com.cartify.app.models.UserProfile;
+import com.google.gson.Gson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LocalStorageManager.saveObject / getObject for the stored user profile
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserProfileBenchmark {
+
+    private final Gson gson = new Gson();
+    private final UserProfile profile = new UserProfile("uid-123", "jane@example.com", "Jane Doe",
+        "+15555550123", "221B Baker Street, London", "2025-01-01T00:00:00Z", "2025-06-01T12:00:00Z");
+    private final String storedProfile = gson.toJson(profile);
+
+    @Benchmark
+    public String saveObject() {
+        return gson.toJson(profile);
+    }
+
+    @Benchmark
+    public UserProfile getObject() {
+        return gson.fromJson(storedProfile, UserProfile.class);
+    }
+}
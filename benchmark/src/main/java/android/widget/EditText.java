@@ -0,0 +1,17 @@
+package android.widget;
+
+/**
+ * JVM stand-in so InputValidator's view helpers compile; the benchmarks never call them
+ */
+public class EditText {
+
+    public CharSequence getText() {
+        return "";
+    }
+
+    public void setError(CharSequence error) {}
+
+    public boolean requestFocus() {
+        return false;
+    }
+}
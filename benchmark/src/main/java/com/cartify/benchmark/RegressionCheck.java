@@ -0,0 +1,107 @@
+package com.cartify.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares JMH JSON results with the limits in thresholds.json and exits non-zero on a regression.
+ * Keys look like "SearchBenchmark.submittedQuery[catalogSize=1000]"; a limit is the slowest
+ * acceptable average time in the unit the benchmark reports.
+ */
+public class RegressionCheck {
+
+    /**
+     * Slowest acceptable score for one benchmark
+     */
+    static class Threshold {
+        double max;
+        String unit;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: RegressionCheck <jmh-results.json> <thresholds.json>");
+            System.exit(2);
+        }
+
+        JsonArray results;
+        Map<String, Threshold> thresholds;
+        try (Reader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            results = JsonParser.parseReader(reader).getAsJsonArray();
+        }
+        try (Reader reader = Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+            thresholds = new Gson().fromJson(reader, new TypeToken<Map<String, Threshold>>(){}.getType());
+        }
+
+        List<String> failures = new ArrayList<>();
+        for (JsonElement element : results) {
+            JsonObject result = element.getAsJsonObject();
+            String key = key(result);
+            JsonObject metric = result.getAsJsonObject("primaryMetric");
+            double score = metric.get("score").getAsDouble();
+            String unit = metric.get("scoreUnit").getAsString();
+
+            Threshold threshold = thresholds.get(key);
+            if (threshold == null) {
+                System.out.printf("?    %-70s %12.3f %s (no threshold)%n", key, score, unit);
+                continue;
+            }
+            if (!unit.equals(threshold.unit)) {
+                failures.add(key + ": reported in " + unit + " but threshold is in " + threshold.unit);
+                continue;
+            }
+            boolean passed = score <= threshold.max;
+            System.out.printf("%s %-70s %12.3f / %.3f %s%n", passed ? "ok  " : "FAIL", key, score, threshold.max, unit);
+            if (!passed) {
+                failures.add(String.format("%s: %.3f %s exceeds %.3f", key, score, unit, threshold.max));
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            System.err.println(failures.size() + " benchmark regression(s):");
+            for (String failure : failures) {
+                System.err.println("  " + failure);
+            }
+            System.exit(1);
+        }
+    }
+
+    static String key(JsonObject result) {
+        String benchmark = result.get("benchmark").getAsString();
+        // Drop the package: com.cartify.benchmark.SearchBenchmark.keystroke -> SearchBenchmark.keystroke
+        String[] parts = benchmark.split("\\.");
+        StringBuilder key = new StringBuilder(parts[parts.length - 2]).append('.').append(parts[parts.length - 1]);
+
+        JsonObject params = result.getAsJsonObject("params");
+        if (params != null) {
+            // Sorted so the key doesn't depend on the order JMH writes parameters
+            Map<String, String> sorted = new TreeMap<>();
+            for (Map.Entry<String, JsonElement> param : params.entrySet()) {
+                sorted.put(param.getKey(), param.getValue().getAsString());
+            }
+            key.append('[');
+            boolean first = true;
+            for (Map.Entry<String, String> param : sorted.entrySet()) {
+                if (!first) key.append(',');
+                key.append(param.getKey()).append('=').append(param.getValue());
+                first = false;
+            }
+            key.append(']');
+        }
+        return key.toString();
+    }
+}
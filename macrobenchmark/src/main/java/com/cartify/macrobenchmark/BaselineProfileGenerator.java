@@ -0,0 +1,59 @@
+package com.cartify.macrobenchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.uiautomator.UiDevice;
+
+import kotlin.Unit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Generates the app's baseline and startup profiles from the critical path:
+ * splash, login, home, search, product detail and cart.
+ * Run with ./gradlew :app:generateBaselineProfile on an API 28+ device or emulator.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    private static final int MAX_ITERATIONS = 15;
+    private static final int STABLE_ITERATIONS = 3;
+
+    @Rule
+    public BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        baselineProfileRule.collect(
+            Journeys.PACKAGE_NAME,
+            MAX_ITERATIONS,
+            STABLE_ITERATIONS,
+            null,
+            // Also emit a startup profile so R8 lays out startup classes in the primary dex
+            true,
+            false,
+            rule -> true,
+            scope -> {
+                scope.pressHome();
+                Journeys.launchToLogin(scope);
+                Journeys.fillLoginForm(scope.getDevice());
+
+                scope.killProcess();
+                Journeys.launchToHome(scope);
+                UiDevice device = scope.getDevice();
+                Journeys.scrollHomeGrid(device);
+                Journeys.switchCategories(device);
+
+                Journeys.openSearch(device);
+                Journeys.typeQuery(device, "shoes");
+                device.pressBack();
+
+                Journeys.openFirstProduct(device);
+                Journeys.addToCartAndOpenCart(device);
+                return Unit.INSTANCE;
+            }
+        );
+    }
+}
@@ -0,0 +1,151 @@
+package com.cartify.macrobenchmark;
+
+import android.content.Intent;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.BySelector;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+/**
+ * User journeys shared by the benchmarks and the baseline profile generator. Apart from
+ * the login screen, the app is launched against the in-memory backend, so runs are
+ * offline, repeatable and skip sign-in.
+ */
+final class Journeys {
+
+    static final String PACKAGE_NAME = "com.cartify.app";
+
+    // Must match the extras in com.cartify.app.data.DataSources
+    private static final String EXTRA_IN_MEMORY = "in_memory_data";
+    private static final String EXTRA_SEED = "in_memory_seed";
+
+    // Splash screen delay plus loading the catalog
+    private static final long LAUNCH_TIMEOUT_MS = 10000;
+    private static final long UI_TIMEOUT_MS = 5000;
+
+    private Journeys() {}
+
+    /**
+     * Launches from the launcher activity and waits until the product grid has items
+     */
+    static void launchToHome(MacrobenchmarkScope scope) {
+        Intent intent = launcherIntent();
+        intent.putExtra(EXTRA_IN_MEMORY, true);
+        intent.putExtra(EXTRA_SEED, 1L);
+        scope.startActivityAndWait(intent);
+
+        UiDevice device = scope.getDevice();
+        device.wait(Until.hasObject(res("recyclerView").hasChild(By.clickable(true))), LAUNCH_TIMEOUT_MS);
+    }
+
+    /**
+     * Launches against Firebase with nobody signed in, which lands on the login screen
+     */
+    static void launchToLogin(MacrobenchmarkScope scope) {
+        scope.startActivityAndWait(launcherIntent());
+        scope.getDevice().wait(Until.hasObject(res("etEmail")), LAUNCH_TIMEOUT_MS);
+    }
+
+    /**
+     * Fills the login form so field validation runs, without signing in
+     */
+    static void fillLoginForm(UiDevice device) {
+        find(device, res("etEmail")).setText("shopper@example.com");
+        find(device, res("etPassword")).setText("Benchmark123");
+        device.waitForIdle();
+    }
+
+    /**
+     * Opens the first product in the home grid
+     */
+    static void openFirstProduct(UiDevice device) {
+        find(device, res("recyclerView")).getChildren().get(0).click();
+        device.wait(Until.hasObject(res("btnAddToCart")), UI_TIMEOUT_MS);
+    }
+
+    /**
+     * Adds the open product to the cart, goes back home and opens the cart tab
+     */
+    static void addToCartAndOpenCart(UiDevice device) {
+        find(device, res("btnAddToCart")).click();
+        device.waitForIdle();
+        device.pressBack();
+        find(device, res("nav_cart")).click();
+        device.wait(Until.hasObject(res("tvTotalAmount")), UI_TIMEOUT_MS);
+    }
+
+    /**
+     * Flings the home screen down and back up again
+     */
+    static void scrollHomeGrid(UiDevice device) {
+        UiObject2 scrollView = find(device, res("homeScrollView"));
+        // Keep the gesture away from the screen edges so it isn't taken as system navigation
+        scrollView.setGestureMargin(device.getDisplayWidth() / 5);
+        for (int i = 0; i < 3; i++) {
+            scrollView.fling(Direction.DOWN);
+            device.waitForIdle();
+        }
+        for (int i = 0; i < 3; i++) {
+            scrollView.fling(Direction.UP);
+            device.waitForIdle();
+        }
+    }
+
+    /**
+     * Taps through the category tabs above the grid and back to "All"
+     */
+    static void switchCategories(UiDevice device) {
+        UiObject2 categories = find(device, res("recyclerViewCategories"));
+        int count = categories.getChildCount();
+        for (int i = 1; i < count; i++) {
+            categories.getChildren().get(i).click();
+            device.waitForIdle();
+        }
+        categories.getChildren().get(0).click();
+        device.waitForIdle();
+    }
+
+    /**
+     * Opens search from the home screen
+     */
+    static void openSearch(UiDevice device) {
+        find(device, res("searchCard")).click();
+        device.wait(Until.hasObject(res("searchEditText")), UI_TIMEOUT_MS);
+    }
+
+    /**
+     * Types a query one character at a time, as the keyboard would deliver it
+     */
+    static void typeQuery(UiDevice device, String query) {
+        UiObject2 searchField = find(device, res("searchEditText"));
+        for (int length = 1; length <= query.length(); length++) {
+            searchField.setText(query.substring(0, length));
+            device.waitForIdle();
+        }
+        searchField.clear();
+        device.waitForIdle();
+    }
+
+    private static Intent launcherIntent() {
+        Intent intent = new Intent(Intent.ACTION_MAIN);
+        intent.addCategory(Intent.CATEGORY_LAUNCHER);
+        intent.setPackage(PACKAGE_NAME);
+        return intent;
+    }
+
+    static BySelector res(String id) {
+        return By.res(PACKAGE_NAME, id);
+    }
+
+    private static UiObject2 find(UiDevice device, BySelector selector) {
+        UiObject2 object = device.wait(Until.findObject(selector), UI_TIMEOUT_MS);
+        if (object == null) {
+            throw new AssertionError("View not found: " + selector);
+        }
+        return object;
+    }
+}
@@ -0,0 +1,65 @@
+package com.cartify.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import kotlin.Unit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+/**
+ * Frame timings (P50/P90/P95/P99 frame duration and overrun) on the home screen
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScrollBenchmark {
+
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void scrollProductGrid() {
+        benchmarkRule.measureRepeated(
+            Journeys.PACKAGE_NAME,
+            Collections.singletonList(new FrameTimingMetric()),
+            new CompilationMode.Partial(),
+            StartupMode.WARM,
+            ITERATIONS,
+            scope -> {
+                Journeys.launchToHome(scope);
+                return Unit.INSTANCE;
+            },
+            scope -> {
+                Journeys.scrollHomeGrid(scope.getDevice());
+                return Unit.INSTANCE;
+            }
+        );
+    }
+
+    @Test
+    public void switchCategoryTabs() {
+        benchmarkRule.measureRepeated(
+            Journeys.PACKAGE_NAME,
+            Collections.singletonList(new FrameTimingMetric()),
+            new CompilationMode.Partial(),
+            StartupMode.WARM,
+            ITERATIONS,
+            scope -> {
+                Journeys.launchToHome(scope);
+                return Unit.INSTANCE;
+            },
+            scope -> {
+                Journeys.switchCategories(scope.getDevice());
+                return Unit.INSTANCE;
+            }
+        );
+    }
+}
@@ -0,0 +1,62 @@
+package com.cartify.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.Metric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import kotlin.Unit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Typing into SearchActivity. Frame timings show dropped frames while typing; the
+ * SearchActivity.performSearch section gives the per-keystroke search time.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SearchTypingBenchmark {
+
+    private static final int ITERATIONS = 5;
+
+    // Broad prefixes first, then queries that narrow to a few products
+    private static final String[] QUERIES = {"shoes", "slim fit jacket", "leather boots for men"};
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void typeSearchQueries() {
+        List<Metric> metrics = Arrays.asList(
+            new FrameTimingMetric(),
+            new TraceSectionMetric("SearchActivity.performSearch", TraceSectionMetric.Mode.Sum.INSTANCE,
+                "performSearch", true)
+        );
+
+        benchmarkRule.measureRepeated(
+            Journeys.PACKAGE_NAME,
+            metrics,
+            new CompilationMode.Partial(),
+            StartupMode.WARM,
+            ITERATIONS,
+            scope -> {
+                Journeys.launchToHome(scope);
+                Journeys.openSearch(scope.getDevice());
+                return Unit.INSTANCE;
+            },
+            scope -> {
+                for (String query : QUERIES) {
+                    Journeys.typeQuery(scope.getDevice(), query);
+                }
+                return Unit.INSTANCE;
+            }
+        );
+    }
+}
@@ -0,0 +1,56 @@
+package com.cartify.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import kotlin.Unit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+/**
+ * Launcher to a populated product grid. Reports time to initial display and,
+ * through MainActivity's reportFullyDrawn, time to full display.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void coldStartup() {
+        startup(StartupMode.COLD);
+    }
+
+    @Test
+    public void warmStartup() {
+        startup(StartupMode.WARM);
+    }
+
+    private void startup(StartupMode startupMode) {
+        benchmarkRule.measureRepeated(
+            Journeys.PACKAGE_NAME,
+            Collections.singletonList(new StartupTimingMetric()),
+            new CompilationMode.Partial(),
+            startupMode,
+            ITERATIONS,
+            scope -> {
+                scope.pressHome();
+                return Unit.INSTANCE;
+            },
+            scope -> {
+                Journeys.launchToHome(scope);
+                return Unit.INSTANCE;
+            }
+        );
+    }
+}
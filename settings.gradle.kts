@@ -21,3 +21,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "Cartify"
 include(":app")
+include(":synthetic")
+include(":benchmark")
+include(":macrobenchmark")
@@ -0,0 +1,19 @@
+// Plain JVM module: generates synthetic catalogs and session traces for scale testing
+plugins {
+    application
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+application {
+    mainClass.set("com.cartify.synthetic.SyntheticDataMain")
+}
+
+dependencies {
+    implementation(libs.gson)
+
+    testImplementation(libs.junit)
+}
@@ -0,0 +1,227 @@
+package com.cartify.synthetic;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates catalogs in the Realtime Database schema (Banner, Category, Items).
+ * Every product is derived only from the seed and its index, so any product can be
+ * regenerated on its own and catalogs of different sizes share their leading products.
+ * Title tokens, brands and popularity follow Zipf distributions; prices are log-normal
+ * per product family and ratings are skewed towards four and five stars.
+ */
+public class CatalogGenerator {
+
+    private static final long INDEX_MIX = 0x9E3779B97F4A7C15L;
+    private static final double DISCOUNT_PROBABILITY = 0.45;
+
+    private final long seed;
+    private final ZipfSampler brandSampler = new ZipfSampler(Vocabulary.BRANDS.length, 1.1);
+    private final ZipfSampler adjectiveSampler = new ZipfSampler(Vocabulary.ADJECTIVES.length, 1.0);
+    private final ZipfSampler materialSampler = new ZipfSampler(Vocabulary.MATERIALS.length, 1.0);
+    private final ZipfSampler patternSampler = new ZipfSampler(Vocabulary.PATTERNS.length, 1.0);
+    private final ZipfSampler nounSampler = new ZipfSampler(12, 0.9);
+    private final ZipfSampler familySampler = new ZipfSampler(Vocabulary.FAMILIES.length, 0.6);
+    private final ZipfSampler colorSampler = new ZipfSampler(Vocabulary.COLOR_HEX.length, 0.8);
+    private final ZipfSampler wordSampler = new ZipfSampler(Vocabulary.DESCRIPTION_WORDS.length, 1.0);
+
+    /**
+     * One generated product, with the category it was generated for
+     */
+    public static class Product {
+        public final int index;
+        public final int categoryId;
+        public final String title;
+        public final String description;
+        public final int price;
+        public final int oldPrice;
+        public final double rating;
+        public final int review;
+        public final List<String> picUrl;
+        public final List<String> size;
+        public final List<String> color;
+
+        Product(int index, int categoryId, String title, String description, int price, int oldPrice,
+                double rating, int review, List<String> picUrl, List<String> size, List<String> color) {
+            this.index = index;
+            this.categoryId = categoryId;
+            this.title = title;
+            this.description = description;
+            this.price = price;
+            this.oldPrice = oldPrice;
+            this.rating = rating;
+            this.review = review;
+            this.picUrl = picUrl;
+            this.size = size;
+            this.color = color;
+        }
+    }
+
+    public CatalogGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates the product at an index; the same seed and index always give the same product
+     */
+    public Product product(int index) {
+        Random random = new Random(seed ^ (index * INDEX_MIX));
+
+        int familyIndex = familySampler.sample(random);
+        Vocabulary.Family family = Vocabulary.FAMILIES[familyIndex];
+        int audience = random.nextInt(Vocabulary.AUDIENCES.length);
+        // Shoes have their own category in the seed data
+        int categoryId = family.sizes == Vocabulary.SHOE_SIZES && audience != 2
+            ? 3 : Vocabulary.AUDIENCE_CATEGORY_IDS[audience];
+
+        String title = title(random, family, audience);
+        String description = description(random, title);
+
+        double logPrice = Math.log(family.medianPrice) + random.nextGaussian() * 0.55;
+        int price = (int) Math.max(5, Math.min(2000, Math.round(Math.exp(logPrice))));
+        int oldPrice = price;
+        if (random.nextDouble() < DISCOUNT_PROBABILITY) {
+            oldPrice = (int) Math.round(price / (1 - (0.1 + random.nextDouble() * 0.4)));
+        }
+
+        // Mostly between 3.8 and 5.0, with a thin tail of poorly rated products
+        double rating = 5.0 - Math.abs(random.nextGaussian()) * 0.45;
+        rating = Math.round(Math.max(1.0, rating) * 10) / 10.0;
+        // Pareto-distributed review counts: most products have a handful, a few have thousands
+        int review = (int) Math.min(50000, Math.floor(2 / Math.pow(1 - random.nextDouble(), 1 / 1.2)) - 1);
+
+        List<String> picUrl = pick(random, family.pictures, 1 + random.nextInt(Math.min(5, family.pictures.length)));
+        List<String> size = contiguousSizes(random, family.sizes);
+        List<String> color = colors(random);
+
+        return new Product(index, categoryId, title, description, price, oldPrice, rating, review,
+            picUrl, size, color);
+    }
+
+    /**
+     * Streams a whole database.json with the given number of products.
+     * Products are written one at a time, so a million-product catalog doesn't need to fit in memory.
+     */
+    public void writeDatabase(int productCount, Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("  ");
+        writer.beginObject();
+
+        writer.name("Banner").beginArray();
+        writer.beginObject().name("url")
+            .value("https://res.cloudinary.com/dkikc5ywq/image/upload/v1741202773/banner_1_vqsiey.png").endObject();
+        writer.beginObject().name("url")
+            .value("https://res.cloudinary.com/dkikc5ywq/image/upload/v1741337427/banner_2_ikyyvu.png").endObject();
+        writer.endArray();
+
+        writer.name("Category").beginArray();
+        String[] categories = {"All", "Women", "Men", "Shoes", "Kids"};
+        for (int id = 0; id < categories.length; id++) {
+            writer.beginObject().name("id").value(id).name("title").value(categories[id]).endObject();
+        }
+        writer.endArray();
+
+        writer.name("Items").beginArray();
+        for (int index = 0; index < productCount; index++) {
+            writeProduct(writer, product(index));
+        }
+        writer.endArray();
+
+        writer.endObject();
+        writer.flush();
+    }
+
+    private void writeProduct(JsonWriter writer, Product product) throws IOException {
+        writer.beginObject();
+        writer.name("title").value(product.title);
+        writer.name("description").value(product.description);
+        writer.name("price").value(product.price);
+        writer.name("oldPrice").value(product.oldPrice);
+        writer.name("rating").value(product.rating);
+        writer.name("review").value(product.review);
+        writeStrings(writer, "picUrl", product.picUrl);
+        writeStrings(writer, "size", product.size);
+        writeStrings(writer, "color", product.color);
+        writer.endObject();
+    }
+
+    private static void writeStrings(JsonWriter writer, String name, List<String> values) throws IOException {
+        writer.name(name).beginArray();
+        for (String value : values) {
+            writer.value(value);
+        }
+        writer.endArray();
+    }
+
+    private String title(Random random, Vocabulary.Family family, int audience) {
+        StringBuilder title = new StringBuilder();
+        if (random.nextDouble() < 0.6) {
+            title.append(Vocabulary.BRANDS[brandSampler.sample(random)]).append(' ');
+        }
+        title.append(Vocabulary.ADJECTIVES[adjectiveSampler.sample(random)]).append(' ');
+        double detail = random.nextDouble();
+        if (detail < 0.4) {
+            title.append(Vocabulary.MATERIALS[materialSampler.sample(random)]).append(' ');
+        } else if (detail < 0.55) {
+            title.append(Vocabulary.PATTERNS[patternSampler.sample(random)]).append(' ');
+        }
+        title.append(family.nouns[nounSampler.sample(random) % family.nouns.length]);
+        title.append(" for ").append(Vocabulary.AUDIENCES[audience]);
+        return title.toString();
+    }
+
+    private String description(Random random, String title) {
+        StringBuilder description = new StringBuilder(title).append(". ");
+        int sentences = 2 + random.nextInt(3);
+        for (int s = 0; s < sentences; s++) {
+            int words = 6 + random.nextInt(10);
+            for (int w = 0; w < words; w++) {
+                String word = Vocabulary.DESCRIPTION_WORDS[wordSampler.sample(random)];
+                if (w == 0) {
+                    description.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+                } else {
+                    description.append(' ').append(word);
+                }
+            }
+            description.append(". ");
+        }
+        return description.toString().trim();
+    }
+
+    private List<String> colors(Random random) {
+        int count = 1 + random.nextInt(4);
+        List<String> colors = new ArrayList<>(count);
+        while (colors.size() < count) {
+            String color = Vocabulary.COLOR_HEX[colorSampler.sample(random)];
+            if (!colors.contains(color)) {
+                colors.add(color);
+            }
+        }
+        return colors;
+    }
+
+    private static List<String> contiguousSizes(Random random, String[] sizes) {
+        if (sizes.length == 0) {
+            return Collections.emptyList();
+        }
+        int count = Math.min(sizes.length, 3 + random.nextInt(3));
+        int start = random.nextInt(sizes.length - count + 1);
+        List<String> range = new ArrayList<>(count);
+        for (int i = start; i < start + count; i++) {
+            range.add(sizes[i]);
+        }
+        return range;
+    }
+
+    private static List<String> pick(Random random, String[] values, int count) {
+        List<String> pool = new ArrayList<>(List.of(values));
+        Collections.shuffle(pool, random);
+        return new ArrayList<>(pool.subList(0, count));
+    }
+}
@@ -0,0 +1,90 @@
+package com.cartify.synthetic;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Derives the ItemSummaries and ItemDescriptions nodes from the Items node of a database export.
+ * The app's list screens read the summaries and search reads the descriptions, so rerun this
+ * whenever Items changes and upload the output with {@code firebase database:update /}.
+ * Summaries mirror Product.toSummary(): no description and only the first image, size and color.
+ */
+public class CatalogProjections {
+
+    private static final String[] SUMMARY_LISTS = {"picUrl", "size", "color"};
+    private static final Gson GSON = new Gson();
+
+    /**
+     * Streams the export's Items and writes both projections, keyed by product id.
+     * Items are parsed one at a time, but the descriptions are held until the summaries are out.
+     */
+    public void write(Reader in, Writer out) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("  ");
+        Map<String, String> descriptions = new LinkedHashMap<>();
+
+        writer.beginObject();
+        writer.name("ItemSummaries").beginObject();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("Items")) {
+                reader.skipValue();
+                continue;
+            }
+            // Exports keep a list for sequential ids and an object otherwise
+            boolean list = reader.peek() == JsonToken.BEGIN_ARRAY;
+            if (list) reader.beginArray(); else reader.beginObject();
+            for (int index = 0; reader.hasNext(); index++) {
+                String id = list ? String.valueOf(index) : reader.nextName();
+                JsonElement item = JsonParser.parseReader(reader);
+                if (!item.isJsonObject()) continue;
+                JsonObject product = item.getAsJsonObject();
+                writer.name(id);
+                writeSummary(writer, product);
+                JsonElement description = product.get("description");
+                if (description != null && !description.isJsonNull()) {
+                    descriptions.put(id, description.getAsString());
+                }
+            }
+            if (list) reader.endArray(); else reader.endObject();
+        }
+        reader.endObject();
+        writer.endObject();
+
+        writer.name("ItemDescriptions").beginObject();
+        for (Map.Entry<String, String> entry : descriptions.entrySet()) {
+            writer.name(entry.getKey()).value(entry.getValue());
+        }
+        writer.endObject();
+
+        writer.endObject();
+        writer.flush();
+    }
+
+    private static void writeSummary(JsonWriter writer, JsonObject product) {
+        JsonObject summary = product.deepCopy();
+        summary.remove("description");
+        for (String name : SUMMARY_LISTS) {
+            JsonElement values = summary.get(name);
+            if (values != null && values.isJsonArray() && values.getAsJsonArray().size() > 1) {
+                JsonArray first = new JsonArray();
+                first.add(values.getAsJsonArray().get(0));
+                summary.add(name, first);
+            }
+        }
+        GSON.toJson(summary, writer);
+    }
+}
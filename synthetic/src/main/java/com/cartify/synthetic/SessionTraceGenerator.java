@@ -0,0 +1,224 @@
+package com.cartify.synthetic;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates replayable user sessions against a synthetic catalog, one JSON object per line.
+ * A session types and submits searches, opens products, edits the cart and sometimes checks out.
+ * Product ids are catalog indexes (the Items array keys), picked with a Zipf skew so a few
+ * products get most of the traffic. Queries come from the target product's title, with some
+ * typos and "under $N" price filters mixed in.
+ */
+public class SessionTraceGenerator {
+
+    public static final String TYPE = "type";
+    public static final String SEARCH = "search";
+    public static final String VIEW = "view";
+    public static final String ADD_TO_CART = "add_to_cart";
+    public static final String SET_QUANTITY = "set_quantity";
+    public static final String REMOVE_ITEM = "remove_item";
+    public static final String PLACE_ORDER = "place_order";
+
+    private static final double TYPO_PROBABILITY = 0.08;
+    private static final double PRICE_QUERY_PROBABILITY = 0.05;
+    private static final double CHECKOUT_PROBABILITY = 0.3;
+
+    /**
+     * One user action, timed relative to the start of its session
+     */
+    public static class Event {
+        public final long atMs;
+        public final String type;
+        public final String query;
+        public final String productId;
+        public final int quantity;
+
+        Event(long atMs, String type, String query, String productId, int quantity) {
+            this.atMs = atMs;
+            this.type = type;
+            this.query = query;
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+    }
+
+    /**
+     * A single user's visit
+     */
+    public static class Session {
+        public final String sessionId;
+        public final String userId;
+        public final List<Event> events;
+
+        Session(String sessionId, String userId, List<Event> events) {
+            this.sessionId = sessionId;
+            this.userId = userId;
+            this.events = events;
+        }
+    }
+
+    private final CatalogGenerator catalog;
+    private final long seed;
+    private final ZipfSampler popularity;
+    private final ZipfSampler users;
+
+    public SessionTraceGenerator(CatalogGenerator catalog, int productCount, long seed) {
+        this.catalog = catalog;
+        this.seed = seed;
+        this.popularity = new ZipfSampler(productCount, 1.05);
+        // Returning users: a small group accounts for many sessions
+        this.users = new ZipfSampler(Math.max(1, productCount / 4), 0.8);
+    }
+
+    /**
+     * Generates the session at an index; the same seed and index always give the same session
+     */
+    public Session session(int index) {
+        Random random = new Random(seed * 31 + index);
+        String userId = "user-" + users.sample(random);
+        List<Event> events = new ArrayList<>();
+        // productId -> quantity, in the order lines were added
+        Map<String, Integer> cart = new LinkedHashMap<>();
+        long clock = 0;
+
+        int searches = 1 + random.nextInt(4);
+        for (int s = 0; s < searches; s++) {
+            int target = popularity.sample(random);
+            CatalogGenerator.Product product = catalog.product(target);
+            String query = query(random, product);
+
+            // Keystrokes for each prefix, then the submitted query
+            for (int length = 1; length <= query.length(); length++) {
+                clock += thinkTime(random, 120);
+                events.add(new Event(clock, TYPE, query.substring(0, length), null, 0));
+            }
+            clock += thinkTime(random, 400);
+            events.add(new Event(clock, SEARCH, query, null, 0));
+
+            int views = random.nextInt(3) + (random.nextDouble() < 0.7 ? 1 : 0);
+            for (int v = 0; v < views; v++) {
+                String productId = String.valueOf(v == 0 ? target : popularity.sample(random));
+                clock += thinkTime(random, 2500);
+                events.add(new Event(clock, VIEW, null, productId, 0));
+
+                if (random.nextDouble() < 0.35) {
+                    // Shoppers often tap "add" several times in a row
+                    int taps = random.nextDouble() < 0.25 ? 2 + random.nextInt(4) : 1;
+                    for (int t = 0; t < taps; t++) {
+                        clock += t == 0 ? thinkTime(random, 3000) : 80 + random.nextInt(200);
+                        events.add(new Event(clock, ADD_TO_CART, null, productId, 1));
+                        cart.merge(productId, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        if (!cart.isEmpty()) {
+            List<String> lines = new ArrayList<>(cart.keySet());
+            for (String productId : lines) {
+                double edit = random.nextDouble();
+                if (edit < 0.15) {
+                    clock += thinkTime(random, 1500);
+                    events.add(new Event(clock, REMOVE_ITEM, null, productId, 0));
+                    cart.remove(productId);
+                } else if (edit < 0.4) {
+                    int quantity = Math.max(1, cart.get(productId) + (random.nextBoolean() ? 1 : -1));
+                    clock += thinkTime(random, 1500);
+                    events.add(new Event(clock, SET_QUANTITY, null, productId, quantity));
+                    cart.put(productId, quantity);
+                }
+            }
+            if (!cart.isEmpty() && random.nextDouble() < CHECKOUT_PROBABILITY) {
+                clock += thinkTime(random, 8000);
+                events.add(new Event(clock, PLACE_ORDER, null, null, 0));
+            }
+        }
+
+        return new Session("session-" + index, userId, events);
+    }
+
+    /**
+     * Streams sessions as JSON Lines
+     */
+    public void writeSessions(int sessionCount, Writer out) throws IOException {
+        for (int index = 0; index < sessionCount; index++) {
+            writeSession(session(index), out);
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    private static void writeSession(Session session, Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.beginObject();
+        writer.name("sessionId").value(session.sessionId);
+        writer.name("userId").value(session.userId);
+        writer.name("events").beginArray();
+        for (Event event : session.events) {
+            writer.beginObject();
+            writer.name("atMs").value(event.atMs);
+            writer.name("type").value(event.type);
+            if (event.query != null) writer.name("query").value(event.query);
+            if (event.productId != null) writer.name("productId").value(event.productId);
+            if (event.quantity > 0) writer.name("quantity").value(event.quantity);
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+
+    private String query(Random random, CatalogGenerator.Product product) {
+        String[] tokens = product.title.toLowerCase(Locale.US).split(" ");
+        // Usually the noun plus a word or two before it, e.g. "leather boots"
+        int nounIndex = tokens.length - 3;
+        int words = 1 + random.nextInt(Math.min(3, nounIndex + 1));
+        StringBuilder query = new StringBuilder();
+        for (int i = nounIndex - words + 1; i <= nounIndex; i++) {
+            if (query.length() > 0) query.append(' ');
+            query.append(tokens[i]);
+        }
+
+        if (random.nextDouble() < TYPO_PROBABILITY) {
+            typo(random, query);
+        }
+        if (random.nextDouble() < PRICE_QUERY_PROBABILITY) {
+            int limit = (int) (Math.ceil(product.price * 1.2 / 10.0) * 10);
+            query.append(" under $").append(limit);
+        }
+        return query.toString();
+    }
+
+    private static void typo(Random random, StringBuilder query) {
+        if (query.length() < 4) return;
+        int position = 1 + random.nextInt(query.length() - 2);
+        switch (random.nextInt(3)) {
+            case 0:
+                // Swapped neighbours
+                char c = query.charAt(position);
+                query.setCharAt(position, query.charAt(position + 1));
+                query.setCharAt(position + 1, c);
+                break;
+            case 1:
+                query.deleteCharAt(position);
+                break;
+            default:
+                query.insert(position, query.charAt(position));
+                break;
+        }
+    }
+
+    private static long thinkTime(Random random, long meanMs) {
+        // Exponential gaps between actions
+        return 1 + (long) (-Math.log(1 - random.nextDouble()) * meanMs);
+    }
+}
@@ -0,0 +1,97 @@
+package com.cartify.synthetic;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line entry point.
+ *
+ *   catalog  --products 100000 --seed 1 --out build/database.json
+ *   sessions --products 100000 --sessions 5000 --seed 1 --out build/sessions.jsonl
+ *   projections --in database.json --out build/projections.json
+ *
+ * Use the same --products and --seed for both so the sessions reference products that exist.
+ * A generated catalog can be imported into the Realtime Database or dropped into
+ * database/database.json for the in-memory data source. After importing or editing Items,
+ * run projections on an export and upload the result with firebase database:update / to
+ * refresh the ItemSummaries and ItemDescriptions nodes.
+ */
+public class SyntheticDataMain {
+
+    private static final int MAX_PRODUCTS = 1_000_000;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            usage();
+            return;
+        }
+
+        Map<String, String> options = parseOptions(args);
+        if (args[0].equals("projections")) {
+            String in = options.get("in");
+            if (in == null) {
+                throw new IllegalArgumentException("--in is required");
+            }
+            try (Reader reader = Files.newBufferedReader(Paths.get(in), StandardCharsets.UTF_8);
+                 Writer writer = open(options.get("out"))) {
+                new CatalogProjections().write(reader, writer);
+            }
+            return;
+        }
+
+        int products = Integer.parseInt(options.getOrDefault("products", "1000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        String out = options.get("out");
+        if (products < 1 || products > MAX_PRODUCTS) {
+            throw new IllegalArgumentException("--products must be between 1 and " + MAX_PRODUCTS);
+        }
+
+        CatalogGenerator catalog = new CatalogGenerator(seed);
+        try (Writer writer = open(out)) {
+            switch (args[0]) {
+                case "catalog":
+                    catalog.writeDatabase(products, writer);
+                    break;
+                case "sessions":
+                    int sessions = Integer.parseInt(options.getOrDefault("sessions", "1000"));
+                    new SessionTraceGenerator(catalog, products, seed).writeSessions(sessions, writer);
+                    break;
+                default:
+                    usage();
+            }
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length - 1; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static Writer open(String path) throws IOException {
+        if (path == null) {
+            return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        }
+        return Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8);
+    }
+
+    private static void usage() {
+        System.err.println("Usage:");
+        System.err.println("  catalog  --products N [--seed S] [--out database.json]");
+        System.err.println("  sessions --products N --sessions M [--seed S] [--out sessions.jsonl]");
+        System.err.println("  projections --in database.json [--out projections.json]");
+    }
+}
@@ -0,0 +1,125 @@
+package com.cartify.synthetic;
+
+/**
+ * Word lists for synthetic products, ordered roughly from most to least common
+ * so a Zipf sampler over each list gives a realistic skew.
+ */
+final class Vocabulary {
+
+    private Vocabulary() {}
+
+    /**
+     * A product family: what it is called, where its images come from and how it is sized
+     */
+    static final class Family {
+        final String[] nouns;
+        final String[] pictures;
+        final String[] sizes;
+        final double medianPrice;
+
+        Family(String[] nouns, String[] pictures, String[] sizes, double medianPrice) {
+            this.nouns = nouns;
+            this.pictures = pictures;
+            this.sizes = sizes;
+            this.medianPrice = medianPrice;
+        }
+    }
+
+    private static final String IMAGE_BASE = "https://res.cloudinary.com/dkikc5ywq/image/upload/";
+
+    static final String[] SHOE_SIZES = {"38", "39", "40", "41", "42", "43", "44", "45", "46"};
+    static final String[] APPAREL_SIZES = {"XS", "S", "M", "L", "XL", "XXL"};
+    static final String[] ONE_SIZE = {};
+
+    // Image URLs from the seed catalog, grouped by what they show
+    private static final String[] SHOE_PICTURES = {
+        IMAGE_BASE + "v1741201929/shoes1_jpoyjw.png",
+        IMAGE_BASE + "v1741201960/s4_jkml5e.png",
+        IMAGE_BASE + "v1741201953/s5_ix8ad7.jpg",
+        IMAGE_BASE + "v1741201949/s1_uqjjq9.png",
+        IMAGE_BASE + "v1741201953/s3_etkpn1.png",
+        IMAGE_BASE + "v1741201928/s5_fj15qf.png"
+    };
+    private static final String[] TOP_PICTURES = {
+        IMAGE_BASE + "v1741201943/t1_nsn7my.png",
+        IMAGE_BASE + "v1741201934/t2_unxcdt.png",
+        IMAGE_BASE + "v1741201943/t3_n8re96.png",
+        IMAGE_BASE + "v1741201950/t4_v8wlyn.png",
+        IMAGE_BASE + "v1741201952/t5_lfghcj.png"
+    };
+    private static final String[] OUTERWEAR_PICTURES = {
+        IMAGE_BASE + "v1741202381/men9_hamdep.png",
+        IMAGE_BASE + "v1741201959/c5_xjq3is.png",
+        IMAGE_BASE + "v1741201942/c3_pv8oje.png",
+        IMAGE_BASE + "v1741201936/c4_blerim.png",
+        IMAGE_BASE + "v1741201926/c1_svzikr.png",
+        IMAGE_BASE + "v1741201944/c2_wkgqzo.png"
+    };
+
+    static final Family[] FAMILIES = {
+        new Family(new String[] {"T-Shirt", "Shirt", "Polo", "Hoodie", "Sweater", "Tank Top", "Henley",
+            "Sweatshirt", "Blouse", "Cardigan", "Turtleneck", "Tunic"}, TOP_PICTURES, APPAREL_SIZES, 28),
+        new Family(new String[] {"Sneakers", "Shoes", "Running Shoes", "Boots", "Loafers", "Sandals",
+            "Trainers", "Slip-Ons", "Chelsea Boots", "Oxfords", "Espadrilles", "Hiking Boots"},
+            SHOE_PICTURES, SHOE_SIZES, 55),
+        new Family(new String[] {"Jacket", "Coat", "Blazer", "Parka", "Vest", "Windbreaker", "Trench Coat",
+            "Bomber Jacket", "Overcoat", "Puffer Jacket", "Rain Jacket", "Gilet"},
+            OUTERWEAR_PICTURES, APPAREL_SIZES, 80),
+        new Family(new String[] {"Jeans", "Chinos", "Shorts", "Trousers", "Joggers", "Cargo Pants",
+            "Leggings", "Skirt", "Dress", "Jumpsuit", "Sweatpants", "Culottes"}, TOP_PICTURES, APPAREL_SIZES, 38),
+        new Family(new String[] {"Backpack", "Cap", "Belt", "Wallet", "Scarf", "Beanie", "Tote Bag",
+            "Sunglasses", "Watch", "Gloves", "Socks", "Duffel Bag"}, OUTERWEAR_PICTURES, ONE_SIZE, 24)
+    };
+
+    // Seed category IDs: 1 Women, 2 Men, 4 Kids
+    static final String[] AUDIENCES = {"Men", "Women", "Kids"};
+    static final int[] AUDIENCE_CATEGORY_IDS = {2, 1, 4};
+
+    static final String[] BRANDS = {
+        "Essentials", "Urban Edge", "Hihawk", "Northpeak", "Stride", "Coastline", "Maple & Co",
+        "Ironwood", "Luma", "Vantage", "Bluebird", "Summit", "Harbor", "Nomad", "Arrow", "Kinfolk",
+        "Redline", "Everlane", "Fieldhouse", "Meridian", "Oakridge", "Pulse", "Terra", "Velvet Lane",
+        "Wildpine", "Zenith", "Atlas", "Briar", "Cobalt", "Drift", "Ember", "Foxglove", "Granite",
+        "Halcyon", "Indigo Row", "Juniper", "Kestrel", "Lumen", "Monarch", "Novella"
+    };
+
+    static final String[] ADJECTIVES = {
+        "Casual", "Classic", "Slim Fit", "Stylish", "Lightweight", "Essential", "Relaxed Fit",
+        "Premium", "Vintage", "Waterproof", "Breathable", "Oversized", "Everyday", "Sporty",
+        "Cozy", "Tailored", "Athletic", "Minimalist", "Rugged", "Soft", "Stretch", "Warm",
+        "Quick-Dry", "Insulated", "Distressed", "Cropped", "Textured", "Heritage", "Modern",
+        "Retro", "Performance", "Urban", "Outdoor", "Festive", "Formal", "Summer", "Winter",
+        "Packable", "Reversible", "Eco"
+    };
+
+    static final String[] MATERIALS = {
+        "Cotton", "Denim", "Leather", "Wool", "Linen", "Fleece", "Suede", "Canvas", "Nylon",
+        "Corduroy", "Cashmere", "Jersey", "Polyester", "Bamboo", "Knit", "Mesh", "Twill", "Velvet",
+        "Flannel", "Merino"
+    };
+
+    static final String[] PATTERNS = {
+        "Plaid", "Striped", "Solid", "Printed", "Checked", "Camo", "Floral", "Graphic", "Two-Tone",
+        "Herringbone", "Houndstooth", "Tie-Dye"
+    };
+
+    static final String[] COLOR_HEX = {
+        "#006fc4", "#daa048", "#398d41", "#0c3c72", "#000000", "#ffffff", "#8b0000", "#808080",
+        "#f5f5dc", "#a0522d", "#ff69b4", "#2f4f4f", "#ffd700", "#4b0082"
+    };
+
+    // General description words; function words dominate, like real copy
+    static final String[] DESCRIPTION_WORDS = {
+        "the", "and", "with", "for", "a", "to", "in", "of", "your", "this", "is", "on", "all",
+        "day", "comfort", "style", "fit", "designed", "made", "soft", "perfect", "everyday", "wear",
+        "easy", "look", "durable", "quality", "feel", "classic", "modern", "lightweight", "fabric",
+        "great", "any", "occasion", "pair", "season", "features", "premium", "stitching", "finish",
+        "versatile", "clean", "details", "weekend", "travel", "work", "office", "outdoor", "city",
+        "layer", "warm", "cool", "breathable", "support", "cushioned", "sole", "collar", "pockets",
+        "zip", "buttons", "lining", "relaxed", "tailored", "timeless", "wardrobe", "staple",
+        "crafted", "sustainably", "sourced", "materials", "machine", "washable", "long", "lasting",
+        "trusted", "favorite", "new", "colors", "sizes", "available", "true", "size", "order",
+        "gift", "ready", "holiday", "summer", "winter", "spring", "autumn", "adventure", "run",
+        "walk", "gym", "studio", "evening", "casual", "smart", "effortless", "bold", "subtle"
+    };
+}
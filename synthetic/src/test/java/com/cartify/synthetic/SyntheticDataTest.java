@@ -0,0 +1,122 @@
+package com.cartify.synthetic;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the synthetic catalog and session generators
+ */
+public class SyntheticDataTest {
+
+    @Test
+    public void testCatalogIsDeterministicForSeed() throws IOException {
+        assertEquals(database(500, 7), database(500, 7));
+        assertNotEquals(database(500, 7), database(500, 8));
+    }
+
+    @Test
+    public void testCatalogMatchesSeedSchema() throws IOException {
+        JsonObject root = JsonParser.parseString(database(1000, 3)).getAsJsonObject();
+        assertEquals(5, root.getAsJsonArray("Category").size());
+        JsonArray items = root.getAsJsonArray("Items");
+        assertEquals(1000, items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            JsonObject item = items.get(i).getAsJsonObject();
+            assertFalse(item.get("title").getAsString().isEmpty());
+            assertFalse(item.get("description").getAsString().isEmpty());
+            int price = item.get("price").getAsInt();
+            assertTrue(price > 0);
+            assertTrue(item.get("oldPrice").getAsInt() >= price);
+            double rating = item.get("rating").getAsDouble();
+            assertTrue(rating >= 1.0 && rating <= 5.0);
+            assertTrue(item.get("review").getAsInt() >= 0);
+            assertTrue(item.getAsJsonArray("picUrl").size() >= 1);
+            assertNotNull(item.getAsJsonArray("size"));
+            assertTrue(item.getAsJsonArray("color").size() >= 1);
+        }
+    }
+
+    @Test
+    public void testSessionsReferenceCatalogProducts() {
+        int products = 2000;
+        CatalogGenerator catalog = new CatalogGenerator(5);
+        SessionTraceGenerator sessions = new SessionTraceGenerator(catalog, products, 5);
+
+        for (int i = 0; i < 200; i++) {
+            SessionTraceGenerator.Session session = sessions.session(i);
+            assertFalse(session.events.isEmpty());
+            long previous = 0;
+            for (SessionTraceGenerator.Event event : session.events) {
+                assertTrue(event.atMs > previous);
+                previous = event.atMs;
+                if (event.productId != null) {
+                    int index = Integer.parseInt(event.productId);
+                    assertTrue(index >= 0 && index < products);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSearchQueriesComeFromProductTitles() {
+        CatalogGenerator catalog = new CatalogGenerator(11);
+        SessionTraceGenerator sessions = new SessionTraceGenerator(catalog, 1000, 11);
+        StringBuilder titles = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            titles.append(catalog.product(i).title.toLowerCase(Locale.US)).append('\n');
+        }
+
+        int searches = 0;
+        int hits = 0;
+        for (int i = 0; i < 200; i++) {
+            for (SessionTraceGenerator.Event event : sessions.session(i).events) {
+                if (!SessionTraceGenerator.SEARCH.equals(event.type)) continue;
+                searches++;
+                if (titles.indexOf(event.query) >= 0) hits++;
+            }
+        }
+        // Typos and price filters keep a minority of queries from matching verbatim
+        assertTrue(searches > 0);
+        assertTrue(hits > searches * 0.75);
+    }
+
+    @Test
+    public void testProjectionsSummarizeEveryItem() throws IOException {
+        String database = database(300, 4);
+        StringWriter out = new StringWriter();
+        new CatalogProjections().write(new StringReader(database), out);
+
+        JsonArray items = JsonParser.parseString(database).getAsJsonObject().getAsJsonArray("Items");
+        JsonObject root = JsonParser.parseString(out.toString()).getAsJsonObject();
+        JsonObject summaries = root.getAsJsonObject("ItemSummaries");
+        JsonObject descriptions = root.getAsJsonObject("ItemDescriptions");
+        assertEquals(items.size(), summaries.size());
+        assertEquals(items.size(), descriptions.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            JsonObject item = items.get(i).getAsJsonObject();
+            JsonObject summary = summaries.getAsJsonObject(String.valueOf(i));
+            assertEquals(item.get("title"), summary.get("title"));
+            assertEquals(item.get("price"), summary.get("price"));
+            assertFalse(summary.has("description"));
+            assertEquals(1, summary.getAsJsonArray("picUrl").size());
+            assertEquals(item.get("description").getAsString(), descriptions.get(String.valueOf(i)).getAsString());
+        }
+    }
+
+    private static String database(int products, long seed) throws IOException {
+        StringWriter out = new StringWriter();
+        new CatalogGenerator(seed).writeDatabase(products, out);
+        return out.toString();
+    }
+}